@@ -0,0 +1,226 @@
+package com.javaimpl.collections.arraydeque;
+
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * A double-ended queue stored in a circular array.
+ * <p>
+ * The elements occupy {@code size} consecutive slots starting at {@code head}, wrapping around the end of the
+ * array. The capacity is always a power of two, so slot {@code i} is {@code (head + i) & (length - 1)}: adding or
+ * removing at either end only moves {@code head} or {@code size}, and {@code get(index)} is one masked array
+ * read. Unlike {@code MyLinkedList}, queue operations allocate nothing once the array is large enough.
+ *
+ * @param <S> class of stored object
+ */
+public class MyArrayDeque<S> {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    private Object[] elements;
+
+    private int head;
+
+    private int size;
+
+    public MyArrayDeque() {
+        elements = new Object[DEFAULT_CAPACITY];
+    }
+
+    /**
+     * @param capacity number of elements to hold before growing, rounded up to a power of two
+     */
+    public MyArrayDeque(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("capacity must not be negative");
+        }
+        if (capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("capacity must not exceed " + MAX_CAPACITY);
+        }
+        elements = new Object[capacity <= 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1];
+    }
+
+    public void add(S item) {
+        addLast(item);
+    }
+
+    public void addFirst(S item) {
+        if (size == elements.length) {
+            grow();
+        }
+        head = (head - 1) & (elements.length - 1);
+        elements[head] = item;
+        size++;
+    }
+
+    public void addLast(S item) {
+        if (size == elements.length) {
+            grow();
+        }
+        elements[(head + size) & (elements.length - 1)] = item;
+        size++;
+    }
+
+    /**
+     * @throws NoSuchElementException if the deque is empty
+     */
+    public S removeFirst() {
+        if (size == 0) {
+            throw new NoSuchElementException("deque is empty");
+        }
+        return pollFirst();
+    }
+
+    /**
+     * @throws NoSuchElementException if the deque is empty
+     */
+    public S removeLast() {
+        if (size == 0) {
+            throw new NoSuchElementException("deque is empty");
+        }
+        return pollLast();
+    }
+
+    /**
+     * Removes and returns the first element, or null if the deque is empty.
+     */
+    public S pollFirst() {
+        if (size == 0) {
+            return null;
+        }
+        S value = elementAt(head);
+        elements[head] = null; // clear to let GC do its work
+        head = (head + 1) & (elements.length - 1);
+        size--;
+        return value;
+    }
+
+    /**
+     * Removes and returns the last element, or null if the deque is empty.
+     */
+    public S pollLast() {
+        if (size == 0) {
+            return null;
+        }
+        int last = (head + size - 1) & (elements.length - 1);
+        S value = elementAt(last);
+        elements[last] = null;
+        size--;
+        return value;
+    }
+
+    public S peekFirst() {
+        return size == 0 ? null : elementAt(head);
+    }
+
+    public S peekLast() {
+        return size == 0 ? null : elementAt((head + size - 1) & (elements.length - 1));
+    }
+
+    public S get(int index) {
+        checkIndex(index);
+        return elementAt((head + index) & (elements.length - 1));
+    }
+
+    public void set(int index, S item) {
+        checkIndex(index);
+        elements[(head + index) & (elements.length - 1)] = item;
+    }
+
+    /**
+     * Removes the element at index by shifting whichever side of it is shorter, so removal near either end is
+     * cheap.
+     */
+    public S remove(int index) {
+        checkIndex(index);
+        int mask = elements.length - 1;
+        S value = elementAt((head + index) & mask);
+        if (index < (size >> 1)) {
+            // move the front part one slot towards the back
+            for (int i = index; i > 0; i--) {
+                elements[(head + i) & mask] = elements[(head + i - 1) & mask];
+            }
+            elements[head] = null;
+            head = (head + 1) & mask;
+        } else {
+            // move the back part one slot towards the front
+            for (int i = index; i < size - 1; i++) {
+                elements[(head + i) & mask] = elements[(head + i + 1) & mask];
+            }
+            elements[(head + size - 1) & mask] = null;
+        }
+        size--;
+        return value;
+    }
+
+    /**
+     * Removes the first element equal to the given item.
+     *
+     * @return the removed element, or null if there was none
+     */
+    public S remove(S item) {
+        int index = indexOf(item);
+        return index < 0 ? null : remove(index);
+    }
+
+    public boolean contains(S item) {
+        return indexOf(item) >= 0;
+    }
+
+    public void clear() {
+        int mask = elements.length - 1;
+        for (int i = 0; i < size; i++) {
+            elements[(head + i) & mask] = null;
+        }
+        head = 0;
+        size = 0;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private int indexOf(S item) {
+        int mask = elements.length - 1;
+        for (int i = 0; i < size; i++) {
+            if (Objects.equals(item, elements[(head + i) & mask])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @SuppressWarnings("unchecked") // only S items are stored
+    private S elementAt(int i) {
+        return (S) elements[i];
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    /**
+     * Doubles the array. The elements may wrap around, so they are copied as two segments, [head, length) and
+     * [0, head), to the start of the new array.
+     */
+    private void grow() {
+        int oldCapacity = elements.length;
+        if (oldCapacity == MAX_CAPACITY) {
+            throw new IllegalStateException("deque is full");
+        }
+        Object[] grown = new Object[oldCapacity << 1];
+        int firstSegment = Math.min(size, oldCapacity - head);
+        System.arraycopy(elements, head, grown, 0, firstSegment);
+        System.arraycopy(elements, 0, grown, firstSegment, size - firstSegment);
+        elements = grown;
+        head = 0;
+    }
+}
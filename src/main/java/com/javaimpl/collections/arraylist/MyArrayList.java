@@ -1,6 +1,19 @@
 package com.javaimpl.collections.arraylist;
 
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  *
@@ -12,6 +25,9 @@ public class MyArrayList<S> {
 
     private static final Object[] EMPTY_ELEMENTDATA = {};
 
+    // below this many elements a range is processed sequentially, the same cut-off as Arrays.parallelSort
+    private static final int PARALLEL_THRESHOLD = 1 << 13;
+
     private Object[] list;
 
     private int size;
@@ -35,7 +51,7 @@ public class MyArrayList<S> {
     }
 
     public void add(S obj, int index) {
-        if (size + 1 < list.length) {
+        if (size == list.length) {
             expand(size + 1);
         }
         if (index != size) {
@@ -53,6 +69,81 @@ public class MyArrayList<S> {
         if (size > index) {
             System.arraycopy(list, index + 1, list, index, size - index);
         }
+        list[size] = null; // clear to let GC do its work
+    }
+
+    public void addAll(Collection<? extends S> objs) {
+        addAll(objs, size);
+    }
+
+    /**
+     * Inserts every element of the collection at the index with at most one growth step and one shift of the
+     * tail, instead of one of each per element.
+     */
+    public void addAll(Collection<? extends S> objs, int index) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        Object[] added = objs.toArray();
+        if (size + added.length > list.length) {
+            expand(size + added.length);
+        }
+        if (index != size) {
+            System.arraycopy(list, index, list, index + added.length, size - index);
+        }
+        System.arraycopy(added, 0, list, index, added.length);
+        size += added.length;
+    }
+
+    /**
+     * Removes the elements in [fromIndex, toIndex) with a single shift of the tail.
+     */
+    public void removeRange(int fromIndex, int toIndex) {
+        if (fromIndex < 0 || toIndex > size || fromIndex > toIndex) {
+            throw new IndexOutOfBoundsException("From Index: " + fromIndex + ", To Index: " + toIndex + ", Size: " + size);
+        }
+        System.arraycopy(list, toIndex, list, fromIndex, size - toIndex);
+        int newSize = size - (toIndex - fromIndex);
+        Arrays.fill(list, newSize, size, null);
+        size = newSize;
+    }
+
+    /**
+     * Removes every element matching the filter in one pass: survivors are moved down over the removed slots
+     * as the scan goes, so each element is copied at most once.
+     *
+     * @return true if any element was removed
+     */
+    @SuppressWarnings("unchecked") // the array only holds S
+    public boolean removeIf(Predicate<? super S> filter) {
+        int oldSize = size, kept = 0, scanned = 0;
+        try {
+            for (; scanned < oldSize; scanned++) {
+                Object obj = list[scanned];
+                if (!filter.test((S) obj)) {
+                    list[kept++] = obj;
+                }
+            }
+        } finally {
+            // if the filter threw, keep the unscanned tail so no element is lost
+            if (scanned < oldSize) {
+                System.arraycopy(list, scanned, list, kept, oldSize - scanned);
+                kept += oldSize - scanned;
+            }
+            Arrays.fill(list, kept, oldSize, null);
+            size = kept;
+        }
+        return kept != oldSize;
+    }
+
+    /**
+     * Keeps only the elements contained in the given collection. Pass a collection with a fast
+     * {@code contains}, such as a set; a list makes this quadratic.
+     *
+     * @return true if any element was removed
+     */
+    public boolean retainAll(Collection<?> objs) {
+        return removeIf(obj -> !objs.contains(obj));
     }
 
     public S get(int index) {
@@ -72,4 +163,184 @@ public class MyArrayList<S> {
     public int size() {
         return size;
     }
+
+    /**
+     * Returns a spliterator over the elements present now. It splits the index range in halves, so every part is
+     * {@code SIZED} and {@code SUBSIZED} and a parallel stream divides the work without copying.
+     */
+    public Spliterator<S> spliterator() {
+        return Spliterators.spliterator(list, 0, size, Spliterator.ORDERED);
+    }
+
+    public Stream<S> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    public Stream<S> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+
+    /**
+     * Stable merge sort of the backing array: ranges of up to {@code PARALLEL_THRESHOLD} elements are sorted
+     * sequentially, then merged pairwise as the fork/join tasks return. A null comparator sorts by natural order.
+     */
+    @SuppressWarnings("unchecked") // the array only holds S, and natural order needs Comparable elements
+    public void parallelSort(Comparator<? super S> comparator) {
+        Comparator<Object> cmp = comparator != null ? (Comparator<Object>) comparator
+                : (a, b) -> ((Comparable<Object>) a).compareTo(b);
+        if (size <= PARALLEL_THRESHOLD || ForkJoinPool.getCommonPoolParallelism() == 1) {
+            Arrays.sort(list, 0, size, cmp);
+        } else {
+            ForkJoinPool.commonPool().invoke(new SortTask(list, new Object[size], 0, size, cmp));
+        }
+    }
+
+    /**
+     * Applies the action to every element, splitting the index range across the common fork/join pool.
+     * The action must not modify this list; elements are visited in no particular order.
+     */
+    @SuppressWarnings("unchecked") // the array only holds S
+    public void parallelForEach(Consumer<? super S> action) {
+        if (size <= PARALLEL_THRESHOLD || ForkJoinPool.getCommonPoolParallelism() == 1) {
+            for (int i = 0; i < size; i++) {
+                action.accept((S) list[i]);
+            }
+        } else {
+            ForkJoinPool.commonPool().invoke(new ForEachTask<>(list, 0, size, action));
+        }
+    }
+
+    /**
+     * Folds the elements with an associative operator, e.g. {@code parallelReduce(0, Integer::sum)}.
+     */
+    public S parallelReduce(S identity, BinaryOperator<S> operator) {
+        return parallelReduce(identity, operator, operator);
+    }
+
+    /**
+     * Folds each index range into a partial result with the accumulator, then joins partial results with the
+     * combiner, like {@code Stream.reduce(identity, accumulator, combiner)}. Partial results are combined in index
+     * order, so the combiner needs to be associative but not commutative.
+     */
+    public <R> R parallelReduce(R identity, BiFunction<R, ? super S, R> accumulator, BinaryOperator<R> combiner) {
+        if (size <= PARALLEL_THRESHOLD || ForkJoinPool.getCommonPoolParallelism() == 1) {
+            return ReduceTask.reduce(list, 0, size, identity, accumulator);
+        }
+        return ForkJoinPool.commonPool().invoke(new ReduceTask<>(list, 0, size, identity, accumulator, combiner));
+    }
+
+    @SuppressWarnings("serial") // never serialized
+    private static final class SortTask extends RecursiveAction {
+
+        private final Object[] array, buffer;
+
+        private final int from, to;
+
+        private final Comparator<Object> comparator;
+
+        SortTask(Object[] array, Object[] buffer, int from, int to, Comparator<Object> comparator) {
+            this.array = array;
+            this.buffer = buffer;
+            this.from = from;
+            this.to = to;
+            this.comparator = comparator;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= PARALLEL_THRESHOLD) {
+                Arrays.sort(array, from, to, comparator);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new SortTask(array, buffer, from, mid, comparator),
+                    new SortTask(array, buffer, mid, to, comparator));
+            if (comparator.compare(array[mid - 1], array[mid]) <= 0) {
+                return; // halves already in order
+            }
+            // merge: copy the left half aside, then fill [from, to) from it and the right half
+            System.arraycopy(array, from, buffer, from, mid - from);
+            int left = from, right = mid, out = from;
+            while (left < mid && right < to) {
+                // take from the left on ties to keep the sort stable
+                array[out++] = comparator.compare(array[right], buffer[left]) < 0 ? array[right++] : buffer[left++];
+            }
+            System.arraycopy(buffer, left, array, out, mid - left);
+        }
+    }
+
+    @SuppressWarnings("serial") // never serialized
+    private static final class ForEachTask<S> extends RecursiveAction {
+
+        private final Object[] array;
+
+        private final int from, to;
+
+        private final Consumer<? super S> action;
+
+        ForEachTask(Object[] array, int from, int to, Consumer<? super S> action) {
+            this.array = array;
+            this.from = from;
+            this.to = to;
+            this.action = action;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked") // the array only holds S
+        protected void compute() {
+            if (to - from <= PARALLEL_THRESHOLD) {
+                for (int i = from; i < to; i++) {
+                    action.accept((S) array[i]);
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new ForEachTask<>(array, from, mid, action), new ForEachTask<>(array, mid, to, action));
+        }
+    }
+
+    @SuppressWarnings("serial") // never serialized
+    private static final class ReduceTask<S, R> extends RecursiveTask<R> {
+
+        private final Object[] array;
+
+        private final int from, to;
+
+        private final R identity;
+
+        private final BiFunction<R, ? super S, R> accumulator;
+
+        private final BinaryOperator<R> combiner;
+
+        ReduceTask(Object[] array, int from, int to, R identity, BiFunction<R, ? super S, R> accumulator,
+                   BinaryOperator<R> combiner) {
+            this.array = array;
+            this.from = from;
+            this.to = to;
+            this.identity = identity;
+            this.accumulator = accumulator;
+            this.combiner = combiner;
+        }
+
+        @Override
+        protected R compute() {
+            if (to - from <= PARALLEL_THRESHOLD) {
+                return reduce(array, from, to, identity, accumulator);
+            }
+            int mid = (from + to) >>> 1;
+            ReduceTask<S, R> left = new ReduceTask<>(array, from, mid, identity, accumulator, combiner);
+            left.fork();
+            R right = new ReduceTask<>(array, mid, to, identity, accumulator, combiner).compute();
+            return combiner.apply(left.join(), right);
+        }
+
+        @SuppressWarnings("unchecked") // the array only holds S
+        static <S, R> R reduce(Object[] array, int from, int to, R identity, BiFunction<R, ? super S, R> accumulator) {
+            R result = identity;
+            for (int i = from; i < to; i++) {
+                result = accumulator.apply(result, (S) array[i]);
+            }
+            return result;
+        }
+    }
 }
@@ -0,0 +1,223 @@
+package com.javaimpl.collections.arraylist;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.function.Predicate;
+
+/**
+ * An array list stored as a directory of fixed-size chunks instead of one contiguous array.
+ * <p>
+ * Element {@code i} lives at {@code chunks[i >>> chunkShift][i & chunkMask]}. Growing allocates one more chunk
+ * and never copies existing elements; only the small directory of chunk references is copied when it fills up.
+ * No single allocation is larger than one chunk, so huge lists never need a humongous array or a moment with two
+ * copies of the data. Chunks that fall out of use when the list shrinks are released.
+ *
+ * @param <S> class of stored object
+ */
+public class MyChunkedArrayList<S> {
+
+    private static final int DEFAULT_CHUNK_SHIFT = 12; // 4096 elements, 16 KB with compressed references
+
+    private static final int DEFAULT_DIRECTORY_CAPACITY = 4;
+
+    private final int chunkShift;
+
+    private final int chunkSize;
+
+    private final int chunkMask;
+
+    private Object[][] chunks;
+
+    private int chunkCount;
+
+    private int size;
+
+    public MyChunkedArrayList() {
+        this(DEFAULT_CHUNK_SHIFT);
+    }
+
+    /**
+     * @param chunkShift log2 of the number of elements per chunk
+     */
+    public MyChunkedArrayList(int chunkShift) {
+        if (chunkShift < 0 || chunkShift > 30) {
+            throw new IllegalArgumentException("chunkShift must be between 0 and 30");
+        }
+        this.chunkShift = chunkShift;
+        this.chunkSize = 1 << chunkShift;
+        this.chunkMask = chunkSize - 1;
+        this.chunks = new Object[DEFAULT_DIRECTORY_CAPACITY][];
+    }
+
+    public void add(S obj) {
+        if (size == capacity()) {
+            addChunk();
+        }
+        chunks[size >>> chunkShift][size & chunkMask] = obj;
+        size++;
+    }
+
+    public void add(S obj, int index) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        if (size == capacity()) {
+            addChunk();
+        }
+        move(index, index + 1, size - index);
+        chunks[index >>> chunkShift][index & chunkMask] = obj;
+        size++;
+    }
+
+    public void addAll(Collection<? extends S> objs) {
+        addAll(objs, size);
+    }
+
+    /**
+     * Inserts every element of the collection at the index with one shift of the tail.
+     */
+    public void addAll(Collection<? extends S> objs, int index) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        Object[] added = objs.toArray();
+        while (capacity() < size + added.length) {
+            addChunk();
+        }
+        move(index, index + added.length, size - index);
+        for (int i = 0; i < added.length; i++) {
+            int position = index + i;
+            chunks[position >>> chunkShift][position & chunkMask] = added[i];
+        }
+        size += added.length;
+    }
+
+    public void remove(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        move(index + 1, index, size - index - 1);
+        truncate(size - 1);
+    }
+
+    /**
+     * Removes the elements in [fromIndex, toIndex) with a single shift of the tail.
+     */
+    public void removeRange(int fromIndex, int toIndex) {
+        if (fromIndex < 0 || toIndex > size || fromIndex > toIndex) {
+            throw new IndexOutOfBoundsException("From Index: " + fromIndex + ", To Index: " + toIndex + ", Size: " + size);
+        }
+        move(toIndex, fromIndex, size - toIndex);
+        truncate(size - (toIndex - fromIndex));
+    }
+
+    /**
+     * Removes every element matching the filter in one pass, moving survivors down over the removed slots.
+     *
+     * @return true if any element was removed
+     */
+    public boolean removeIf(Predicate<? super S> filter) {
+        int oldSize = size, kept = 0, scanned = 0;
+        try {
+            for (; scanned < oldSize; scanned++) {
+                S obj = elementAt(scanned);
+                if (!filter.test(obj)) {
+                    chunks[kept >>> chunkShift][kept & chunkMask] = obj;
+                    kept++;
+                }
+            }
+        } finally {
+            // if the filter threw, keep the unscanned tail so no element is lost
+            if (scanned < oldSize) {
+                move(scanned, kept, oldSize - scanned);
+                kept += oldSize - scanned;
+            }
+            truncate(kept);
+        }
+        return kept != oldSize;
+    }
+
+    public boolean retainAll(Collection<?> objs) {
+        return removeIf(obj -> !objs.contains(obj));
+    }
+
+    public S get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        return elementAt(index);
+    }
+
+    public void clear() {
+        truncate(0);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    int chunkCount() {
+        return chunkCount;
+    }
+
+    @SuppressWarnings("unchecked") // only S items are stored
+    private S elementAt(int index) {
+        return (S) chunks[index >>> chunkShift][index & chunkMask];
+    }
+
+    private long capacity() {
+        return (long) chunkCount << chunkShift;
+    }
+
+    private void addChunk() {
+        if (chunkCount == chunks.length) {
+            // only the directory is copied, the chunks themselves stay where they are
+            chunks = Arrays.copyOf(chunks, chunks.length + (chunks.length >> 1));
+        }
+        chunks[chunkCount++] = new Object[chunkSize];
+    }
+
+    /**
+     * Drops elements from newSize on: clears their slots, then releases chunks that are no longer needed,
+     * keeping one spare so a list hovering around a chunk boundary does not allocate on every add.
+     */
+    private void truncate(int newSize) {
+        for (int from = newSize; from < size; ) {
+            int chunk = from >>> chunkShift, to = Math.min(size, (chunk + 1) << chunkShift);
+            Arrays.fill(chunks[chunk], from & chunkMask, ((to - 1) & chunkMask) + 1, null);
+            from = to;
+        }
+        size = newSize;
+        int neededChunks = (int) (((long) size + chunkMask) >>> chunkShift) + 1;
+        while (chunkCount > neededChunks) {
+            chunks[--chunkCount] = null;
+        }
+    }
+
+    /**
+     * Copies {@code length} elements from index {@code from} to index {@code to}, one chunk-bounded
+     * {@code System.arraycopy} at a time. Overlapping ranges are handled by copying back to front when moving
+     * right.
+     */
+    private void move(int from, int to, int length) {
+        if (length <= 0 || from == to) {
+            return;
+        }
+        if (to > from) {
+            for (int remaining = length; remaining > 0; ) {
+                int srcEnd = from + remaining, dstEnd = to + remaining;
+                int count = Math.min(remaining, Math.min(((srcEnd - 1) & chunkMask) + 1, ((dstEnd - 1) & chunkMask) + 1));
+                int src = srcEnd - count, dst = dstEnd - count;
+                System.arraycopy(chunks[src >>> chunkShift], src & chunkMask, chunks[dst >>> chunkShift], dst & chunkMask, count);
+                remaining -= count;
+            }
+        } else {
+            for (int done = 0; done < length; ) {
+                int src = from + done, dst = to + done;
+                int count = Math.min(length - done, Math.min(chunkSize - (src & chunkMask), chunkSize - (dst & chunkMask)));
+                System.arraycopy(chunks[src >>> chunkShift], src & chunkMask, chunks[dst >>> chunkShift], dst & chunkMask, count);
+                done += count;
+            }
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.javaimpl.collections.arraylist;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.function.Predicate;
+
+/**
+ * An array list that keeps its free capacity as a gap at the position of the last edit.
+ * <p>
+ * The elements occupy {@code [0, gapStart)} and {@code [gapEnd, length)} of the backing array. Inserting or removing
+ * at the gap only moves a gap boundary; editing elsewhere first moves the gap there, copying just the elements
+ * between the old and the new position. A run of edits around a moving cursor (a text editor, a log being patched)
+ * therefore costs O(distance moved) instead of shifting the whole tail on every edit as {@link MyArrayList} does.
+ *
+ * @param <S> class of stored object
+ */
+public class MyGapBufferList<S> {
+
+    private static final int DEFAULT_CAPACITY = 10;
+
+    private static final Object[] EMPTY_ELEMENTDATA = {};
+
+    private Object[] list;
+
+    private int gapStart;
+
+    private int gapEnd;
+
+    public MyGapBufferList() {
+        list = new Object[DEFAULT_CAPACITY];
+        gapEnd = list.length;
+    }
+
+    public MyGapBufferList(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("ArrayList size must be greater than 0");
+        } else if (capacity == 0) {
+            list = EMPTY_ELEMENTDATA;
+        } else {
+            this.list = new Object[capacity];
+        }
+        gapEnd = list.length;
+    }
+
+    public void add(S obj) {
+        add(obj, size());
+    }
+
+    public void add(S obj, int index) {
+        if (index < 0 || index > size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+        moveGap(index);
+        if (gapStart == gapEnd) {
+            expand(size() + 1);
+        }
+        list[gapStart++] = obj;
+    }
+
+    public void addAll(Collection<? extends S> objs) {
+        addAll(objs, size());
+    }
+
+    public void addAll(Collection<? extends S> objs, int index) {
+        if (index < 0 || index > size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+        Object[] added = objs.toArray();
+        moveGap(index);
+        if (gapEnd - gapStart < added.length) {
+            expand(size() + added.length);
+        }
+        System.arraycopy(added, 0, list, gapStart, added.length);
+        gapStart += added.length;
+    }
+
+    public void remove(int index) {
+        removeRange(index, index + 1);
+    }
+
+    /**
+     * Removes the elements in [fromIndex, toIndex) by moving the gap to fromIndex and widening it.
+     */
+    public void removeRange(int fromIndex, int toIndex) {
+        if (fromIndex < 0 || toIndex > size() || fromIndex > toIndex) {
+            throw new IndexOutOfBoundsException("From Index: " + fromIndex + ", To Index: " + toIndex + ", Size: " + size());
+        }
+        moveGap(fromIndex);
+        int count = toIndex - fromIndex;
+        Arrays.fill(list, gapEnd, gapEnd + count, null); // clear to let GC do its work
+        gapEnd += count;
+    }
+
+    /**
+     * Removes every element matching the filter in one pass; the gap ends up after the last element.
+     *
+     * @return true if any element was removed
+     */
+    public boolean removeIf(Predicate<? super S> filter) {
+        moveGap(size());
+        int oldSize = gapStart, kept = 0, scanned = 0;
+        try {
+            for (; scanned < oldSize; scanned++) {
+                S obj = elementAt(scanned);
+                if (!filter.test(obj)) {
+                    list[kept++] = obj;
+                }
+            }
+        } finally {
+            // if the filter threw, keep the unscanned tail so no element is lost
+            if (scanned < oldSize) {
+                System.arraycopy(list, scanned, list, kept, oldSize - scanned);
+                kept += oldSize - scanned;
+            }
+            Arrays.fill(list, kept, oldSize, null);
+            gapStart = kept;
+        }
+        return kept != oldSize;
+    }
+
+    public boolean retainAll(Collection<?> objs) {
+        return removeIf(obj -> !objs.contains(obj));
+    }
+
+    public S get(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+        return elementAt(index < gapStart ? index : index + gapEnd - gapStart);
+    }
+
+    public void set(int index, S obj) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+        list[index < gapStart ? index : index + gapEnd - gapStart] = obj;
+    }
+
+    public void clear() {
+        Arrays.fill(list, 0, gapStart, null);
+        Arrays.fill(list, gapEnd, list.length, null);
+        gapStart = 0;
+        gapEnd = list.length;
+    }
+
+    public int size() {
+        return list.length - (gapEnd - gapStart);
+    }
+
+    /**
+     * Moves the gap so that it starts at the given element index, copying only the elements in between.
+     */
+    @SuppressWarnings("unchecked") // only S items are stored
+    private S elementAt(int i) {
+        return (S) list[i];
+    }
+
+    private void moveGap(int index) {
+        if (index == gapStart) {
+            return;
+        }
+        int gapLength = gapEnd - gapStart;
+        if (index < gapStart) {
+            // elements [index, gapStart) move to the right side of the gap
+            int count = gapStart - index;
+            System.arraycopy(list, index, list, gapEnd - count, count);
+            Arrays.fill(list, index, Math.min(gapStart, index + gapLength), null);
+        } else {
+            // elements right of the gap, up to the new position, move to its left side
+            int count = index - gapStart;
+            System.arraycopy(list, gapEnd, list, gapStart, count);
+            Arrays.fill(list, Math.max(gapEnd, index), gapEnd + count, null);
+        }
+        gapStart = index;
+        gapEnd = index + gapLength;
+    }
+
+    private void expand(int expectedSize) {
+        int oldCapacity = list.length;
+        int targetCapacity = oldCapacity + (oldCapacity >> 1); // oldCapacity * 1.5
+        int newCapacity = Math.max(targetCapacity, expectedSize);
+        Object[] grown = new Object[newCapacity];
+        int tailLength = oldCapacity - gapEnd;
+        System.arraycopy(list, 0, grown, 0, gapStart);
+        System.arraycopy(list, gapEnd, grown, newCapacity - tailLength, tailLength);
+        list = grown;
+        gapEnd = newCapacity - tailLength;
+    }
+}
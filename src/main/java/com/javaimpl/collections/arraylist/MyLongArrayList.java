@@ -0,0 +1,126 @@
+package com.javaimpl.collections.arraylist;
+
+import java.util.Arrays;
+
+/**
+ * An array list of {@code long} values stored unboxed in a {@code long[]}.
+ * <p>
+ * Same add / remove / get semantics and 1.5x growth as {@link MyArrayList}, without the {@code Long} wrapper and
+ * object header per element, so a list of N values takes about 8 * N bytes and {@code add} allocates only when
+ * the array grows.
+ */
+public class MyLongArrayList {
+
+    private static final int DEFAULT_CAPACITY = 10;
+
+    private static final long[] EMPTY_ELEMENTDATA = {};
+
+    private long[] list;
+
+    private int size;
+
+    public MyLongArrayList() {
+        list = new long[DEFAULT_CAPACITY];
+    }
+
+    public MyLongArrayList(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("ArrayList size must be greater than 0");
+        } else if (capacity == 0) {
+            list = EMPTY_ELEMENTDATA;
+        } else {
+            this.list = new long[capacity];
+        }
+    }
+
+    public void add(long value) {
+        if (size == list.length) {
+            expand(size + 1);
+        }
+        list[size++] = value;
+    }
+
+    public void add(long value, int index) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        if (size == list.length) {
+            expand(size + 1);
+        }
+        if (index != size) {
+            System.arraycopy(list, index, list, index + 1, size - index);
+        }
+        list[index] = value;
+        size++;
+    }
+
+    /**
+     * Appends every value of the array with at most one growth step.
+     */
+    public void addAll(long[] values) {
+        if (size + values.length > list.length) {
+            expand(size + values.length);
+        }
+        System.arraycopy(values, 0, list, size, values.length);
+        size += values.length;
+    }
+
+    public void remove(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        size--;
+        if (size > index) {
+            System.arraycopy(list, index + 1, list, index, size - index);
+        }
+    }
+
+    public long get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        return list[index];
+    }
+
+    public void set(int index, long value) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        list[index] = value;
+    }
+
+    /**
+     * Sorts the values in ascending order, in place.
+     */
+    public void sort() {
+        Arrays.sort(list, 0, size);
+    }
+
+    /**
+     * Searches a list sorted by {@link #sort()}.
+     *
+     * @return index of the value, or {@code -(insertion point) - 1} if absent
+     */
+    public int binarySearch(long value) {
+        return Arrays.binarySearch(list, 0, size, value);
+    }
+
+    public long[] toArray() {
+        return Arrays.copyOf(list, size);
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    private void expand(int expectedSize) {
+        int oldCapacity = list.length;
+        int targetCapacity = oldCapacity + (oldCapacity >> 1); // oldCapacity * 1.5
+        int newCapacity = Math.max(targetCapacity, expectedSize);
+        list = Arrays.copyOf(list, newCapacity);
+    }
+
+    public int size() {
+        return size;
+    }
+}
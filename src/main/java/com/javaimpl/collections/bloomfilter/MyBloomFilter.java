@@ -0,0 +1,144 @@
+package com.javaimpl.collections.bloomfilter;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * A probabilistic set that answers "definitely absent" or "possibly present".
+ * <p>
+ * Elements are not stored; each one sets {@code numHashes} bits of a bit array. A lookup that finds any of its
+ * bits unset proves the element was never added, so there are no false negatives, only false positives.
+ *
+ * @param <E> the type of elements offered to this filter
+ */
+public class MyBloomFilter<E> {
+
+    private final long[] bits;
+
+    private final int numBits;
+
+    private final int numHashes;
+
+    /**
+     * @param expectedInsertions number of elements the filter is sized for
+     * @param falsePositiveRate  wanted probability that {@link #mightContain} returns true for an absent element
+     */
+    public MyBloomFilter(int expectedInsertions, double falsePositiveRate) {
+        numBits = optimalNumBits(expectedInsertions, falsePositiveRate);
+        numHashes = optimalNumHashes(numBits, expectedInsertions);
+        bits = new long[(numBits + 63) >>> 6];
+    }
+
+    private MyBloomFilter(long[] bits, int numBits, int numHashes) {
+        this.bits = bits;
+        this.numBits = numBits;
+        this.numHashes = numHashes;
+    }
+
+    public void put(E element) {
+        putHash(hash(element));
+    }
+
+    public boolean mightContain(E element) {
+        return mightContainHash(hash(element));
+    }
+
+    /**
+     * Adds an element by a 64-bit hash the caller computed, e.g. over the serialized form of a key so the hash
+     * stays the same across JVM runs.
+     */
+    public void putHash(long hash) {
+        int h1 = (int) hash, h2 = (int) (hash >>> 32);
+        for (int i = 0; i < numHashes; i++) {
+            // double hashing: the i-th probe is h1 + i * h2
+            int bit = ((h1 + i * h2) & Integer.MAX_VALUE) % numBits;
+            bits[bit >>> 6] |= 1L << bit;
+        }
+    }
+
+    public boolean mightContainHash(long hash) {
+        int h1 = (int) hash, h2 = (int) (hash >>> 32);
+        for (int i = 0; i < numHashes; i++) {
+            int bit = ((h1 + i * h2) & Integer.MAX_VALUE) % numBits;
+            if ((bits[bit >>> 6] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public void writeTo(DataOutput out) throws IOException {
+        out.writeInt(numBits);
+        out.writeInt(numHashes);
+        out.writeInt(bits.length);
+        for (long word : bits) {
+            out.writeLong(word);
+        }
+    }
+
+    public static <E> MyBloomFilter<E> readFrom(DataInput in) throws IOException {
+        int numBits = in.readInt();
+        int numHashes = in.readInt();
+        long[] bits = new long[in.readInt()];
+        for (int i = 0; i < bits.length; i++) {
+            bits[i] = in.readLong();
+        }
+        return new MyBloomFilter<>(bits, numBits, numHashes);
+    }
+
+    /**
+     * Same as {@link #mightContainHash(long)}, but reads the bits straight out of a filter serialized by
+     * {@link #writeTo}, e.g. inside a memory-mapped file, without loading it onto the heap.
+     */
+    public static boolean mightContainHash(ByteBuffer serialized, long hash) {
+        int numBits = serialized.getInt(0), numHashes = serialized.getInt(4);
+        int h1 = (int) hash, h2 = (int) (hash >>> 32);
+        for (int i = 0; i < numHashes; i++) {
+            int bit = ((h1 + i * h2) & Integer.MAX_VALUE) % numBits;
+            if ((serialized.getLong(12 + ((bit >>> 6) << 3)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * m = -n * ln(p) / (ln 2)^2, rounded up to whole 64-bit words by the caller.
+     */
+    static int optimalNumBits(int expectedInsertions, double falsePositiveRate) {
+        if (expectedInsertions < 0) {
+            throw new IllegalArgumentException("expectedInsertions must not be negative");
+        }
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("falsePositiveRate must be between 0 and 1");
+        }
+        int n = Math.max(1, expectedInsertions);
+        long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        return (int) Math.min(Math.max(64, m), Integer.MAX_VALUE - 1023);
+    }
+
+    /**
+     * k = m / n * ln 2, the number of probes that minimizes the false positive rate for m bits.
+     */
+    static int optimalNumHashes(long numBits, int expectedInsertions) {
+        return Math.max(1, (int) Math.round((double) numBits / Math.max(1, expectedInsertions) * Math.log(2)));
+    }
+
+    /**
+     * Spreads a 32-bit hashCode over 64 bits (the finalizer of MurmurHash3), so both probe seeds are well mixed.
+     */
+    public static long hash(Object element) {
+        return mix64(element == null ? 0 : element.hashCode());
+    }
+
+    public static long mix64(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
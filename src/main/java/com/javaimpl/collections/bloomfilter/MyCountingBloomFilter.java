@@ -0,0 +1,95 @@
+package com.javaimpl.collections.bloomfilter;
+
+import java.util.Arrays;
+
+/**
+ * A blocked bloom filter that keeps a 4-bit counter instead of a bit per position, so elements can be removed.
+ * <p>
+ * Sixteen counters are packed into each long and a block of 128 counters fills one 64-byte cache line, the same
+ * layout as {@link MyBlockedBloomFilter} at four times the memory. A counter that reaches 15 sticks there: it can
+ * no longer tell how many elements share it, so removals leave it alone rather than risk a false negative.
+ *
+ * @param <E> the type of elements offered to this filter
+ */
+public class MyCountingBloomFilter<E> {
+
+    private static final int COUNTERS_PER_WORD = 16;
+
+    private static final int BLOCK_COUNTERS = MyBlockedBloomFilter.WORDS_PER_BLOCK * COUNTERS_PER_WORD;
+
+    private static final long MAX_COUNT = 0xF;
+
+    private final long[] counters;
+
+    private final int numBlocks;
+
+    private final int numHashes;
+
+    /**
+     * @param expectedInsertions number of elements the filter is sized for
+     * @param falsePositiveRate  wanted probability that {@link #mightContain} returns true for an absent element
+     */
+    public MyCountingBloomFilter(int expectedInsertions, double falsePositiveRate) {
+        int numCounters = MyBloomFilter.optimalNumBits(expectedInsertions, falsePositiveRate);
+        numBlocks = (numCounters + BLOCK_COUNTERS - 1) / BLOCK_COUNTERS;
+        numHashes = MyBloomFilter.optimalNumHashes((long) numBlocks * BLOCK_COUNTERS, expectedInsertions);
+        counters = new long[numBlocks * MyBlockedBloomFilter.WORDS_PER_BLOCK];
+    }
+
+    public void put(E element) {
+        putHash(MyBloomFilter.hash(element));
+    }
+
+    public boolean mightContain(E element) {
+        return mightContainHash(MyBloomFilter.hash(element));
+    }
+
+    /**
+     * Removes one earlier {@link #put} of the element. Removing an element that was never put corrupts the
+     * counters of other elements and may produce false negatives.
+     */
+    public void remove(E element) {
+        removeHash(MyBloomFilter.hash(element));
+    }
+
+    public void putHash(long hash) {
+        int block = MyBlockedBloomFilter.block(hash, numBlocks) * MyBlockedBloomFilter.WORDS_PER_BLOCK;
+        int h1 = (int) hash, h2 = MyBlockedBloomFilter.secondHash(hash);
+        for (int i = 0; i < numHashes; i++) {
+            int counter = (h1 + i * h2) & (BLOCK_COUNTERS - 1);
+            int word = block + counter / COUNTERS_PER_WORD, shift = (counter % COUNTERS_PER_WORD) << 2;
+            if ((counters[word] >>> shift & MAX_COUNT) != MAX_COUNT) {
+                counters[word] += 1L << shift;
+            }
+        }
+    }
+
+    public void removeHash(long hash) {
+        int block = MyBlockedBloomFilter.block(hash, numBlocks) * MyBlockedBloomFilter.WORDS_PER_BLOCK;
+        int h1 = (int) hash, h2 = MyBlockedBloomFilter.secondHash(hash);
+        for (int i = 0; i < numHashes; i++) {
+            int counter = (h1 + i * h2) & (BLOCK_COUNTERS - 1);
+            int word = block + counter / COUNTERS_PER_WORD, shift = (counter % COUNTERS_PER_WORD) << 2;
+            long count = counters[word] >>> shift & MAX_COUNT;
+            if (count != 0 && count != MAX_COUNT) {
+                counters[word] -= 1L << shift;
+            }
+        }
+    }
+
+    public boolean mightContainHash(long hash) {
+        int block = MyBlockedBloomFilter.block(hash, numBlocks) * MyBlockedBloomFilter.WORDS_PER_BLOCK;
+        int h1 = (int) hash, h2 = MyBlockedBloomFilter.secondHash(hash);
+        for (int i = 0; i < numHashes; i++) {
+            int counter = (h1 + i * h2) & (BLOCK_COUNTERS - 1);
+            if ((counters[block + counter / COUNTERS_PER_WORD] >>> ((counter % COUNTERS_PER_WORD) << 2) & MAX_COUNT) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public void clear() {
+        Arrays.fill(counters, 0L);
+    }
+}
@@ -0,0 +1,485 @@
+package com.javaimpl.collections.columnarlist;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.NoSuchElementException;
+import java.util.function.DoublePredicate;
+import java.util.function.IntPredicate;
+import java.util.function.LongPredicate;
+import java.util.function.Predicate;
+
+/**
+ * A list of records stored column by column: one array per field instead of one object per record.
+ * <p>
+ * Columns are declared up front as {@link Column} types. Record {@code i} is the {@code i}-th slot of every column
+ * array, and is read and written either by (index, column) or through a reusable {@link Row} flyweight, so adding
+ * or reading a record allocates nothing. Aggregates ({@link #sumLong}, {@link #minDouble}, {@link #filterInt}, ...)
+ * run a plain loop over a single primitive array, which touches only that field's bytes and which the JIT can
+ * unroll and vectorize.
+ * <p>
+ * Not thread-safe.
+ */
+public class MyColumnarList {
+
+    public enum Column {
+        INT, LONG, DOUBLE, OBJECT
+    }
+
+    private static final int DEFAULT_CAPACITY = 10;
+
+    private final Column[] types;
+
+    // int[], long[], double[] or Object[], matching types
+    private final Object[] columns;
+
+    private final Row row = new Row();
+
+    private int capacity;
+
+    private int size;
+
+    public MyColumnarList(Column... types) {
+        this(DEFAULT_CAPACITY, types);
+    }
+
+    public MyColumnarList(int capacity, Column... types) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("capacity must not be negative");
+        }
+        if (types.length == 0) {
+            throw new IllegalArgumentException("a record needs at least one column");
+        }
+        this.types = types.clone();
+        this.columns = new Object[types.length];
+        for (int i = 0; i < types.length; i++) {
+            columns[i] = switch (types[i]) {
+                case INT -> new int[capacity];
+                case LONG -> new long[capacity];
+                case DOUBLE -> new double[capacity];
+                case OBJECT -> new Object[capacity];
+            };
+        }
+        this.capacity = capacity;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int columnCount() {
+        return types.length;
+    }
+
+    /**
+     * Appends a record with every primitive column set to zero and every object column set to null.
+     *
+     * @return the list's flyweight row, positioned on the new record
+     */
+    public Row add() {
+        if (size == capacity) {
+            expand(size + 1);
+        }
+        // slots past size are kept zeroed by remove / clear, so nothing to reset here
+        return row.at(size++);
+    }
+
+    /**
+     * Returns the list's flyweight row positioned on the given record. The same instance is returned by every
+     * call, so it must not be held across another {@code row} or {@code add} call.
+     */
+    public Row row(int index) {
+        checkIndex(index);
+        return row.at(index);
+    }
+
+    public void remove(int index) {
+        checkIndex(index);
+        int moved = size - index - 1;
+        size--;
+        for (int c = 0; c < columns.length; c++) {
+            System.arraycopy(columns[c], index + 1, columns[c], index, moved);
+        }
+        clearSlots(size, size + 1);
+    }
+
+    public void clear() {
+        clearSlots(0, size);
+        size = 0;
+    }
+
+    public int getInt(int index, int column) {
+        checkIndex(index);
+        return ints(column)[index];
+    }
+
+    public long getLong(int index, int column) {
+        checkIndex(index);
+        return longs(column)[index];
+    }
+
+    public double getDouble(int index, int column) {
+        checkIndex(index);
+        return doubles(column)[index];
+    }
+
+    @SuppressWarnings("unchecked") // OBJECT columns are untyped, the caller names S
+    public <S> S getObject(int index, int column) {
+        checkIndex(index);
+        return (S) objects(column)[index];
+    }
+
+    public void setInt(int index, int column, int value) {
+        checkIndex(index);
+        ints(column)[index] = value;
+    }
+
+    public void setLong(int index, int column, long value) {
+        checkIndex(index);
+        longs(column)[index] = value;
+    }
+
+    public void setDouble(int index, int column, double value) {
+        checkIndex(index);
+        doubles(column)[index] = value;
+    }
+
+    public void setObject(int index, int column, Object value) {
+        checkIndex(index);
+        objects(column)[index] = value;
+    }
+
+    /**
+     * Sums an {@code INT} or {@code LONG} column into a long.
+     */
+    public long sumLong(int column) {
+        long sum = 0;
+        if (type(column) == Column.INT) {
+            int[] values = ints(column);
+            for (int i = 0; i < size; i++) {
+                sum += values[i];
+            }
+        } else {
+            long[] values = longs(column);
+            for (int i = 0; i < size; i++) {
+                sum += values[i];
+            }
+        }
+        return sum;
+    }
+
+    public double sumDouble(int column) {
+        double[] values = doubles(column);
+        double sum = 0;
+        for (int i = 0; i < size; i++) {
+            sum += values[i];
+        }
+        return sum;
+    }
+
+    /**
+     * Returns the smallest value of an {@code INT} or {@code LONG} column.
+     *
+     * @throws NoSuchElementException if the list is empty
+     */
+    public long minLong(int column) {
+        checkNotEmpty();
+        long min = Long.MAX_VALUE;
+        if (type(column) == Column.INT) {
+            int[] values = ints(column);
+            for (int i = 0; i < size; i++) {
+                min = Math.min(min, values[i]);
+            }
+        } else {
+            long[] values = longs(column);
+            for (int i = 0; i < size; i++) {
+                min = Math.min(min, values[i]);
+            }
+        }
+        return min;
+    }
+
+    /**
+     * Returns the largest value of an {@code INT} or {@code LONG} column.
+     *
+     * @throws NoSuchElementException if the list is empty
+     */
+    public long maxLong(int column) {
+        checkNotEmpty();
+        long max = Long.MIN_VALUE;
+        if (type(column) == Column.INT) {
+            int[] values = ints(column);
+            for (int i = 0; i < size; i++) {
+                max = Math.max(max, values[i]);
+            }
+        } else {
+            long[] values = longs(column);
+            for (int i = 0; i < size; i++) {
+                max = Math.max(max, values[i]);
+            }
+        }
+        return max;
+    }
+
+    /**
+     * @throws NoSuchElementException if the list is empty
+     */
+    public double minDouble(int column) {
+        checkNotEmpty();
+        double[] values = doubles(column);
+        double min = Double.POSITIVE_INFINITY;
+        for (int i = 0; i < size; i++) {
+            min = Math.min(min, values[i]);
+        }
+        return min;
+    }
+
+    /**
+     * @throws NoSuchElementException if the list is empty
+     */
+    public double maxDouble(int column) {
+        checkNotEmpty();
+        double[] values = doubles(column);
+        double max = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < size; i++) {
+            max = Math.max(max, values[i]);
+        }
+        return max;
+    }
+
+    /**
+     * Returns the indexes of the records whose {@code INT} column matches, as a bitmap.
+     * The predicate is called once per record; for a range, {@link #filterIntBetween} avoids the call.
+     */
+    public BitSet filterInt(int column, IntPredicate predicate) {
+        int[] values = ints(column);
+        long[] words = new long[(size + 63) >>> 6];
+        for (int i = 0; i < size; i++) {
+            words[i >>> 6] |= (predicate.test(values[i]) ? 1L : 0L) << i;
+        }
+        return BitSet.valueOf(words);
+    }
+
+    /**
+     * Returns the indexes of the records with {@code lo <= value <= hi} in an {@code INT} column. The loop body is
+     * two comparisons and a shift, with no call, and each bitmap word is built in a local.
+     */
+    public BitSet filterIntBetween(int column, int lo, int hi) {
+        int[] values = ints(column);
+        long[] words = new long[(size + 63) >>> 6];
+        for (int w = 0; w < words.length; w++) {
+            int from = w << 6, to = Math.min(size, from + 64);
+            long word = 0;
+            for (int i = from; i < to; i++) {
+                int value = values[i];
+                word |= (value >= lo & value <= hi ? 1L : 0L) << i;
+            }
+            words[w] = word;
+        }
+        return BitSet.valueOf(words);
+    }
+
+    /**
+     * {@code LONG} counterpart of {@link #filterIntBetween}.
+     */
+    public BitSet filterLongBetween(int column, long lo, long hi) {
+        long[] values = longs(column);
+        long[] words = new long[(size + 63) >>> 6];
+        for (int w = 0; w < words.length; w++) {
+            int from = w << 6, to = Math.min(size, from + 64);
+            long word = 0;
+            for (int i = from; i < to; i++) {
+                long value = values[i];
+                word |= (value >= lo & value <= hi ? 1L : 0L) << i;
+            }
+            words[w] = word;
+        }
+        return BitSet.valueOf(words);
+    }
+
+    public BitSet filterLong(int column, LongPredicate predicate) {
+        long[] values = longs(column);
+        long[] words = new long[(size + 63) >>> 6];
+        for (int i = 0; i < size; i++) {
+            words[i >>> 6] |= (predicate.test(values[i]) ? 1L : 0L) << i;
+        }
+        return BitSet.valueOf(words);
+    }
+
+    public BitSet filterDouble(int column, DoublePredicate predicate) {
+        double[] values = doubles(column);
+        long[] words = new long[(size + 63) >>> 6];
+        for (int i = 0; i < size; i++) {
+            words[i >>> 6] |= (predicate.test(values[i]) ? 1L : 0L) << i;
+        }
+        return BitSet.valueOf(words);
+    }
+
+    @SuppressWarnings("unchecked") // OBJECT columns are untyped, the caller names S
+    public <S> BitSet filterObject(int column, Predicate<? super S> predicate) {
+        Object[] values = objects(column);
+        long[] words = new long[(size + 63) >>> 6];
+        for (int i = 0; i < size; i++) {
+            words[i >>> 6] |= (predicate.test((S) values[i]) ? 1L : 0L) << i;
+        }
+        return BitSet.valueOf(words);
+    }
+
+    /**
+     * Sums an {@code INT} or {@code LONG} column over the records set in a bitmap from one of the filters, so a
+     * filtered aggregate reads the second column only where the first matched.
+     */
+    public long sumLong(int column, BitSet rows) {
+        long sum = 0;
+        if (type(column) == Column.INT) {
+            int[] values = ints(column);
+            for (int i = rows.nextSetBit(0); i >= 0 && i < size; i = rows.nextSetBit(i + 1)) {
+                sum += values[i];
+            }
+        } else {
+            long[] values = longs(column);
+            for (int i = rows.nextSetBit(0); i >= 0 && i < size; i = rows.nextSetBit(i + 1)) {
+                sum += values[i];
+            }
+        }
+        return sum;
+    }
+
+    public double sumDouble(int column, BitSet rows) {
+        double[] values = doubles(column);
+        double sum = 0;
+        for (int i = rows.nextSetBit(0); i >= 0 && i < size; i = rows.nextSetBit(i + 1)) {
+            sum += values[i];
+        }
+        return sum;
+    }
+
+    private void expand(int expectedSize) {
+        int targetCapacity = capacity + (capacity >> 1); // capacity * 1.5
+        int newCapacity = Math.max(targetCapacity, expectedSize);
+        for (int c = 0; c < columns.length; c++) {
+            columns[c] = switch (types[c]) {
+                case INT -> Arrays.copyOf((int[]) columns[c], newCapacity);
+                case LONG -> Arrays.copyOf((long[]) columns[c], newCapacity);
+                case DOUBLE -> Arrays.copyOf((double[]) columns[c], newCapacity);
+                case OBJECT -> Arrays.copyOf((Object[]) columns[c], newCapacity);
+            };
+        }
+        capacity = newCapacity;
+    }
+
+    /**
+     * Resets slots [from, to) of every column, so a later add starts from a clean record and removed objects
+     * can be collected.
+     */
+    private void clearSlots(int from, int to) {
+        for (int c = 0; c < columns.length; c++) {
+            switch (types[c]) {
+                case INT -> Arrays.fill((int[]) columns[c], from, to, 0);
+                case LONG -> Arrays.fill((long[]) columns[c], from, to, 0L);
+                case DOUBLE -> Arrays.fill((double[]) columns[c], from, to, 0.0);
+                case OBJECT -> Arrays.fill((Object[]) columns[c], from, to, null);
+            }
+        }
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    private void checkNotEmpty() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+    }
+
+    private Column type(int column) {
+        if (column < 0 || column >= types.length) {
+            throw new IndexOutOfBoundsException("Column: " + column + ", Columns: " + types.length);
+        }
+        return types[column];
+    }
+
+    private int[] ints(int column) {
+        return (int[]) columns(column, Column.INT);
+    }
+
+    private long[] longs(int column) {
+        return (long[]) columns(column, Column.LONG);
+    }
+
+    private double[] doubles(int column) {
+        return (double[]) columns(column, Column.DOUBLE);
+    }
+
+    private Object[] objects(int column) {
+        return (Object[]) columns(column, Column.OBJECT);
+    }
+
+    private Object columns(int column, Column expected) {
+        Column actual = type(column);
+        if (actual != expected) {
+            throw new IllegalArgumentException("column " + column + " is " + actual + ", not " + expected);
+        }
+        return columns[column];
+    }
+
+    /**
+     * A movable view of one record. The list owns a single instance and repositions it on every
+     * {@link #row(int)} and {@link #add()}, so walking a million records creates no objects.
+     */
+    public final class Row {
+
+        private int index;
+
+        private Row() {
+        }
+
+        private Row at(int index) {
+            this.index = index;
+            return this;
+        }
+
+        public int index() {
+            return index;
+        }
+
+        public int getInt(int column) {
+            return ints(column)[index];
+        }
+
+        public long getLong(int column) {
+            return longs(column)[index];
+        }
+
+        public double getDouble(int column) {
+            return doubles(column)[index];
+        }
+
+        @SuppressWarnings("unchecked") // OBJECT columns are untyped, the caller names S
+        public <S> S getObject(int column) {
+            return (S) objects(column)[index];
+        }
+
+        public Row setInt(int column, int value) {
+            ints(column)[index] = value;
+            return this;
+        }
+
+        public Row setLong(int column, long value) {
+            longs(column)[index] = value;
+            return this;
+        }
+
+        public Row setDouble(int column, double value) {
+            doubles(column)[index] = value;
+            return this;
+        }
+
+        public Row setObject(int column, Object value) {
+            objects(column)[index] = value;
+            return this;
+        }
+    }
+}
@@ -0,0 +1,324 @@
+package com.javaimpl.collections.concurrentlinkedqueue;
+
+import com.javaimpl.collections.linkedlist.MyLinkedList.Node;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Objects;
+
+/**
+ * An unbounded, lock-free double-ended queue over {@link Node}s of {@code MyLinkedList}.
+ * <p>
+ * The first node is the one whose {@code prev} is null and the last the one whose {@code next} is null;
+ * {@code head} and {@code tail} are only hints from which they are found. Linking is one CAS: {@link #offerFirst}
+ * CASes the first node's {@code prev} from null to the new node, {@link #offerLast} the last node's {@code next}.
+ * Taking an element is a CAS of its {@code value} to null, so {@link #pollFirst}, {@link #pollLast} and
+ * {@link #remove(Object)} never touch links.
+ * <p>
+ * Emptied nodes are unlinked lazily, from the ends only. A dead end node is first sealed by pointing its outer
+ * link at itself, which makes the linking CAS of any racing offer fail, and then cut off by nulling its
+ * neighbour's link to it; a thread that meets a sealed node finishes the cut itself. One thread at a time does
+ * this trimming, chosen by a CAS on {@code trimming}; others skip it, so no operation ever waits. The last
+ * remaining node is never cut, and dead nodes in the middle (left by {@code remove(Object)}) go when they become
+ * an end.
+ * <p>
+ * Null elements are not allowed. {@link #size()} walks the deque and is only a snapshot.
+ *
+ * @param <S> class of stored object
+ */
+public class MyConcurrentLinkedDeque<S> {
+
+    private static final VarHandle PREV;
+
+    private static final VarHandle NEXT;
+
+    private static final VarHandle VALUE;
+
+    private static final VarHandle TRIMMING;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            PREV = lookup.findVarHandle(Node.class, "prev", Node.class);
+            NEXT = lookup.findVarHandle(Node.class, "next", Node.class);
+            VALUE = lookup.findVarHandle(Node.class, "value", Object.class);
+            TRIMMING = lookup.findVarHandle(MyConcurrentLinkedDeque.class, "trimming", boolean.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private volatile Node<S> head;
+
+    private volatile Node<S> tail;
+
+    private volatile boolean trimming;
+
+    public MyConcurrentLinkedDeque() {
+        head = tail = new Node<>(null);
+    }
+
+    public void addFirst(S item) {
+        offerFirst(item);
+    }
+
+    public void addLast(S item) {
+        offerLast(item);
+    }
+
+    public boolean offerFirst(S item) {
+        Node<S> newNode = new Node<>(Objects.requireNonNull(item));
+        while (true) {
+            Node<S> first = first();
+            newNode.next = first; // published by the CAS below
+            if (PREV.compareAndSet(first, null, newNode)) {
+                head = newNode;
+                return true;
+            }
+        }
+    }
+
+    public boolean offerLast(S item) {
+        Node<S> newNode = new Node<>(Objects.requireNonNull(item));
+        while (true) {
+            Node<S> last = last();
+            newNode.prev = last; // published by the CAS below
+            if (NEXT.compareAndSet(last, null, newNode)) {
+                tail = newNode;
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Removes and returns the first element, or null if the deque is empty.
+     */
+    public S pollFirst() {
+        for (Node<S> p = first(); p != null; ) {
+            S value = value(p);
+            if (value != null && VALUE.compareAndSet(p, value, null)) {
+                trim();
+                return value;
+            }
+            p = successor(p);
+        }
+        return null;
+    }
+
+    /**
+     * Removes and returns the last element, or null if the deque is empty.
+     */
+    public S pollLast() {
+        for (Node<S> p = last(); p != null; ) {
+            S value = value(p);
+            if (value != null && VALUE.compareAndSet(p, value, null)) {
+                trim();
+                return value;
+            }
+            p = predecessor(p);
+        }
+        return null;
+    }
+
+    public S peekFirst() {
+        for (Node<S> p = first(); p != null; ) {
+            S value = value(p);
+            if (value != null) {
+                return value;
+            }
+            p = successor(p);
+        }
+        return null;
+    }
+
+    public S peekLast() {
+        for (Node<S> p = last(); p != null; ) {
+            S value = value(p);
+            if (value != null) {
+                return value;
+            }
+            p = predecessor(p);
+        }
+        return null;
+    }
+
+    public boolean isEmpty() {
+        return peekFirst() == null;
+    }
+
+    /**
+     * Removes the first occurrence of the element, walking from the front.
+     *
+     * @return true if an element was removed
+     */
+    public boolean remove(Object item) {
+        if (item == null) {
+            return false;
+        }
+        for (Node<S> p = first(); p != null; ) {
+            S value = value(p);
+            if (item.equals(value) && VALUE.compareAndSet(p, value, null)) {
+                trim();
+                return true;
+            }
+            p = successor(p);
+        }
+        return false;
+    }
+
+    public boolean contains(Object item) {
+        if (item == null) {
+            return false;
+        }
+        for (Node<S> p = first(); p != null; ) {
+            if (item.equals(value(p))) {
+                return true;
+            }
+            p = successor(p);
+        }
+        return false;
+    }
+
+    /**
+     * Counts the elements by walking the deque: O(n), and only exact when no other thread is changing it.
+     */
+    public int size() {
+        int count = 0;
+        for (Node<S> p = first(); p != null; ) {
+            if (value(p) != null) {
+                count++;
+            }
+            p = successor(p);
+        }
+        return count;
+    }
+
+    /**
+     * Finds the node with a null {@code prev}, walking back from the {@code head} hint and forward past sealed
+     * first nodes.
+     */
+    private Node<S> first() {
+        Node<S> p = head;
+        while (true) {
+            Node<S> q = prev(p);
+            if (q == null) {
+                return p;
+            }
+            if (q == p) {
+                helpUnlinkFirst(p);
+                p = next(p);
+            } else {
+                p = q;
+            }
+        }
+    }
+
+    /**
+     * Finds the node with a null {@code next}, walking forward from the {@code tail} hint and back past sealed
+     * last nodes.
+     */
+    private Node<S> last() {
+        Node<S> p = tail;
+        while (true) {
+            Node<S> q = next(p);
+            if (q == null) {
+                return p;
+            }
+            if (q == p) {
+                helpUnlinkLast(p);
+                p = prev(p);
+            } else {
+                p = q;
+            }
+        }
+    }
+
+    /**
+     * Returns the node after p, or null at the end. Reaching a sealed last node finishes its cut and continues
+     * from the node before it, whose {@code next} is then null or a node linked since.
+     */
+    private static <S> Node<S> successor(Node<S> p) {
+        Node<S> q = next(p);
+        if (q == p) {
+            helpUnlinkLast(p);
+            return prev(p);
+        }
+        return q;
+    }
+
+    /**
+     * Returns the node before p, or null at the front, symmetric to {@link #successor}.
+     */
+    private static <S> Node<S> predecessor(Node<S> p) {
+        Node<S> q = prev(p);
+        if (q == p) {
+            helpUnlinkFirst(p);
+            return next(p);
+        }
+        return q;
+    }
+
+    /**
+     * Cuts dead nodes off both ends. Runs on one thread at a time; a thread that finds it busy returns at once.
+     */
+    private void trim() {
+        if (!TRIMMING.compareAndSet(this, false, true)) {
+            return;
+        }
+        try {
+            while (true) {
+                Node<S> first = first();
+                Node<S> next = next(first);
+                // keep the last node, and let a racing offerFirst win: sealing fails if prev is no longer null
+                if (value(first) != null || next == null || !PREV.compareAndSet(first, null, first)) {
+                    break;
+                }
+                helpUnlinkFirst(first);
+                head = next;
+            }
+            while (true) {
+                Node<S> last = last();
+                Node<S> prev = prev(last);
+                if (value(last) != null || prev == null || !NEXT.compareAndSet(last, null, last)) {
+                    break;
+                }
+                helpUnlinkLast(last);
+                tail = prev;
+            }
+        } finally {
+            trimming = false;
+        }
+    }
+
+    /**
+     * Second half of cutting a sealed first node: its successor stops pointing back at it and becomes first.
+     */
+    private static <S> void helpUnlinkFirst(Node<S> sealed) {
+        Node<S> next = next(sealed);
+        if (next != null) {
+            PREV.compareAndSet(next, sealed, null);
+        }
+    }
+
+    /**
+     * Second half of cutting a sealed last node: its predecessor stops pointing at it and becomes last.
+     */
+    private static <S> void helpUnlinkLast(Node<S> sealed) {
+        Node<S> prev = prev(sealed);
+        if (prev != null) {
+            NEXT.compareAndSet(prev, sealed, null);
+        }
+    }
+
+    private static <S> Node<S> prev(Node<S> node) {
+        return (Node<S>) PREV.getAcquire(node);
+    }
+
+    private static <S> Node<S> next(Node<S> node) {
+        return (Node<S>) NEXT.getAcquire(node);
+    }
+
+    private static <S> S value(Node<S> node) {
+        return (S) VALUE.getAcquire(node);
+    }
+}
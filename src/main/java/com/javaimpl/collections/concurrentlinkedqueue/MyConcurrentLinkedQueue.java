@@ -0,0 +1,209 @@
+package com.javaimpl.collections.concurrentlinkedqueue;
+
+import com.javaimpl.collections.linkedlist.MyLinkedList.Node;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Objects;
+
+/**
+ * An unbounded, lock-free FIFO queue (Michael and Scott, 1996) over {@link Node}s of {@code MyLinkedList}.
+ * <p>
+ * The list always starts with a dummy node that {@code head} points to; {@code tail} points to the last node or
+ * one behind it. {@link #offer} appends by a CAS on the last node's {@code next} and then swings {@code tail},
+ * which any thread that finds it lagging helps to do. {@link #poll} claims the first element by a CAS of its
+ * {@code value} to null and makes that node the new dummy.
+ * <p>
+ * Removed nodes are unlinked lazily: {@link #remove(Object)} only nulls the value, and the node is dropped when
+ * {@code head} passes it. A node dropped by {@code head} has its {@code next} pointed at itself, so a dead chain
+ * cannot keep later nodes reachable; a thread that meets such a self-link restarts from {@code head}.
+ * <p>
+ * Null elements are not allowed. {@link #size()} walks the queue and is only a snapshot.
+ *
+ * @param <S> class of stored object
+ */
+public class MyConcurrentLinkedQueue<S> {
+
+    private static final VarHandle HEAD;
+
+    private static final VarHandle TAIL;
+
+    private static final VarHandle NEXT;
+
+    private static final VarHandle VALUE;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            HEAD = lookup.findVarHandle(MyConcurrentLinkedQueue.class, "head", Node.class);
+            TAIL = lookup.findVarHandle(MyConcurrentLinkedQueue.class, "tail", Node.class);
+            NEXT = lookup.findVarHandle(Node.class, "next", Node.class);
+            VALUE = lookup.findVarHandle(Node.class, "value", Object.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private volatile Node<S> head;
+
+    private volatile Node<S> tail;
+
+    public MyConcurrentLinkedQueue() {
+        head = tail = new Node<>(null);
+    }
+
+    /**
+     * Appends an element at the tail. Never blocks and never fails.
+     */
+    public boolean offer(S item) {
+        Objects.requireNonNull(item);
+        Node<S> newNode = new Node<>(item);
+        while (true) {
+            Node<S> last = tail;
+            Node<S> next = next(last);
+            if (last != tail) {
+                continue;
+            }
+            if (next == null) {
+                if (NEXT.compareAndSet(last, null, newNode)) {
+                    // may fail if another thread already helped, which is fine
+                    TAIL.compareAndSet(this, last, newNode);
+                    return true;
+                }
+            } else if (next == last) {
+                // tail fell behind head onto a dropped node; continue from head
+                TAIL.compareAndSet(this, last, head);
+            } else {
+                // tail is lagging, help the other offer finish
+                TAIL.compareAndSet(this, last, next);
+            }
+        }
+    }
+
+    public void add(S item) {
+        offer(item);
+    }
+
+    /**
+     * Removes and returns the head element, or null if the queue is empty.
+     */
+    public S poll() {
+        while (true) {
+            Node<S> first = head;
+            Node<S> next = next(first);
+            if (first != head) {
+                continue;
+            }
+            if (next == null) {
+                return null;
+            }
+            S value = value(next);
+            boolean claimed = value != null && VALUE.compareAndSet(next, value, null);
+            // next becomes the dummy whether we claimed it or found it already removed
+            advanceHead(first, next);
+            if (claimed) {
+                return value;
+            }
+        }
+    }
+
+    /**
+     * Returns the head element without removing it, or null if the queue is empty.
+     */
+    public S peek() {
+        restart:
+        while (true) {
+            for (Node<S> p = next(head), q; p != null; p = q) {
+                S value = value(p);
+                if (value != null) {
+                    return value;
+                }
+                if ((q = next(p)) == p) {
+                    continue restart;
+                }
+            }
+            return null;
+        }
+    }
+
+    public boolean isEmpty() {
+        return peek() == null;
+    }
+
+    /**
+     * Removes the first occurrence of the element. The node stays linked, empty, until {@code head} passes it.
+     *
+     * @return true if an element was removed
+     */
+    public boolean remove(Object item) {
+        if (item == null) {
+            return false;
+        }
+        restart:
+        while (true) {
+            for (Node<S> p = next(head), q; p != null; p = q) {
+                S value = value(p);
+                if (item.equals(value) && VALUE.compareAndSet(p, value, null)) {
+                    return true;
+                }
+                if ((q = next(p)) == p) {
+                    continue restart;
+                }
+            }
+            return false;
+        }
+    }
+
+    public boolean contains(Object item) {
+        if (item == null) {
+            return false;
+        }
+        restart:
+        while (true) {
+            for (Node<S> p = next(head), q; p != null; p = q) {
+                if (item.equals(value(p))) {
+                    return true;
+                }
+                if ((q = next(p)) == p) {
+                    continue restart;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Counts the elements by walking the queue: O(n), and only exact when no other thread is changing it.
+     */
+    public int size() {
+        restart:
+        while (true) {
+            int count = 0;
+            for (Node<S> p = next(head), q; p != null; p = q) {
+                if (value(p) != null) {
+                    count++;
+                }
+                if ((q = next(p)) == p) {
+                    continue restart;
+                }
+            }
+            return count;
+        }
+    }
+
+    private void advanceHead(Node<S> first, Node<S> next) {
+        if (HEAD.compareAndSet(this, first, next)) {
+            TAIL.compareAndSet(this, first, next);
+            // self-link: the dropped node no longer keeps the rest of the queue reachable
+            NEXT.setRelease(first, first);
+        }
+    }
+
+    private static <S> Node<S> next(Node<S> node) {
+        return (Node<S>) NEXT.getAcquire(node);
+    }
+
+    private static <S> S value(Node<S> node) {
+        return (S) VALUE.getAcquire(node);
+    }
+}
@@ -0,0 +1,226 @@
+package com.javaimpl.collections.copyonwritearraylist;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * A thread-safe array list for data that is read far more often than it changes.
+ * <p>
+ * The elements sit in an array that is never modified once published. Readers load the volatile reference and
+ * work on that array without locking; writers take a lock, build a modified copy and publish it with a single
+ * volatile write. An iterator walks the array it started with, so it never sees a concurrent change and never
+ * throws {@code ConcurrentModificationException}.
+ *
+ * @param <S> class of stored object
+ */
+public class MyCopyOnWriteArrayList<S> implements Iterable<S> {
+
+    private static final Object[] EMPTY_ELEMENTDATA = {};
+
+    // serializes writers; readers never take it
+    private final Object lock = new Object();
+
+    private volatile Object[] list;
+
+    public MyCopyOnWriteArrayList() {
+        list = EMPTY_ELEMENTDATA;
+    }
+
+    public MyCopyOnWriteArrayList(Collection<? extends S> objs) {
+        list = objs.isEmpty() ? EMPTY_ELEMENTDATA : Arrays.copyOf(objs.toArray(), objs.size(), Object[].class);
+    }
+
+    public void add(S obj) {
+        synchronized (lock) {
+            Object[] current = list;
+            Object[] copy = Arrays.copyOf(current, current.length + 1);
+            copy[current.length] = obj;
+            list = copy;
+        }
+    }
+
+    public void add(S obj, int index) {
+        synchronized (lock) {
+            Object[] current = list;
+            if (index < 0 || index > current.length) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + current.length);
+            }
+            Object[] copy = new Object[current.length + 1];
+            System.arraycopy(current, 0, copy, 0, index);
+            System.arraycopy(current, index, copy, index + 1, current.length - index);
+            copy[index] = obj;
+            list = copy;
+        }
+    }
+
+    public void addAll(Collection<? extends S> objs) {
+        synchronized (lock) {
+            addAll(objs, list.length);
+        }
+    }
+
+    /**
+     * Inserts every element of the collection with one copy of the array, so a burst of additions published
+     * together costs what a single {@link #add} does.
+     */
+    public void addAll(Collection<? extends S> objs, int index) {
+        Object[] added = objs.toArray();
+        synchronized (lock) {
+            Object[] current = list;
+            if (index < 0 || index > current.length) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + current.length);
+            }
+            if (added.length == 0) {
+                return;
+            }
+            Object[] copy = new Object[current.length + added.length];
+            System.arraycopy(current, 0, copy, 0, index);
+            System.arraycopy(added, 0, copy, index, added.length);
+            System.arraycopy(current, index, copy, index + added.length, current.length - index);
+            list = copy;
+        }
+    }
+
+    public void remove(int index) {
+        synchronized (lock) {
+            Object[] current = list;
+            if (index < 0 || index >= current.length) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + current.length);
+            }
+            Object[] copy = new Object[current.length - 1];
+            System.arraycopy(current, 0, copy, 0, index);
+            System.arraycopy(current, index + 1, copy, index, current.length - index - 1);
+            list = copy;
+        }
+    }
+
+    /**
+     * Removes the first element equal to the given object.
+     *
+     * @return true if an element was removed
+     */
+    public boolean remove(Object obj) {
+        synchronized (lock) {
+            int index = indexOf(list, obj);
+            if (index < 0) {
+                return false;
+            }
+            remove(index);
+            return true;
+        }
+    }
+
+    /**
+     * Removes every element matching the filter with one copy of the array.
+     *
+     * @return true if any element was removed
+     */
+    public boolean removeIf(Predicate<? super S> filter) {
+        synchronized (lock) {
+            Object[] current = list;
+            Object[] kept = new Object[current.length];
+            int count = 0;
+            for (int i = 0; i < current.length; i++) {
+                if (!filter.test(elementAt(current, i))) {
+                    kept[count++] = current[i];
+                }
+            }
+            if (count == current.length) {
+                return false;
+            }
+            list = count == 0 ? EMPTY_ELEMENTDATA : Arrays.copyOf(kept, count);
+            return true;
+        }
+    }
+
+    public void clear() {
+        synchronized (lock) {
+            list = EMPTY_ELEMENTDATA;
+        }
+    }
+
+    public S get(int index) {
+        Object[] current = list;
+        if (index < 0 || index >= current.length) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + current.length);
+        }
+        return elementAt(current, index);
+    }
+
+    public boolean contains(Object obj) {
+        return indexOf(list, obj) >= 0;
+    }
+
+    public int size() {
+        return list.length;
+    }
+
+    public boolean isEmpty() {
+        return list.length == 0;
+    }
+
+    /**
+     * Returns a copy of the current elements, consistent at one instant.
+     */
+    public Object[] toArray() {
+        return list.clone();
+    }
+
+    /**
+     * Returns an iterator over the elements as of this call; later changes are not seen.
+     */
+    @Override
+    public Iterator<S> iterator() {
+        return new SnapshotIterator<>(list);
+    }
+
+    @Override
+    public void forEach(Consumer<? super S> action) {
+        Object[] snapshot = list;
+        for (int i = 0; i < snapshot.length; i++) {
+            action.accept(elementAt(snapshot, i));
+        }
+    }
+
+    @SuppressWarnings("unchecked") // every snapshot array only holds S
+    private static <S> S elementAt(Object[] array, int index) {
+        return (S) array[index];
+    }
+
+    private static int indexOf(Object[] array, Object obj) {
+        for (int i = 0; i < array.length; i++) {
+            if (obj == null ? array[i] == null : obj.equals(array[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static final class SnapshotIterator<S> implements Iterator<S> {
+
+        private final Object[] snapshot;
+
+        private int cursor;
+
+        SnapshotIterator(Object[] snapshot) {
+            this.snapshot = snapshot;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return cursor < snapshot.length;
+        }
+
+        @Override
+        public S next() {
+            if (cursor >= snapshot.length) {
+                throw new NoSuchElementException();
+            }
+            return elementAt(snapshot, cursor++);
+        }
+    }
+}
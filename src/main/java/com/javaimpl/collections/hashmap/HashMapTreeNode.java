@@ -86,9 +86,10 @@ public class HashMapTreeNode<S, T> extends AbstractTreeNode<S, T, HashMapTreeNod
                     newNode = grandparent;
                 } else { // Case 2 & 3: Uncle is Black
                     if (newNode == parent.right) { // Case 2: Inner Child (Triangle) -> Rotate to Line
-                        rotateLeft(parent); //
-                        parent = newNode;
-                        grandparent = parent.parent;
+                        // the old parent is now the outer child; continue from it
+                        rotateLeft(newNode = parent);
+                        parent = newNode.parent;
+                        grandparent = parent == null ? null : parent.parent;
                     }
                     if (parent != null) { // Case 3: Outer Child (Line) -> Rotate + Recolor
                         parent.isRed = false;
@@ -107,9 +108,9 @@ public class HashMapTreeNode<S, T> extends AbstractTreeNode<S, T, HashMapTreeNod
                     newNode = grandparent;
                 } else {
                     if (newNode == parent.left) {
-                        rotateRight(parent);
-                        parent = newNode;
-                        grandparent = parent.parent;
+                        rotateRight(newNode = parent);
+                        parent = newNode.parent;
+                        grandparent = parent == null ? null : parent.parent;
                     }
                     if (parent != null) {
                         parent.isRed = false;
@@ -132,34 +133,56 @@ public class HashMapTreeNode<S, T> extends AbstractTreeNode<S, T, HashMapTreeNod
 
     @Override
     public void put(S key, T value) {
-        int hash = key == null ? 0 : key.hashCode();
-        HashMapTreeNode<S, T> root = getRoot(), current = root;
-        HashMapTreeNode<S, T> parent = null;
-
-        if (current == null) {
-            // Should usually not happen if 'this' is a valid node unless tree is empty but we are in instance.
-            // If tree is empty, usage of this method is suspect without 'this' being the first node.
+        int hash = key.hashCode();
+        HashMapTreeNode<S, T> root = getRoot(), existing = root.find(hash, key);
+        if (existing != null) {
+            existing.value = value;
+        } else {
+            root.insert(new HashMapTreeNode<>(key, value));
         }
+    }
 
-        do {
-            parent = current;
-            if (current.hash == hash && Objects.equals(key, current.key)) {
-                // existing key found, update value
-                current.value = value;
-                return;
-            } else if (current.hash <= hash) {
-                current = current.right;
+    /**
+     * Finds the node holding the key in the subtree rooted here. Nodes are ordered by hash only, and rotations
+     * can leave nodes with an equal hash on either side of each other, so on an equal hash that is not the key
+     * both subtrees are searched.
+     */
+    public HashMapTreeNode<S, T> find(int hash, Object key) {
+        HashMapTreeNode<S, T> node = this;
+        while (node != null) {
+            if (hash < node.hash) {
+                node = node.left;
+            } else if (hash > node.hash) {
+                node = node.right;
+            } else if (key.equals(node.key)) {
+                return node;
             } else {
-                current = current.left;
+                HashMapTreeNode<S, T> found = node.right == null ? null : node.right.find(hash, key);
+                if (found != null) {
+                    return found;
+                }
+                node = node.left;
             }
-        } while (current != null);
+        }
+        return null;
+    }
 
-        HashMapTreeNode<S, T> newNode = new HashMapTreeNode<>(key, value);
+    /**
+     * Links a new node, whose key is not in the tree yet, into the tree rooted here and into the bin's chain
+     * right after its tree parent, so the first node of the chain never changes.
+     */
+    public void insert(HashMapTreeNode<S, T> newNode) {
+        HashMapTreeNode<S, T> parent = this, current = this;
+        while (current != null) {
+            parent = current;
+            current = newNode.hash < current.hash ? current.left : current.right;
+        }
         newNode.parent = parent;
-        if (parent.hash > hash)
+        if (newNode.hash < parent.hash) {
             parent.left = newNode;
-        else
+        } else {
             parent.right = newNode;
+        }
 
         // Maintain Linked List (insert after parent)
         newNode.next = parent.next;
@@ -170,6 +193,168 @@ public class HashMapTreeNode<S, T> extends AbstractTreeNode<S, T, HashMapTreeNod
         balanceTree(newNode);
     }
 
+    /**
+     * Unlinks this node from its tree (not from the bin's prev / next chain), swapping it with its in-order
+     * successor first when it has two children, then restores the red-black rules.
+     */
+    public void removeFromTree() {
+        HashMapTreeNode<S, T> root = getRoot(), replacement;
+        HashMapTreeNode<S, T> left = this.left, right = this.right;
+        if (left != null && right != null) {
+            HashMapTreeNode<S, T> successor = right;
+            while (successor.left != null) {
+                successor = successor.left;
+            }
+            // swap colors, then positions, of this node and its successor
+            boolean color = successor.isRed;
+            successor.isRed = this.isRed;
+            this.isRed = color;
+            HashMapTreeNode<S, T> successorRight = successor.right, parent = this.parent;
+            if (successor == right) {
+                this.parent = successor;
+                successor.right = this;
+            } else {
+                HashMapTreeNode<S, T> successorParent = successor.parent;
+                if ((this.parent = successorParent) != null) {
+                    if (successor == successorParent.left)
+                        successorParent.left = this;
+                    else
+                        successorParent.right = this;
+                }
+                if ((successor.right = right) != null)
+                    right.parent = successor;
+            }
+            this.left = null;
+            if ((this.right = successorRight) != null)
+                successorRight.parent = this;
+            if ((successor.left = left) != null)
+                left.parent = successor;
+            if ((successor.parent = parent) == null)
+                root = successor;
+            else if (this == parent.left)
+                parent.left = successor;
+            else
+                parent.right = successor;
+            replacement = successorRight != null ? successorRight : this;
+        } else if (left != null) {
+            replacement = left;
+        } else if (right != null) {
+            replacement = right;
+        } else {
+            replacement = this;
+        }
+        if (replacement != this) {
+            HashMapTreeNode<S, T> parent = replacement.parent = this.parent;
+            if (parent == null)
+                (root = replacement).isRed = false;
+            else if (this == parent.left)
+                parent.left = replacement;
+            else
+                parent.right = replacement;
+            this.left = this.right = this.parent = null;
+        }
+        if (!this.isRed) {
+            balanceDeletion(root, replacement);
+        }
+        if (replacement == this) {
+            // a leaf: detach it only now, balancing may have rotated around it
+            HashMapTreeNode<S, T> parent = this.parent;
+            this.parent = null;
+            if (parent != null) {
+                if (this == parent.left)
+                    parent.left = null;
+                else if (this == parent.right)
+                    parent.right = null;
+            }
+        }
+    }
+
+    /**
+     * Fixes a "double black" at node after a black node was removed above it.
+     */
+    private void balanceDeletion(HashMapTreeNode<S, T> root, HashMapTreeNode<S, T> node) {
+        for (HashMapTreeNode<S, T> parent, sibling; ; ) {
+            if (node == null || node == root) {
+                return;
+            } else if ((parent = node.parent) == null) {
+                node.isRed = false;
+                return;
+            } else if (node.isRed) {
+                node.isRed = false;
+                return;
+            } else if (parent.left == node) {
+                if ((sibling = parent.right) != null && sibling.isRed) { // Case 1: Sibling is Red
+                    sibling.isRed = false;
+                    parent.isRed = true;
+                    root = rootAfter(root, rotateLeft(parent));
+                    sibling = (parent = node.parent) == null ? null : parent.right;
+                }
+                if (sibling == null) {
+                    node = parent;
+                } else if (!isRed(sibling.left) && !isRed(sibling.right)) { // Case 2: both nephews Black
+                    sibling.isRed = true;
+                    node = parent;
+                } else {
+                    if (!isRed(sibling.right)) { // Case 3: near nephew Red -> rotate it outward
+                        if (sibling.left != null) sibling.left.isRed = false;
+                        sibling.isRed = true;
+                        root = rootAfter(root, rotateRight(sibling));
+                        sibling = (parent = node.parent) == null ? null : parent.right;
+                    }
+                    if (sibling != null) { // Case 4: far nephew Red -> rotate + recolor
+                        sibling.isRed = parent != null && parent.isRed;
+                        if (sibling.right != null) sibling.right.isRed = false;
+                    }
+                    if (parent != null) {
+                        parent.isRed = false;
+                        root = rootAfter(root, rotateLeft(parent));
+                    }
+                    node = root;
+                }
+            } else { // Symmetric to above
+                if ((sibling = parent.left) != null && sibling.isRed) {
+                    sibling.isRed = false;
+                    parent.isRed = true;
+                    root = rootAfter(root, rotateRight(parent));
+                    sibling = (parent = node.parent) == null ? null : parent.left;
+                }
+                if (sibling == null) {
+                    node = parent;
+                } else if (!isRed(sibling.left) && !isRed(sibling.right)) {
+                    sibling.isRed = true;
+                    node = parent;
+                } else {
+                    if (!isRed(sibling.left)) {
+                        if (sibling.right != null) sibling.right.isRed = false;
+                        sibling.isRed = true;
+                        root = rootAfter(root, rotateLeft(sibling));
+                        sibling = (parent = node.parent) == null ? null : parent.left;
+                    }
+                    if (sibling != null) {
+                        sibling.isRed = parent != null && parent.isRed;
+                        if (sibling.left != null) sibling.left.isRed = false;
+                    }
+                    if (parent != null) {
+                        parent.isRed = false;
+                        root = rootAfter(root, rotateRight(parent));
+                    }
+                    node = root;
+                }
+            }
+        }
+    }
+
+    private static boolean isRed(HashMapTreeNode<?, ?> node) {
+        return node != null && node.isRed;
+    }
+
+    /**
+     * The node a rotation moved up is the new root if it has no parent.
+     */
+    private static <S, T> HashMapTreeNode<S, T> rootAfter(HashMapTreeNode<S, T> root, HashMapTreeNode<S, T> raised) {
+        return raised.parent == null ? raised : root;
+    }
+
     public HashMapTreeNode<S, T> treeify() {
         HashMapTreeNode<S, T> currNode = this.next;
         this.isRed = false; // root node should be black
@@ -1,9 +1,18 @@
 package com.javaimpl.collections.hashmap;
 
+import com.javaimpl.collections.bloomfilter.MyCountingBloomFilter;
 import com.javaimpl.common.object.AbstractNode;
 import com.javaimpl.common.object.ListNode;
 import com.javaimpl.common.object.AbstractTreeNode;
 
+import java.util.AbstractMap;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
 /**
  *
  * @param <S> class of key
@@ -33,6 +42,8 @@ public class MyHashMap<S, T> {
 
     private AbstractNode<S, T>[] list;
 
+    private MyCountingBloomFilter<S> bloomFilter;
+
     public MyHashMap() {
         this.capacity = DEFAULT_LENGTH;
         loadFactor = DEFAULT_LOAD_FACTOR;
@@ -47,16 +58,25 @@ public class MyHashMap<S, T> {
         if (list == null) {
             resize();
         }
-        int bin = getBin(key);
-        // increase array capacity before put new key
+        if (bloomFilter != null && getNode(key) == null) {
+            bloomFilter.put(key);
+        }
+        // increase array capacity before put new key, the bin depends on the new capacity
         if (size >= threshold) {
             resize();
         }
+        int bin = getBin(key);
         AbstractNode<S, T> head = list[bin];
         if (head != null) {
             int binCount = 0;  // to calculate number of items in this bin
-            if (head instanceof HashMapTreeNode<S, T>) {
-                ((HashMapTreeNode<S, T>) head).put(key, value);
+            if (head instanceof HashMapTreeNode<S, T> treeNode) {
+                HashMapTreeNode<S, T> root = treeNode.getRoot(), existing = root.find(key.hashCode(), key);
+                if (existing != null) {
+                    existing.value = value;
+                    afterNodeAccess(existing);
+                    return existing.value;
+                }
+                root.insert(newTreeNode(key, value));
             } else if (head instanceof ListNode) {
                 AbstractNode<S, T> prevEntry = null;
                 AbstractNode<S, T> currEntry = head;
@@ -87,58 +107,101 @@ public class MyHashMap<S, T> {
     }
 
     public T remove(S key) {
+        if (list == null || bloomFilter != null && !bloomFilter.mightContain(key)) {
+            return null;
+        }
         int bin = getBin(key);
         AbstractNode<S, T> head = list[bin];
         if (head == null) {
             return null;
         }
+        if (head instanceof HashMapTreeNode<S, T> treeNode) {
+            HashMapTreeNode<S, T> node = treeNode.getRoot().find(key.hashCode(), key);
+            if (node == null) {
+                return null;
+            }
+            removeTreeNode(bin, node);
+            size--;
+            if (bloomFilter != null) {
+                bloomFilter.remove(key);
+            }
+            afterNodeRemoval(node);
+            return node.value;
+        }
         AbstractNode<S, T> prevEntry = null;
         AbstractNode<S, T> currEntry = head;
         while (currEntry != null) {
-            if (currEntry instanceof ListNode) {
-                if (currEntry.key.equals(key)) {
-                    if (prevEntry == null) {
-                        // update bin's head to second node
-                        list[bin] = currEntry.next;
-                    } else {
-                        // link prev node to next node
-                        prevEntry.next = currEntry.next;
-                    }
-                    size--;
-                    afterNodeRemoval(currEntry);
-                    return currEntry.value;
+            if (currEntry.key.equals(key)) {
+                if (prevEntry == null) {
+                    // update bin's head to second node
+                    list[bin] = currEntry.next;
                 } else {
-                    prevEntry = currEntry;
-                    currEntry = currEntry.next;
+                    // link prev node to next node
+                    prevEntry.next = currEntry.next;
                 }
+                size--;
+                if (bloomFilter != null) {
+                    bloomFilter.remove(key);
+                }
+                afterNodeRemoval(currEntry);
+                return currEntry.value;
             } else {
-                // remove from tree
+                prevEntry = currEntry;
+                currEntry = currEntry.next;
             }
         }
         return null;
     }
 
+    /**
+     * Unlinks a node from its tree bin's chain and tree. A tree that has become small is turned back into a
+     * plain list, as {@code java.util.HashMap} does, instead of being rebalanced.
+     */
+    private void removeTreeNode(int bin, HashMapTreeNode<S, T> node) {
+        HashMapTreeNode<S, T> prev = node.prev, next = node.next;
+        if (prev == null) {
+            // the bin always points at the first node of the chain
+            list[bin] = next;
+        } else {
+            prev.next = next;
+        }
+        if (next != null) {
+            next.prev = prev;
+        }
+        if (list[bin] == null) {
+            return;
+        }
+        HashMapTreeNode<S, T> root = node.getRoot();
+        if (root.left == null || root.right == null || root.left.left == null) {
+            list[bin] = untreeify((HashMapTreeNode<S, T>) list[bin]);
+        } else {
+            node.removeFromTree();
+        }
+    }
+
     public T get(S key) {
         AbstractNode<S, T> node = getNode(key);
         return node != null ? node.value : null;
     }
 
     protected AbstractNode<S, T> getNode(S key) {
+        if (list == null) {
+            // nothing put yet, or cleared
+            return null;
+        }
+        if (bloomFilter != null && !bloomFilter.mightContain(key)) {
+            // definitely absent, skip hashing into the table and walking the bin
+            return null;
+        }
         int bin = getBin(key);
         AbstractNode<S, T> currEntry = list[bin]; // get the head of bin
         while (currEntry != null) {
             if (currEntry instanceof AbstractTreeNode) {
-                HashMapTreeNode<S, T> currTreeNode = (HashMapTreeNode<S, T>) currEntry;
-                while (currTreeNode != null) {
-                    if (currTreeNode.key.equals(key)) {
-                        return currTreeNode;
-                    }
-                    if (hash(key) <= currTreeNode.hash) {
-                        currTreeNode = currTreeNode.left;
-                    } else {
-                        currTreeNode = currTreeNode.right;
-                    }
-                }
+                // the bin holds the first node of the chain, which rotations may have moved below the root;
+                // tree nodes are ordered by the raw hashCode
+                HashMapTreeNode<S, T> currTreeNode = ((HashMapTreeNode<S, T>) currEntry).getRoot();
+                int h = key.hashCode();
+                return currTreeNode.find(h, key);
             } else if (currEntry instanceof ListNode) {
                 if (currEntry.key.equals(key)) {
                     return currEntry;
@@ -157,6 +220,30 @@ public class MyHashMap<S, T> {
         list = null;
         capacity = DEFAULT_LENGTH;
         size = 0;
+        if (bloomFilter != null) {
+            bloomFilter.clear();
+        }
+    }
+
+    /**
+     * Puts a counting bloom filter in front of the table so that lookups of absent keys return without touching
+     * it. Worth it when most lookups miss; every put and remove pays an extra filter update. The false positive
+     * rate rises once the map grows past {@code expectedSize}.
+     */
+    public void enableBloomFilter(int expectedSize, double falsePositiveRate) {
+        MyCountingBloomFilter<S> filter = new MyCountingBloomFilter<>(expectedSize, falsePositiveRate);
+        if (list != null) {
+            for (AbstractNode<S, T> head : list) {
+                for (AbstractNode<S, T> node = firstInBin(head); node != null; node = nextInBin(node)) {
+                    filter.put(node.key);
+                }
+            }
+        }
+        bloomFilter = filter;
+    }
+
+    public void disableBloomFilter() {
+        bloomFilter = null;
     }
 
     /**
@@ -186,13 +273,140 @@ public class MyHashMap<S, T> {
             threshold = capacity < MAXIMUM_CAPACITY && threshold < MAXIMUM_CAPACITY ? threshold : Integer.MAX_VALUE;
             for (int i = 0; i < prevCapacity; i++) {
                 AbstractNode<S, T> currNode = prevList[i];
-                if (currNode instanceof AbstractTreeNode) {
-                    // TODO
+                if (currNode instanceof HashMapTreeNode<S, T> treeNode) {
+                    splitTreeBin(treeNode, capacity, i);
                 } else if (currNode instanceof ListNode<S, T>) {
                     splitAndRemap((ListNode<S, T>) currNode, capacity, i);
                 }
             }
-            System.out.println(String.format("Resized from %s to %s", prevCapacity, capacity));
+        }
+    }
+
+    /**
+     * Returns a spliterator over the keys that splits by ranges of bins, so each half of a parallel stream
+     * walks its own part of the table. Only the unsplit spliterator reports {@code SIZED}: how many keys a
+     * range of bins holds is not known without walking it.
+     */
+    public Spliterator<S> keySpliterator() {
+        return spliterator(node -> node.key, Spliterator.DISTINCT);
+    }
+
+    public Stream<S> keyStream() {
+        return StreamSupport.stream(keySpliterator(), false);
+    }
+
+    public Stream<T> valueStream() {
+        return StreamSupport.stream(spliterator(node -> node.value, 0), false);
+    }
+
+    public Stream<Map.Entry<S, T>> entryStream() {
+        return StreamSupport.stream(spliterator(
+                node -> new AbstractMap.SimpleImmutableEntry<>(node.key, node.value), Spliterator.DISTINCT), false);
+    }
+
+    /**
+     * Creates the spliterator behind the key, value and entry streams; subclasses with their own iteration
+     * order override this.
+     */
+    protected <R> Spliterator<R> spliterator(Function<AbstractNode<S, T>, R> mapper, int characteristics) {
+        return new BinSpliterator<>(this, 0, list == null ? 0 : list.length, size, true, mapper, characteristics);
+    }
+
+    /**
+     * Returns the first node of a bin's chain. Tree bins keep their own prev / next links (which shadow
+     * {@link AbstractNode#next}), and the bin slot may point into the middle of that chain.
+     */
+    private static <S, T> AbstractNode<S, T> firstInBin(AbstractNode<S, T> head) {
+        if (head instanceof HashMapTreeNode<S, T> treeNode) {
+            while (treeNode.prev != null) {
+                treeNode = treeNode.prev;
+            }
+            return treeNode;
+        }
+        return head;
+    }
+
+    private static <S, T> AbstractNode<S, T> nextInBin(AbstractNode<S, T> node) {
+        return node instanceof HashMapTreeNode<S, T> treeNode ? treeNode.next : node.next;
+    }
+
+    private static final class BinSpliterator<S, T, R> implements Spliterator<R> {
+
+        private final MyHashMap<S, T> map;
+
+        private final Function<AbstractNode<S, T>, R> mapper;
+
+        private final int characteristics;
+
+        private int index; // next bin to visit
+
+        private final int fence; // one past the last bin
+
+        private int estimate;
+
+        private boolean exact; // true while the estimate is the real remaining count
+
+        private AbstractNode<S, T> current;
+
+        BinSpliterator(MyHashMap<S, T> map, int origin, int fence, int estimate, boolean exact,
+                       Function<AbstractNode<S, T>, R> mapper, int characteristics) {
+            this.map = map;
+            this.index = origin;
+            this.fence = fence;
+            this.estimate = estimate;
+            this.exact = exact;
+            this.mapper = mapper;
+            this.characteristics = characteristics;
+        }
+
+        @Override
+        public Spliterator<R> trySplit() {
+            int lo = index, mid = (lo + fence) >>> 1;
+            if (lo >= mid || current != null) {
+                return null;
+            }
+            exact = false;
+            return new BinSpliterator<>(map, lo, index = mid, estimate >>>= 1, false, mapper, characteristics);
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super R> action) {
+            AbstractNode<S, T>[] table = map.list;
+            while (current != null || index < fence) {
+                if (current == null) {
+                    current = firstInBin(table[index++]);
+                } else {
+                    AbstractNode<S, T> node = current;
+                    current = nextInBin(node);
+                    action.accept(mapper.apply(node));
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super R> action) {
+            AbstractNode<S, T>[] table = map.list;
+            for (AbstractNode<S, T> node = current; node != null; node = nextInBin(node)) {
+                action.accept(mapper.apply(node));
+            }
+            current = null;
+            for (; index < fence; index++) {
+                for (AbstractNode<S, T> node = firstInBin(table[index]); node != null; node = nextInBin(node)) {
+                    action.accept(mapper.apply(node));
+                }
+            }
+        }
+
+        @Override
+        public long estimateSize() {
+            return estimate;
+        }
+
+        @Override
+        public int characteristics() {
+            return (exact ? Spliterator.SIZED : 0) | characteristics;
         }
     }
 
@@ -229,6 +443,69 @@ public class MyHashMap<S, T> {
         }
     }
 
+    /**
+     * Splits a tree bin's chain by the new capacity bit, like {@link #splitAndRemap}. Each half becomes a list
+     * again when it holds at most {@code UNTREEIFY_THRESHOLD} nodes, and is re-treeified otherwise.
+     */
+    private void splitTreeBin(HashMapTreeNode<S, T> first, int newCapacity, int binIndex) {
+        HashMapTreeNode<S, T> lowHead = null, lowTail = null, highHead = null, highTail = null;
+        int lowCount = 0, highCount = 0;
+        for (HashMapTreeNode<S, T> node = first, next; node != null; node = next) {
+            next = node.next;
+            node.next = null;
+            if ((hash(node.key) & (newCapacity >> 1)) == 0) {
+                if ((node.prev = lowTail) == null) {
+                    lowHead = node;
+                } else {
+                    lowTail.next = node;
+                }
+                lowTail = node;
+                lowCount++;
+            } else {
+                if ((node.prev = highTail) == null) {
+                    highHead = node;
+                } else {
+                    highTail.next = node;
+                }
+                highTail = node;
+                highCount++;
+            }
+        }
+        list[binIndex] = rebuildTreeBin(lowHead, lowCount);
+        list[binIndex + (newCapacity >> 1)] = rebuildTreeBin(highHead, highCount);
+    }
+
+    private AbstractNode<S, T> rebuildTreeBin(HashMapTreeNode<S, T> first, int count) {
+        if (first == null) {
+            return null;
+        }
+        if (count <= UNTREEIFY_THRESHOLD) {
+            return untreeify(first);
+        }
+        for (HashMapTreeNode<S, T> node = first; node != null; node = node.next) {
+            node.parent = node.left = node.right = null;
+        }
+        first.treeify();
+        return first;
+    }
+
+    /**
+     * Replaces a tree bin's chain with a list of plain nodes.
+     */
+    private AbstractNode<S, T> untreeify(HashMapTreeNode<S, T> first) {
+        AbstractNode<S, T> head = null, tail = null;
+        for (HashMapTreeNode<S, T> node = first; node != null; node = node.next) {
+            AbstractNode<S, T> replacement = replacementNode(node);
+            if (tail == null) {
+                head = replacement;
+            } else {
+                tail.next = replacement;
+            }
+            tail = replacement;
+        }
+        return head;
+    }
+
     private void treeifyBin(int bin) {
         if (capacity < MINIMUM_TREEIFY_CAPACITY) {
             resize();
@@ -246,7 +523,7 @@ public class MyHashMap<S, T> {
         AbstractNode<S, T> currNode = head;
         HashMapTreeNode<S, T> tailTreeNode = null;
         do {
-            HashMapTreeNode<S, T> newTreeNode = new HashMapTreeNode<>(currNode.key, currNode.value);
+            HashMapTreeNode<S, T> newTreeNode = replacementTreeNode(currNode);
             if (root == null) {
                 root = newTreeNode;
                 tailTreeNode = newTreeNode;
@@ -269,6 +546,27 @@ public class MyHashMap<S, T> {
         return new ListNode<>(key, value);
     }
 
+    /**
+     * Creates the node for a new key added to a tree bin.
+     */
+    protected HashMapTreeNode<S, T> newTreeNode(S key, T value) {
+        return new HashMapTreeNode<>(key, value);
+    }
+
+    /**
+     * Copies a list node into a tree node when its bin is treeified; subclasses that link nodes move the links.
+     */
+    protected HashMapTreeNode<S, T> replacementTreeNode(AbstractNode<S, T> node) {
+        return new HashMapTreeNode<>(node.key, node.value);
+    }
+
+    /**
+     * Copies a tree node into a list node when its bin is turned back into a list.
+     */
+    protected AbstractNode<S, T> replacementNode(AbstractNode<S, T> node) {
+        return new ListNode<>(node.key, node.value);
+    }
+
     protected void afterNodeInsertion(AbstractNode<S, T> node) {
     }
 
@@ -1,53 +1,581 @@
 package com.javaimpl.collections.hashset;
 
-import com.javaimpl.collections.hashmap.MyHashMap;
+import com.javaimpl.collections.bloomfilter.MyCountingBloomFilter;
+
+import java.util.Arrays;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * A custom implementation of HashSet.
- * This class implements the Set interface, backed by a hash table (actually a MyHashMap instance).
+ * <p>
+ * Instead of wrapping a map with a dummy value per key, the set keeps its own open-addressed table: a {@code keys}
+ * array holding the elements themselves and a parallel {@code hashes} array caching each element's hash. There
+ * is no node object per element, and a lookup compares cached hashes and calls {@code equals} only when they
+ * match.
+ * <p>
+ * Collisions are resolved by linear probing, so a lookup reads neighbouring slots of the same two arrays. Removal
+ * shifts later entries of the probe run back instead of leaving tombstones, so the table never fills up with
+ * deleted slots. The null element is stored as a private sentinel, because a null slot marks an empty one.
+ * <p>
+ * The bulk operations ({@link #addAll}, {@link #retainAll}, {@link #removeAll}, {@link #containsAll},
+ * {@link #union}, {@link #intersect}) look elements up by the hashes cached in the other set's table, so no
+ * {@code hashCode} is recomputed, and they presize their target before inserting. Membership checks for large
+ * sets are split by slot ranges across the common fork/join pool; neither set may be modified while an operation
+ * runs.
  *
  * @param <E> the type of elements maintained by this set
  */
 public class MyHashSet<E> {
 
-    private transient MyHashMap<E, Object> map;
+    private static final int DEFAULT_LENGTH = 1 << 4; // 16
+
+    private static final float DEFAULT_LOAD_FACTOR = 0.75f;
+
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    // below this many elements a set is scanned sequentially, the same cut-off as MyArrayList's parallel methods
+    private static final int PARALLEL_THRESHOLD = 1 << 13;
+
+    // stands in for the null element; a null slot is an empty slot
+    private static final Object NULL_KEY = new Object();
+
+    private final float loadFactor;
+
+    private Object[] keys;
+
+    private int[] hashes;
 
-    // Dummy value to associate with an Object in the backing Map
-    private static final Object PRESENT = new Object();
+    private int mask;
+
+    // 32 - log2(capacity): the slot is the top bits of the multiplied hash
+    private int shift;
+
+    private int threshold;
+
+    private int size;
+
+    private MyCountingBloomFilter<E> bloomFilter;
 
     /**
-     * Constructs a new, empty set; the backing HashMap instance has
-     * default initial capacity (16) and load factor (0.75).
+     * Constructs a new, empty set with default initial capacity (16) and load factor (0.75).
      */
     public MyHashSet() {
-        map = new MyHashMap<>();
+        this(DEFAULT_LENGTH, DEFAULT_LOAD_FACTOR);
     }
 
     public MyHashSet(int initialCapacity, float loadFactor) {
-        map = new MyHashMap<>(initialCapacity, loadFactor);
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Illegal initial capacity: " + initialCapacity);
+        }
+        if (!(loadFactor > 0 && loadFactor < 1)) {
+            // open addressing needs at least one empty slot to end every probe
+            throw new IllegalArgumentException("Illegal load factor: " + loadFactor);
+        }
+        this.loadFactor = loadFactor;
+        int capacity = DEFAULT_LENGTH;
+        while (capacity < MAXIMUM_CAPACITY && capacity * loadFactor < initialCapacity) {
+            capacity <<= 1;
+        }
+        allocate(capacity);
     }
 
     public int size() {
-        return map.size();
+        return size;
     }
 
     public boolean contains(E obj) {
-        return map.get(obj) != null;
+        if (bloomFilter != null && !bloomFilter.mightContain(obj)) {
+            return false;
+        }
+        return indexOf(obj) >= 0;
     }
 
     public boolean add(E obj) {
-        return map.put(obj, PRESENT) == null;
+        Object key = obj == null ? NULL_KEY : obj;
+        int hash = hash(key);
+        int i = slot(hash);
+        for (Object k; (k = keys[i]) != null; i = (i + 1) & mask) {
+            if (hashes[i] == hash && (k == key || key.equals(k))) {
+                return false;
+            }
+        }
+        if (size == MAXIMUM_CAPACITY - 1) {
+            // a full table leaves probes for absent elements no empty slot to stop at
+            throw new IllegalStateException("Set is full");
+        }
+        keys[i] = key;
+        hashes[i] = hash;
+        if (bloomFilter != null) {
+            bloomFilter.put(obj);
+        }
+        if (++size > threshold) {
+            resize();
+        }
+        return true;
     }
 
     public boolean remove(E obj) {
-        return map.remove(obj) == PRESENT;
+        if (bloomFilter != null && !bloomFilter.mightContain(obj)) {
+            return false;
+        }
+        int i = indexOf(obj);
+        if (i < 0) {
+            return false;
+        }
+        deleteSlot(i);
+        size--;
+        if (bloomFilter != null) {
+            bloomFilter.remove(obj);
+        }
+        return true;
     }
 
     public void clear() {
-        map.clear();
+        Arrays.fill(keys, null);
+        size = 0;
+        if (bloomFilter != null) {
+            bloomFilter.clear();
+        }
     }
 
     public boolean isEmpty() {
-        return map.size() == 0;
+        return size == 0;
+    }
+
+    /**
+     * Adds every element of the other set, growing the table once for all of them. Elements already present are
+     * found first, in parallel for large sets, so only new ones are inserted.
+     *
+     * @return true if this set changed
+     */
+    public boolean addAll(MyHashSet<? extends E> other) {
+        if (other == this || other.size == 0) {
+            return false;
+        }
+        long[] present = new long[words(other)];
+        int common = mark(other, this, present);
+        if (common == other.size) {
+            return false;
+        }
+        ensureCapacity(size + other.size - common);
+        insertSlots(other.keys, other.hashes, present, false);
+        return true;
+    }
+
+    /**
+     * Keeps only the elements that the other set contains. Scans whichever set is smaller; the table keeps its
+     * capacity.
+     *
+     * @return true if this set changed
+     */
+    public boolean retainAll(MyHashSet<?> other) {
+        if (other == this) {
+            return false;
+        }
+        if (other.size < size) {
+            long[] shared = new long[words(other)];
+            int common = mark(other, this, shared);
+            // collect this set's own instances of the shared elements before the table is replaced
+            Object[] retained = new Object[common];
+            int[] retainedHashes = new int[common];
+            int n = 0;
+            for (int j = 0; j < other.keys.length; j++) {
+                if (isMarked(shared, j)) {
+                    int i = indexOf(other.keys[j], other.hashes[j]);
+                    retained[n] = keys[i];
+                    retainedHashes[n++] = hashes[i];
+                }
+            }
+            replaceTable(retained, retainedHashes, null, false);
+        } else {
+            long[] shared = new long[words(this)];
+            if (mark(this, other, shared) == size) {
+                return false;
+            }
+            replaceTable(keys, hashes, shared, true);
+        }
+        return true;
+    }
+
+    /**
+     * Removes every element that the other set contains. A smaller other set is walked and its elements removed
+     * one by one; otherwise this set's slots are checked against it, in parallel for large sets, and the
+     * survivors re-inserted.
+     *
+     * @return true if this set changed
+     */
+    public boolean removeAll(MyHashSet<?> other) {
+        if (other == this) {
+            boolean changed = size > 0;
+            clear();
+            return changed;
+        }
+        if (other.size < size) {
+            boolean changed = false;
+            for (int j = 0; j < other.keys.length; j++) {
+                Object key = other.keys[j];
+                int i = key == null ? -1 : indexOf(key, other.hashes[j]);
+                if (i >= 0) {
+                    deleteSlot(i);
+                    size--;
+                    if (bloomFilter != null) {
+                        bloomFilter.remove(element(key));
+                    }
+                    changed = true;
+                }
+            }
+            return changed;
+        }
+        long[] shared = new long[words(this)];
+        if (mark(this, other, shared) == 0) {
+            return false;
+        }
+        replaceTable(keys, hashes, shared, false);
+        return true;
+    }
+
+    public boolean containsAll(MyHashSet<?> other) {
+        if (other.size > size) {
+            return false; // a larger set cannot fit
+        }
+        return other == this || mark(other, this, new long[words(other)]) == other.size;
+    }
+
+    /**
+     * Returns a new set of the elements in either set: the larger set's entries are copied by their cached
+     * hashes, then the smaller set's elements that the larger one lacks.
+     */
+    public static <E> MyHashSet<E> union(MyHashSet<? extends E> a, MyHashSet<? extends E> b) {
+        MyHashSet<? extends E> large = a.size >= b.size ? a : b, small = large == a ? b : a;
+        long[] shared = new long[words(small)];
+        int common = mark(small, large, shared);
+        MyHashSet<E> result = new MyHashSet<>(large.size + small.size - common, large.loadFactor);
+        result.insertSlots(large.keys, large.hashes, null, false);
+        result.insertSlots(small.keys, small.hashes, shared, false);
+        return result;
+    }
+
+    /**
+     * Returns a new set of the elements in both sets, found by looking up each element of the smaller set in the
+     * larger one. The result holds the smaller set's instances.
+     */
+    public static <E> MyHashSet<E> intersect(MyHashSet<? extends E> a, MyHashSet<? extends E> b) {
+        MyHashSet<? extends E> small = a.size <= b.size ? a : b, large = small == a ? b : a;
+        long[] shared = new long[words(small)];
+        int common = mark(small, large, shared);
+        MyHashSet<E> result = new MyHashSet<>(common, small.loadFactor);
+        result.insertSlots(small.keys, small.hashes, shared, true);
+        return result;
+    }
+
+    /**
+     * Returns a spliterator that splits by ranges of slots, so each half of a parallel stream scans its own part
+     * of the table. Only the unsplit spliterator reports {@code SIZED}.
+     */
+    public Spliterator<E> spliterator() {
+        return new SlotSpliterator<>(this, 0, keys.length, size, true);
+    }
+
+    public Stream<E> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    public Stream<E> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+
+    /**
+     * Puts a counting bloom filter in front of the table so that lookups of absent elements return without
+     * probing it. Worth it when most lookups miss; every add and remove pays an extra filter update.
+     */
+    public void enableBloomFilter(int expectedSize, double falsePositiveRate) {
+        MyCountingBloomFilter<E> filter = new MyCountingBloomFilter<>(expectedSize, falsePositiveRate);
+        for (Object key : keys) {
+            if (key != null) {
+                filter.put(element(key));
+            }
+        }
+        bloomFilter = filter;
+    }
+
+    public void disableBloomFilter() {
+        bloomFilter = null;
+    }
+
+    private static int hash(Object key) {
+        return key.hashCode();
+    }
+
+    /**
+     * Fibonacci hashing: multiplies by 2^32 / golden ratio and keeps the top bits, which depend on every bit of
+     * the hash. Keys with consecutive hashCodes land far apart instead of filling one probe run.
+     */
+    private int slot(int hash) {
+        return (hash * 0x9E3779B9) >>> shift;
+    }
+
+    /**
+     * Returns the slot holding the element, or -1.
+     */
+    private int indexOf(E obj) {
+        Object key = obj == null ? NULL_KEY : obj;
+        return indexOf(key, hash(key));
+    }
+
+    private int indexOf(Object key, int hash) {
+        for (int i = slot(hash); ; i = (i + 1) & mask) {
+            Object k = keys[i];
+            if (k == null) {
+                return -1;
+            }
+            if (hashes[i] == hash && (k == key || key.equals(k))) {
+                return i;
+            }
+        }
+    }
+
+    /**
+     * Empties a slot, moving back any later entry of the same probe run that would otherwise become unreachable.
+     */
+    private void deleteSlot(int hole) {
+        for (int i = (hole + 1) & mask; keys[i] != null; i = (i + 1) & mask) {
+            // the entry at i may fill the hole if the hole lies between its home slot and i
+            if (((i - slot(hashes[i])) & mask) >= ((i - hole) & mask)) {
+                keys[hole] = keys[i];
+                hashes[hole] = hashes[i];
+                hole = i;
+            }
+        }
+        keys[hole] = null;
+    }
+
+    private void allocate(int capacity) {
+        keys = new Object[capacity];
+        hashes = new int[capacity];
+        mask = capacity - 1;
+        shift = Integer.numberOfLeadingZeros(mask);
+        threshold = (int) (capacity * loadFactor);
+    }
+
+    /**
+     * Doubles the table, re-inserting entries by their cached hashes; no hashCode or equals call is needed.
+     */
+    private void resize() {
+        if (keys.length == MAXIMUM_CAPACITY) {
+            threshold = Integer.MAX_VALUE; // cannot grow further; add stops one slot short of full
+            return;
+        }
+        rehash(keys.length << 1);
+    }
+
+    /**
+     * Grows the table, at most once, so that {@code expectedSize} elements fit without a resize.
+     */
+    private void ensureCapacity(int expectedSize) {
+        int capacity = keys.length;
+        while (capacity < MAXIMUM_CAPACITY && capacity * loadFactor < expectedSize) {
+            capacity <<= 1;
+        }
+        if (capacity > keys.length) {
+            rehash(capacity);
+        }
+    }
+
+    private void rehash(int capacity) {
+        Object[] oldKeys = keys;
+        int[] oldHashes = hashes;
+        allocate(capacity);
+        for (int j = 0; j < oldKeys.length; j++) {
+            Object key = oldKeys[j];
+            if (key != null) {
+                insertNew(key, oldHashes[j]);
+            }
+        }
+    }
+
+    /**
+     * Stores a key known to be absent in the first empty slot of its probe run, without comparing keys or
+     * checking the threshold.
+     */
+    private void insertNew(Object key, int hash) {
+        int i = slot(hash);
+        while (keys[i] != null) {
+            i = (i + 1) & mask;
+        }
+        keys[i] = key;
+        hashes[i] = hash;
+    }
+
+    /**
+     * Inserts the occupied slots of another table that are absent from this set, all of them when
+     * {@code marks} is null, otherwise those whose mark equals {@code marked}. The caller has made room.
+     */
+    private void insertSlots(Object[] sourceKeys, int[] sourceHashes, long[] marks, boolean marked) {
+        for (int j = 0; j < sourceKeys.length; j++) {
+            Object key = sourceKeys[j];
+            if (key != null && (marks == null || isMarked(marks, j) == marked)) {
+                insertNew(key, sourceHashes[j]);
+                size++;
+                if (bloomFilter != null) {
+                    bloomFilter.put(element(key));
+                }
+            }
+        }
+    }
+
+    /**
+     * Empties the table, keeping its capacity, and refills it as {@link #insertSlots} does; the source arrays may
+     * be the old table itself.
+     */
+    private void replaceTable(Object[] sourceKeys, int[] sourceHashes, long[] marks, boolean marked) {
+        allocate(keys.length);
+        size = 0;
+        if (bloomFilter != null) {
+            bloomFilter.clear();
+        }
+        insertSlots(sourceKeys, sourceHashes, marks, marked);
+    }
+
+    /**
+     * Sets bit {@code j} of {@code marks} for every occupied slot {@code j} of {@code source} whose element
+     * {@code target} contains, and returns how many were set.
+     */
+    private static int mark(MyHashSet<?> source, MyHashSet<?> target, long[] marks) {
+        if (source.size <= PARALLEL_THRESHOLD || ForkJoinPool.getCommonPoolParallelism() == 1) {
+            return MarkTask.mark(source, target, marks, 0, source.keys.length);
+        }
+        return ForkJoinPool.commonPool().invoke(new MarkTask(source, target, marks, 0, source.keys.length));
+    }
+
+    private static int words(MyHashSet<?> set) {
+        return (set.keys.length + 63) >>> 6;
+    }
+
+    private static boolean isMarked(long[] marks, int slot) {
+        return (marks[slot >>> 6] & (1L << slot)) != 0;
+    }
+
+    @SuppressWarnings("unchecked") // every stored key but NULL_KEY is an E
+    private static <E> E element(Object key) {
+        return key == NULL_KEY ? null : (E) key;
+    }
+
+    /**
+     * Looks up a range of one table's slots in another set. Ranges split in half down to
+     * {@code PARALLEL_THRESHOLD} slots; table lengths are powers of two, so every range starts on a multiple of 64
+     * and tasks never write the same word of {@code marks}.
+     */
+    @SuppressWarnings("serial") // never serialized
+    private static final class MarkTask extends RecursiveTask<Integer> {
+
+        private final MyHashSet<?> source, target;
+
+        private final long[] marks;
+
+        private final int from, to;
+
+        MarkTask(MyHashSet<?> source, MyHashSet<?> target, long[] marks, int from, int to) {
+            this.source = source;
+            this.target = target;
+            this.marks = marks;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Integer compute() {
+            if (to - from <= PARALLEL_THRESHOLD) {
+                return mark(source, target, marks, from, to);
+            }
+            int mid = (from + to) >>> 1;
+            MarkTask left = new MarkTask(source, target, marks, from, mid);
+            left.fork();
+            int right = new MarkTask(source, target, marks, mid, to).compute();
+            return left.join() + right;
+        }
+
+        static int mark(MyHashSet<?> source, MyHashSet<?> target, long[] marks, int from, int to) {
+            Object[] keys = source.keys;
+            int[] hashes = source.hashes;
+            int count = 0;
+            for (int j = from; j < to; j++) {
+                Object key = keys[j];
+                if (key != null && target.indexOf(key, hashes[j]) >= 0) {
+                    marks[j >>> 6] |= 1L << j;
+                    count++;
+                }
+            }
+            return count;
+        }
+    }
+
+    private static final class SlotSpliterator<E> implements Spliterator<E> {
+
+        private final MyHashSet<E> set;
+
+        private int index; // next slot to visit
+
+        private final int fence; // one past the last slot
+
+        private int estimate;
+
+        private boolean exact; // true while the estimate is the real remaining count
+
+        SlotSpliterator(MyHashSet<E> set, int origin, int fence, int estimate, boolean exact) {
+            this.set = set;
+            this.index = origin;
+            this.fence = fence;
+            this.estimate = estimate;
+            this.exact = exact;
+        }
+
+        @Override
+        public Spliterator<E> trySplit() {
+            int lo = index, mid = (lo + fence) >>> 1;
+            if (lo >= mid) {
+                return null;
+            }
+            exact = false;
+            return new SlotSpliterator<>(set, lo, index = mid, estimate >>>= 1, false);
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super E> action) {
+            Object[] keys = set.keys;
+            while (index < fence) {
+                Object key = keys[index++];
+                if (key != null) {
+                    action.accept(element(key));
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super E> action) {
+            Object[] keys = set.keys;
+            for (; index < fence; index++) {
+                Object key = keys[index];
+                if (key != null) {
+                    action.accept(element(key));
+                }
+            }
+        }
+
+        @Override
+        public long estimateSize() {
+            return estimate;
+        }
+
+        @Override
+        public int characteristics() {
+            return (exact ? Spliterator.SIZED : 0) | Spliterator.DISTINCT;
+        }
     }
 }
@@ -0,0 +1,295 @@
+package com.javaimpl.collections.hashset;
+
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.NoSuchElementException;
+
+/**
+ * A hash set of {@code long} values stored unboxed in a {@code long[]}.
+ * <p>
+ * Same open addressing as {@link MyHashSet} (linear probing from a Fibonacci-hashed home slot, backward-shift
+ * removal), but the table holds the values themselves: no {@code Long} wrapper, no cached hash (rehashing a long
+ * is one multiply) and no {@code equals} call. A set of N values at the default load factor takes about
+ * 8 / 0.75 * N to 2 * 8 / 0.75 * N bytes, depending on where it sits between two resizes.
+ * <p>
+ * 0 marks an empty slot, so the value 0 itself is kept out of the table in {@code containsZero}.
+ */
+public class MyLongHashSet {
+
+    private static final int DEFAULT_LENGTH = 1 << 4; // 16
+
+    private static final float DEFAULT_LOAD_FACTOR = 0.75f;
+
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    private final float loadFactor;
+
+    private long[] keys;
+
+    private int mask;
+
+    // 64 - log2(capacity): the slot is the top bits of the multiplied value
+    private int shift;
+
+    private int threshold;
+
+    private boolean containsZero;
+
+    private int size;
+
+    // structural modifications, used by Cursor to fail fast
+    private int modCount;
+
+    public MyLongHashSet() {
+        this(DEFAULT_LENGTH, DEFAULT_LOAD_FACTOR);
+    }
+
+    public MyLongHashSet(int initialCapacity) {
+        this(initialCapacity, DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     * @param initialCapacity number of values the set holds before its first resize
+     */
+    public MyLongHashSet(int initialCapacity, float loadFactor) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Illegal initial capacity: " + initialCapacity);
+        }
+        if (!(loadFactor > 0 && loadFactor < 1)) {
+            // open addressing needs at least one empty slot to end every probe
+            throw new IllegalArgumentException("Illegal load factor: " + loadFactor);
+        }
+        this.loadFactor = loadFactor;
+        allocate(capacityFor(initialCapacity));
+    }
+
+    public boolean add(long value) {
+        if (value == 0) {
+            if (containsZero) {
+                return false;
+            }
+            containsZero = true;
+        } else {
+            int i = slot(value);
+            for (long k; (k = keys[i]) != 0; i = (i + 1) & mask) {
+                if (k == value) {
+                    return false;
+                }
+            }
+            if (tableSize() == MAXIMUM_CAPACITY - 1) {
+                // a full table leaves probes for absent values no empty slot to stop at
+                throw new IllegalStateException("Set is full");
+            }
+            keys[i] = value;
+        }
+        size++;
+        modCount++;
+        if (tableSize() > threshold) {
+            resize(keys.length << 1);
+        }
+        return true;
+    }
+
+    /**
+     * Adds every value of the array, growing the table at most once up front.
+     *
+     * @return the number of values that were not already present
+     */
+    public int addAll(long[] values) {
+        int needed = capacityFor(size + values.length);
+        if (needed > keys.length) {
+            resize(needed);
+        }
+        int added = 0;
+        for (long value : values) {
+            if (add(value)) {
+                added++;
+            }
+        }
+        return added;
+    }
+
+    public boolean contains(long value) {
+        if (value == 0) {
+            return containsZero;
+        }
+        for (int i = slot(value); ; i = (i + 1) & mask) {
+            long k = keys[i];
+            if (k == value) {
+                return true;
+            }
+            if (k == 0) {
+                return false;
+            }
+        }
+    }
+
+    public boolean remove(long value) {
+        if (value == 0) {
+            if (!containsZero) {
+                return false;
+            }
+            containsZero = false;
+        } else {
+            int i = slot(value);
+            while (keys[i] != value) {
+                if (keys[i] == 0) {
+                    return false;
+                }
+                i = (i + 1) & mask;
+            }
+            deleteSlot(i);
+        }
+        size--;
+        modCount++;
+        return true;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, 0);
+        containsZero = false;
+        size = 0;
+        modCount++;
+    }
+
+    /**
+     * Returns the values in table order.
+     */
+    public long[] toArray() {
+        long[] values = new long[size];
+        int n = 0;
+        if (containsZero) {
+            n++; // values[0] is already 0
+        }
+        for (long k : keys) {
+            if (k != 0) {
+                values[n++] = k;
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Returns a new cursor, positioned before the first value.
+     */
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    /**
+     * Walks the values in table order without boxing them:
+     * <pre>{@code
+     * MyLongHashSet.Cursor cursor = set.cursor();
+     * while (cursor.next()) {
+     *     long value = cursor.value();
+     * }
+     * }</pre>
+     * The cursor fails fast with {@link ConcurrentModificationException} if the set is modified while in use.
+     */
+    public class Cursor {
+
+        // slot of the current value; keys.length stands for 0, which lives outside the table
+        private int index = -1;
+
+        private final int expectedModCount = modCount;
+
+        /**
+         * Moves to the next value, returns false when there are no more.
+         */
+        public boolean next() {
+            checkForComodification();
+            long[] table = keys;
+            while (++index < table.length) {
+                if (table[index] != 0) {
+                    return true;
+                }
+            }
+            if (index == table.length && containsZero) {
+                return true;
+            }
+            index = table.length + 1;
+            return false;
+        }
+
+        public long value() {
+            checkForComodification();
+            if (index < 0 || index > keys.length || index == keys.length && !containsZero) {
+                throw new NoSuchElementException("cursor is not positioned on a value");
+            }
+            return index == keys.length ? 0 : keys[index];
+        }
+
+        private void checkForComodification() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
+
+    /**
+     * Fibonacci hashing: multiplies by 2^64 / golden ratio and keeps the top bits, which depend on every bit of
+     * the value, so sequential IDs are scattered over the table.
+     */
+    private int slot(long value) {
+        return (int) ((value * 0x9E3779B97F4A7C15L) >>> shift);
+    }
+
+    /**
+     * Empties a slot, moving back any later value of the same probe run that would otherwise become unreachable.
+     */
+    private void deleteSlot(int hole) {
+        for (int i = (hole + 1) & mask; keys[i] != 0; i = (i + 1) & mask) {
+            // the value at i may fill the hole if the hole lies between its home slot and i
+            if (((i - slot(keys[i])) & mask) >= ((i - hole) & mask)) {
+                keys[hole] = keys[i];
+                hole = i;
+            }
+        }
+        keys[hole] = 0;
+    }
+
+    private int tableSize() {
+        return containsZero ? size - 1 : size;
+    }
+
+    private int capacityFor(int expectedSize) {
+        int capacity = DEFAULT_LENGTH;
+        while (capacity < MAXIMUM_CAPACITY && capacity * loadFactor < expectedSize) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        mask = capacity - 1;
+        shift = Long.numberOfLeadingZeros(mask);
+        threshold = capacity < MAXIMUM_CAPACITY ? (int) (capacity * loadFactor) : Integer.MAX_VALUE;
+    }
+
+    private void resize(int capacity) {
+        if (capacity > MAXIMUM_CAPACITY) {
+            threshold = Integer.MAX_VALUE; // cannot grow further; add stops one slot short of full
+            return;
+        }
+        long[] oldKeys = keys;
+        allocate(capacity);
+        for (long k : oldKeys) {
+            if (k != 0) {
+                int i = slot(k);
+                while (keys[i] != 0) {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = k;
+            }
+        }
+    }
+}
@@ -1,11 +1,17 @@
 package com.javaimpl.collections.linkedhashmap;
 
+import com.javaimpl.collections.hashmap.HashMapTreeNode;
 import com.javaimpl.collections.hashmap.MyHashMap;
 import com.javaimpl.common.object.AbstractNode;
 import com.javaimpl.common.object.ListNode;
 
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Function;
 
 /**
  * LinkedHashMap implementation preserving insertion or access order.
@@ -54,6 +60,34 @@ public class MyLinkedHashMap<S, T> extends MyHashMap<S, T> {
         return keys;
     }
 
+    /**
+     * Streams follow the linked order rather than the bin order. A linked list cannot be split in the middle,
+     * so a parallel stream gets batches copied off the front of the list.
+     */
+    @Override
+    protected <R> Spliterator<R> spliterator(Function<AbstractNode<S, T>, R> mapper, int characteristics) {
+        Iterator<R> iterator = new Iterator<>() {
+
+            private LinkedHashMapNode<S, T> next = head;
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public R next() {
+                if (next == null) {
+                    throw new NoSuchElementException();
+                }
+                LinkedHashMapNode<S, T> node = next;
+                next = node.after;
+                return mapper.apply(node);
+            }
+        };
+        return Spliterators.spliterator(iterator, size(), characteristics | Spliterator.ORDERED);
+    }
+
     @Override
     public void clear() {
         super.clear();
@@ -63,7 +97,25 @@ public class MyLinkedHashMap<S, T> extends MyHashMap<S, T> {
 
     @Override
     protected AbstractNode<S, T> newNode(S key, T value) {
-        LinkedHashMapNode<S, T> node = new LinkedHashMapNode<>(key, value);
+        return linkLast(new LinkedHashMapNode<>(key, value));
+    }
+
+    @Override
+    protected HashMapTreeNode<S, T> newTreeNode(S key, T value) {
+        return linkLast(new HashMapTreeNode<>(key, value));
+    }
+
+    @Override
+    protected HashMapTreeNode<S, T> replacementTreeNode(AbstractNode<S, T> node) {
+        return transferLinks((LinkedHashMapNode<S, T>) node, new HashMapTreeNode<>(node.key, node.value));
+    }
+
+    @Override
+    protected AbstractNode<S, T> replacementNode(AbstractNode<S, T> node) {
+        return transferLinks((LinkedHashMapNode<S, T>) node, new LinkedHashMapNode<>(node.key, node.value));
+    }
+
+    private <N extends LinkedHashMapNode<S, T>> N linkLast(N node) {
         if (head == null && tail == null) {
             head = tail = node;
         } else {
@@ -74,6 +126,24 @@ public class MyLinkedHashMap<S, T> extends MyHashMap<S, T> {
         return node;
     }
 
+    /**
+     * Puts the replacement at the old node's place in the linked order, when a bin is treeified or untreeified.
+     */
+    private <N extends LinkedHashMapNode<S, T>> N transferLinks(LinkedHashMapNode<S, T> from, N to) {
+        LinkedHashMapNode<S, T> before = to.before = from.before, after = to.after = from.after;
+        if (before == null) {
+            head = to;
+        } else {
+            before.after = to;
+        }
+        if (after == null) {
+            tail = to;
+        } else {
+            after.before = to;
+        }
+        return to;
+    }
+
     @Override
     protected void afterNodeAccess(AbstractNode<S, T> n) {
         if (!accessOrder) {
@@ -0,0 +1,170 @@
+package com.javaimpl.collections.linkedlist;
+
+import com.javaimpl.collections.hashmap.MyHashMap;
+
+import java.util.Objects;
+
+/**
+ * A {@link MyLinkedList} with a hash index from value to node, so {@code contains(item)} and {@code remove(item)}
+ * run in O(1) expected time instead of scanning the list.
+ * <p>
+ * The index maps each value to the first node holding it. Nodes holding equal values are chained to each other
+ * in list order through {@code sameNext} / {@code samePrev}; the first node's {@code samePrev} points at the last
+ * one, so both ends of a chain are reachable in O(1). The index is kept up to date through the hooks
+ * {@code MyLinkedList} calls from {@code linkFirst}, {@code linkLast}, {@code linkBefore} and {@code remove},
+ * the same way {@code MyLinkedHashMap} hooks into {@code MyHashMap}.
+ *
+ * @param <S> class of stored object
+ */
+public class MyHashIndexedLinkedList<S> extends MyLinkedList<S> {
+
+    private final MyHashMap<S, IndexedNode<S>> index = new MyHashMap<>();
+
+    // MyHashMap does not take null keys, so the chain of null values is kept here
+    private IndexedNode<S> nullChain;
+
+    @Override
+    public void clear() {
+        super.clear();
+        index.clear();
+        nullChain = null;
+    }
+
+    @Override
+    protected Node<S> findNode(S item) {
+        return chainHead(item);
+    }
+
+    @Override
+    protected Node<S> newNode(S item) {
+        return new IndexedNode<>(item);
+    }
+
+    @Override
+    protected void afterNodeInsertion(Node<S> n) {
+        chain((IndexedNode<S>) n);
+    }
+
+    @Override
+    protected void afterNodeRemoval(Node<S> n) {
+        unchain((IndexedNode<S>) n, n.value);
+    }
+
+    @Override
+    protected void afterNodeUpdate(Node<S> n, S oldValue) {
+        IndexedNode<S> node = (IndexedNode<S>) n;
+        unchain(node, oldValue);
+        chain(node);
+    }
+
+    /**
+     * Adds a linked node to the chain of its value, in list order. Appends and prepends know their place at once;
+     * a node linked in the middle next to equal values searches outwards for the nearest one.
+     */
+    private void chain(IndexedNode<S> node) {
+        IndexedNode<S> head = chainHead(node.value);
+        if (head == null) {
+            node.samePrev = node;
+            setChainHead(node.value, node);
+        } else if (node.next == null) {
+            linkAfter(node, head.samePrev, head);
+        } else if (node.prev == null) {
+            linkBefore(node, head, head);
+        } else {
+            // walk both ways at once; the cost is the distance to the nearest equal node or list end
+            Node<S> forward = node.next, backward = node.prev;
+            while (true) {
+                if (forward == null) {
+                    linkAfter(node, head.samePrev, head); // no equal node after it: last in the chain
+                    return;
+                }
+                if (Objects.equals(forward.value, node.value)) {
+                    linkBefore(node, (IndexedNode<S>) forward, head);
+                    return;
+                }
+                if (backward == null) {
+                    linkBefore(node, head, head); // no equal node before it: first in the chain
+                    return;
+                }
+                if (Objects.equals(backward.value, node.value)) {
+                    linkAfter(node, (IndexedNode<S>) backward, head);
+                    return;
+                }
+                forward = forward.next;
+                backward = backward.prev;
+            }
+        }
+    }
+
+    private void linkAfter(IndexedNode<S> node, IndexedNode<S> prev, IndexedNode<S> head) {
+        IndexedNode<S> next = prev.sameNext;
+        node.samePrev = prev;
+        node.sameNext = next;
+        prev.sameNext = node;
+        if (next != null) {
+            next.samePrev = node;
+        } else {
+            head.samePrev = node; // new last of the chain
+        }
+    }
+
+    private void linkBefore(IndexedNode<S> node, IndexedNode<S> next, IndexedNode<S> head) {
+        if (next == head) {
+            node.samePrev = head.samePrev;
+            node.sameNext = head;
+            head.samePrev = node;
+            setChainHead(node.value, node);
+        } else {
+            linkAfter(node, next.samePrev, head);
+        }
+    }
+
+    /**
+     * Removes a node from the chain of the given value, dropping the index entry when the chain empties.
+     */
+    private void unchain(IndexedNode<S> node, S value) {
+        IndexedNode<S> head = chainHead(value);
+        IndexedNode<S> next = node.sameNext;
+        if (node == head) {
+            if (next == null) {
+                setChainHead(value, null);
+            } else {
+                next.samePrev = node.samePrev;
+                setChainHead(value, next);
+            }
+        } else {
+            node.samePrev.sameNext = next;
+            if (next != null) {
+                next.samePrev = node.samePrev;
+            } else {
+                head.samePrev = node.samePrev; // removed the last of the chain
+            }
+        }
+        node.samePrev = node.sameNext = null;
+    }
+
+    private IndexedNode<S> chainHead(S value) {
+        return value == null ? nullChain : index.get(value);
+    }
+
+    private void setChainHead(S value, IndexedNode<S> head) {
+        if (value == null) {
+            nullChain = head;
+        } else if (head == null) {
+            index.remove(value);
+        } else {
+            index.put(value, head);
+        }
+    }
+
+    static class IndexedNode<S> extends Node<S> {
+        // neighbours holding an equal value, in list order; the first node's samePrev is the last node
+        IndexedNode<S> samePrev;
+
+        IndexedNode<S> sameNext;
+
+        IndexedNode(S value) {
+            super(value);
+        }
+    }
+}
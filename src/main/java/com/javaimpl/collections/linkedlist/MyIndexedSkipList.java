@@ -0,0 +1,322 @@
+package com.javaimpl.collections.linkedlist;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A list with the API of {@link MyLinkedList} whose positional operations run in O(log n).
+ * <p>
+ * Nodes form a skip list: level 0 links every element in order, and each higher level links a random quarter of
+ * the nodes of the level below, like express lanes. Every link also stores its span, the number of positions it
+ * jumps, so {@code get(index)} descends from the top level summing spans instead of counting nodes one by one.
+ * <p>
+ * Appending and prepending touch only the levels of the new node, expected 4/3 of them:
+ * <ul>
+ *     <li>the last node of each level is kept in {@code tails}, and links to the end of a level store no span;</li>
+ *     <li>spans of the head's links are stored relative to {@code headShift}, so a prepend shifts all of them by
+ *     one with a single increment.</li>
+ * </ul>
+ *
+ * @param <S> class of stored object
+ */
+public class MyIndexedSkipList<S> {
+
+    private static final int MAX_LEVEL = 16; // 4^16 elements before the top level fills up
+
+    private final Node<S> head = new Node<>(null, MAX_LEVEL);
+
+    // last node on each level, head while the level is empty
+    private final Node<S>[] tails = Node.newArray(MAX_LEVEL);
+
+    // scratch for insert / remove: predecessor on each level and its position
+    private final Node<S>[] update = Node.newArray(MAX_LEVEL);
+
+    private final int[] rank = new int[MAX_LEVEL];
+
+    // added to every span stored on head
+    private int headShift;
+
+    private int level = 1;
+
+    private int size;
+
+    public MyIndexedSkipList() {
+        Arrays.fill(tails, head);
+    }
+
+    public void add(S item) {
+        linkLast(new Node<>(item, randomLevel()));
+    }
+
+    public void add(S item, int index) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        Node<S> newNode = new Node<>(item, randomLevel());
+        if (index == size) {
+            linkLast(newNode);
+        } else if (index == 0) {
+            linkFirst(newNode);
+        } else {
+            linkBefore(newNode, index);
+        }
+    }
+
+    public void addFirst(S item) {
+        add(item, 0);
+    }
+
+    public void addLast(S item) {
+        add(item);
+    }
+
+    public S get(int index) {
+        checkIndex(index);
+        return node(index).value;
+    }
+
+    public void set(int index, S item) {
+        checkIndex(index);
+        node(index).value = item;
+    }
+
+    public S remove(int index) {
+        checkIndex(index);
+        return index == 0 ? unlinkFirst() : unlink(index);
+    }
+
+    /**
+     * Removes the first element equal to the given item.
+     *
+     * @return the removed element, or null if there was none
+     */
+    public S remove(S item) {
+        int index = indexOf(item);
+        return index < 0 ? null : remove(index);
+    }
+
+    public boolean contains(S item) {
+        return indexOf(item) >= 0;
+    }
+
+    public void clear() {
+        Arrays.fill(head.next, null);
+        Arrays.fill(tails, head);
+        headShift = 0;
+        level = 1;
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private void linkLast(Node<S> newNode) {
+        int height = newNode.next.length;
+        level = Math.max(level, height);
+        // position of the old tail on each level the new node joins, walking up from the last element
+        int last = size - 1;
+        for (int l = 0; l < height; l++) {
+            Node<S> tail = tails[l];
+            if (tail == head) {
+                rank[l] = -1;
+            } else if (l == 0) {
+                rank[l] = last;
+            } else {
+                int position = rank[l - 1];
+                for (Node<S> x = tail; x != tails[l - 1]; x = x.next[l - 1]) {
+                    position -= x.span[l - 1];
+                }
+                rank[l] = position;
+            }
+        }
+        for (int l = 0; l < height; l++) {
+            Node<S> tail = tails[l];
+            tail.next[l] = newNode;
+            setSpan(tail, l, size - rank[l]);
+            tails[l] = newNode;
+        }
+        size++;
+    }
+
+    private void linkFirst(Node<S> newNode) {
+        int height = newNode.next.length;
+        level = Math.max(level, height);
+        headShift++; // every head link now jumps one position further
+        for (int l = 0; l < height; l++) {
+            Node<S> oldFirst = head.next[l];
+            newNode.next[l] = oldFirst;
+            if (oldFirst != null) {
+                // oldFirst moved from position span - 1 to span
+                newNode.span[l] = span(head, l) - 1;
+            } else {
+                tails[l] = newNode;
+            }
+            head.next[l] = newNode;
+            setSpan(head, l, 1);
+        }
+        size++;
+    }
+
+    private void linkBefore(Node<S> newNode, int index) {
+        findPredecessors(index);
+        int height = newNode.next.length;
+        for (int l = level; l < height; l++) {
+            update[l] = head;
+            rank[l] = -1;
+        }
+        level = Math.max(level, height);
+        for (int l = 0; l < height; l++) {
+            Node<S> prev = update[l];
+            Node<S> next = prev.next[l];
+            // prev -> [newNode] -> next, and next moves one position right
+            newNode.next[l] = next;
+            if (next != null) {
+                newNode.span[l] = rank[l] + span(prev, l) + 1 - index;
+            } else {
+                tails[l] = newNode;
+            }
+            prev.next[l] = newNode;
+            setSpan(prev, l, index - rank[l]);
+        }
+        for (int l = height; l < level; l++) {
+            if (update[l].next[l] != null) {
+                update[l].span[l]++;
+            }
+        }
+        size++;
+    }
+
+    private S unlinkFirst() {
+        Node<S> first = head.next[0];
+        int height = first.next.length;
+        headShift--; // every head link now jumps one position less
+        for (int l = 0; l < height; l++) {
+            Node<S> next = first.next[l];
+            head.next[l] = next;
+            if (next != null) {
+                // next moved from position span to span - 1, one past head
+                setSpan(head, l, first.span[l]);
+            } else {
+                tails[l] = head;
+            }
+        }
+        trimLevels();
+        size--;
+        return first.value;
+    }
+
+    private S unlink(int index) {
+        findPredecessors(index);
+        Node<S> target = update[0].next[0];
+        for (int l = 0; l < level; l++) {
+            Node<S> prev = update[l];
+            if (prev.next[l] == target) {
+                Node<S> next = target.next[l];
+                prev.next[l] = next;
+                if (next != null) {
+                    prev.span[l] += target.span[l] - 1;
+                } else {
+                    tails[l] = prev;
+                }
+            } else if (prev.next[l] != null) {
+                prev.span[l]--;
+            }
+        }
+        trimLevels();
+        size--;
+        return target.value;
+    }
+
+    /**
+     * Fills {@code update} / {@code rank} with the last node before index on each level and its position.
+     */
+    private void findPredecessors(int index) {
+        Node<S> x = head;
+        int position = -1;
+        for (int l = level - 1; l >= 0; l--) {
+            while (x.next[l] != null && position + span(x, l) < index) {
+                position += span(x, l);
+                x = x.next[l];
+            }
+            update[l] = x;
+            rank[l] = position;
+        }
+    }
+
+    private Node<S> node(int index) {
+        Node<S> x = head;
+        int position = -1;
+        for (int l = level - 1; l >= 0; l--) {
+            while (x.next[l] != null && position + span(x, l) <= index) {
+                position += span(x, l);
+                x = x.next[l];
+            }
+        }
+        return x;
+    }
+
+    private int indexOf(S item) {
+        int index = 0;
+        for (Node<S> x = head.next[0]; x != null; x = x.next[0], index++) {
+            if (Objects.equals(item, x.value)) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    private int span(Node<S> node, int l) {
+        return node == head ? node.span[l] + headShift : node.span[l];
+    }
+
+    private void setSpan(Node<S> node, int l, int span) {
+        node.span[l] = node == head ? span - headShift : span;
+    }
+
+    private void trimLevels() {
+        while (level > 1 && head.next[level - 1] == null) {
+            level--;
+        }
+    }
+
+    /**
+     * Each node is promoted to the next level with probability 1/4, two random bits per level.
+     */
+    private static int randomLevel() {
+        int bits = ThreadLocalRandom.current().nextInt();
+        int height = 1;
+        while (height < MAX_LEVEL && (bits & 3) == 0) {
+            height++;
+            bits >>>= 2;
+        }
+        return height;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    private static final class Node<S> {
+        private S value;
+
+        private final Node<S>[] next;
+
+        // positions jumped by each link; unused for a link to the end of its level
+        private final int[] span;
+
+        private Node(S value, int height) {
+            this.value = value;
+            this.next = newArray(height);
+            this.span = new int[height];
+        }
+
+        @SuppressWarnings("unchecked") // an array of a generic type cannot be created directly
+        private static <S> Node<S>[] newArray(int length) {
+            return (Node<S>[]) new Node<?>[length];
+        }
+    }
+}
@@ -1,6 +1,14 @@
 package com.javaimpl.collections.linkedlist;
 
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.ListIterator;
 import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  *
@@ -14,30 +22,30 @@ public class MyLinkedList<S> {
 
     private int size;
 
+    // incremented by every structural change, checked by list iterators to fail fast
+    private int modCount;
+
     public void add(S item) {
         add(item, size);
     }
 
     public void add(S item, int index) {
-        Node<S> newNode = new Node<>(item);
-        if (firstNode == null) {
-            addFirst(item);
-        } else if (index == 0) {
+        Node<S> newNode = newNode(item);
+        if (firstNode == null || index == 0) {
             linkFirst(newNode);
         } else if (index == size) {
             linkLast(newNode);
         } else {
             linkBefore(newNode, node(index));
-            size++;
         }
     }
 
     public void addFirst(S item) {
-        linkFirst(new Node<>(item));
+        linkFirst(newNode(item));
     }
 
     public void addLast(S item) {
-        linkLast(new Node<>(item));
+        linkLast(newNode(item));
     }
 
     public S get(int index) {
@@ -60,11 +68,11 @@ public class MyLinkedList<S> {
         if (node == null) {
             throw new NoSuchElementException("element does not exist");
         }
-        node.value = item;
+        update(node, item);
     }
 
     public boolean contains(S item) {
-        Node<S> node = node(item);
+        Node<S> node = findNode(item);
         return node != null;
     }
 
@@ -72,6 +80,25 @@ public class MyLinkedList<S> {
         firstNode = null;
         lastNode = null;
         size = 0;
+        modCount++;
+    }
+
+    /**
+     * Returns a list iterator positioned before the first element.
+     */
+    public ListIterator<S> listIterator() {
+        return new ListItr(0);
+    }
+
+    /**
+     * Returns a list iterator positioned before the element at index. Reaching the position costs one walk from
+     * the nearer end; after that every move, {@code add}, {@code set} and {@code remove} is O(1).
+     */
+    public ListIterator<S> listIterator(int index) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        return new ListItr(index);
     }
 
     private S remove(Node<S> node) {
@@ -93,13 +120,24 @@ public class MyLinkedList<S> {
             lastNode = node.prev;
         }
         size--;
+        modCount++;
+        afterNodeRemoval(node);
         return node.value;
     }
 
-    private Node<S> findNode(S item) {
+    private void update(Node<S> node, S item) {
+        S oldValue = node.value;
+        node.value = item;
+        afterNodeUpdate(node, oldValue);
+    }
+
+    /**
+     * Returns the first node holding a value equal to the item, or null.
+     */
+    protected Node<S> findNode(S item) {
         Node<S> currNode = firstNode;
         while (currNode != null) {
-            if (currNode.value.equals(item)) {
+            if (Objects.equals(currNode.value, item)) {
                 return currNode;
             }
             currNode = currNode.next;
@@ -116,6 +154,8 @@ public class MyLinkedList<S> {
             firstNode = newNode;
         }
         size++;
+        modCount++;
+        afterNodeInsertion(newNode);
     }
 
     private void linkLast(Node<S> newNode) {
@@ -127,6 +167,8 @@ public class MyLinkedList<S> {
             lastNode = newNode;
         }
         size++;
+        modCount++;
+        afterNodeInsertion(newNode);
     }
 
     private void linkBefore(Node<S> newNode, Node<S> nextNode) {
@@ -134,9 +176,15 @@ public class MyLinkedList<S> {
         if (nextNode.prev != null) {
             nextNode.prev.next = newNode;
             newNode.prev = nextNode.prev;
+        } else {
+            // <null> -> [newNode] -> nextNode
+            firstNode = newNode;
         }
         newNode.next = nextNode;
         nextNode.prev = newNode;
+        size++;
+        modCount++;
+        afterNodeInsertion(newNode);
     }
 
     private void linkAfter(Node<S> newNode, Node<S> prevNode) {
@@ -144,9 +192,15 @@ public class MyLinkedList<S> {
         if (prevNode.next != null) {
             prevNode.next.prev = newNode;
             newNode.next = prevNode.next;
+        } else {
+            // prevNode -> [newNode] -> <null>
+            lastNode = newNode;
         }
         prevNode.next = newNode;
         newNode.prev = prevNode;
+        size++;
+        modCount++;
+        afterNodeInsertion(newNode);
     }
 
     private Node<S> node(int index) {
@@ -156,17 +210,6 @@ public class MyLinkedList<S> {
         return getFromTail(index);
     }
 
-    private Node<S> node(S item) {
-        Node<S> currNode = firstNode;
-        while (currNode != null) {
-            if (currNode.value.equals(item)) {
-                return currNode;
-            }
-            currNode = currNode.next;
-        }
-        return null;
-    }
-
     private Node<S> getFromHead(int index) {
         int i = 0;
         Node<S> currNode = firstNode;
@@ -197,6 +240,165 @@ public class MyLinkedList<S> {
         return size;
     }
 
+    /**
+     * Returns an ordered, sized spliterator. Nodes cannot be reached by index, so splitting copies batches off the
+     * front of the list into arrays (growing by 1024 each split), which parallel streams then divide further.
+     */
+    public Spliterator<S> spliterator() {
+        Iterator<S> iterator = new Iterator<>() {
+
+            private Node<S> next = firstNode;
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public S next() {
+                if (next == null) {
+                    throw new NoSuchElementException();
+                }
+                Node<S> node = next;
+                next = node.next;
+                return node.value;
+            }
+        };
+        return Spliterators.spliterator(iterator, size, Spliterator.ORDERED);
+    }
+
+    public Stream<S> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    public Stream<S> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+
+    private class ListItr implements ListIterator<S> {
+
+        private Node<S> lastReturned;
+
+        private Node<S> next;
+
+        private int nextIndex;
+
+        private int expectedModCount = modCount;
+
+        ListItr(int index) {
+            next = index == size ? null : node(index);
+            nextIndex = index;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return nextIndex < size;
+        }
+
+        @Override
+        public S next() {
+            checkForComodification();
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            lastReturned = next;
+            next = next.next;
+            nextIndex++;
+            return lastReturned.value;
+        }
+
+        @Override
+        public boolean hasPrevious() {
+            return nextIndex > 0;
+        }
+
+        @Override
+        public S previous() {
+            checkForComodification();
+            if (!hasPrevious()) {
+                throw new NoSuchElementException();
+            }
+            lastReturned = next = next == null ? lastNode : next.prev;
+            nextIndex--;
+            return lastReturned.value;
+        }
+
+        @Override
+        public int nextIndex() {
+            return nextIndex;
+        }
+
+        @Override
+        public int previousIndex() {
+            return nextIndex - 1;
+        }
+
+        /**
+         * Unlinks the element last returned by {@link #next} or {@link #previous}.
+         */
+        @Override
+        public void remove() {
+            checkForComodification();
+            if (lastReturned == null) {
+                throw new IllegalStateException();
+            }
+            Node<S> lastNext = lastReturned.next;
+            MyLinkedList.this.remove(lastReturned);
+            if (next == lastReturned) {
+                // came from previous(): the cursor now sits before the following node
+                next = lastNext;
+            } else {
+                nextIndex--;
+            }
+            lastReturned = null;
+            expectedModCount = modCount;
+        }
+
+        @Override
+        public void set(S item) {
+            checkForComodification();
+            if (lastReturned == null) {
+                throw new IllegalStateException();
+            }
+            update(lastReturned, item);
+        }
+
+        /**
+         * Links a new element just before the cursor, so a following {@link #next} is unaffected.
+         */
+        @Override
+        public void add(S item) {
+            checkForComodification();
+            lastReturned = null;
+            if (next == null) {
+                linkLast(newNode(item));
+            } else {
+                linkBefore(newNode(item), next);
+            }
+            nextIndex++;
+            expectedModCount = modCount;
+        }
+
+        private void checkForComodification() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
+
+    protected Node<S> newNode(S item) {
+        return new Node<>(item);
+    }
+
+    protected void afterNodeInsertion(Node<S> node) {
+    }
+
+    protected void afterNodeRemoval(Node<S> node) {
+    }
+
+    protected void afterNodeUpdate(Node<S> node, S oldValue) {
+    }
+
     public static class Node<S> {
         public S value;
 
@@ -0,0 +1,285 @@
+package com.javaimpl.collections.linkedlist;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * A doubly linked list whose nodes each hold a small array of elements instead of a single one.
+ * <p>
+ * Walking the list visits one node per {@code nodeCapacity} elements and reads the elements of a node from one
+ * contiguous array, so scans run close to array speed and the per-element cost of node headers and links all but
+ * disappears. Inserting into a full node splits it in two halves; a node that drops below a quarter full after a
+ * removal merges with a neighbour when the two fit in one node.
+ *
+ * @param <S> class of stored object
+ */
+public class MyUnrolledLinkedList<S> {
+
+    private static final int DEFAULT_NODE_CAPACITY = 64;
+
+    private final int nodeCapacity;
+
+    private Node firstNode;
+
+    private Node lastNode;
+
+    private int size;
+
+    private int nodeCount;
+
+    // offset inside the node returned by the last call to node(index)
+    private int offset;
+
+    public MyUnrolledLinkedList() {
+        this(DEFAULT_NODE_CAPACITY);
+    }
+
+    public MyUnrolledLinkedList(int nodeCapacity) {
+        if (nodeCapacity < 2) {
+            throw new IllegalArgumentException("nodeCapacity must be at least 2");
+        }
+        this.nodeCapacity = nodeCapacity;
+    }
+
+    public void add(S item) {
+        if (lastNode == null || lastNode.count == nodeCapacity) {
+            // appending keeps full nodes full instead of splitting them
+            linkAfter(new Node(nodeCapacity), lastNode);
+        }
+        lastNode.values[lastNode.count++] = item;
+        size++;
+    }
+
+    public void add(S item, int index) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        if (index == size) {
+            add(item);
+            return;
+        }
+        Node node = node(index);
+        int at = offset;
+        if (node.count == nodeCapacity) {
+            Node upper = split(node);
+            if (at > node.count) {
+                at -= node.count;
+                node = upper;
+            }
+        }
+        System.arraycopy(node.values, at, node.values, at + 1, node.count - at);
+        node.values[at] = item;
+        node.count++;
+        size++;
+    }
+
+    public void addFirst(S item) {
+        add(item, 0);
+    }
+
+    public void addLast(S item) {
+        add(item);
+    }
+
+    public S get(int index) {
+        checkIndex(index);
+        return elementAt(node(index), offset);
+    }
+
+    public void set(int index, S item) {
+        checkIndex(index);
+        node(index).values[offset] = item;
+    }
+
+    public S remove(int index) {
+        checkIndex(index);
+        Node node = node(index);
+        return remove(node, offset);
+    }
+
+    /**
+     * Removes the first element equal to the given item.
+     *
+     * @return the removed element, or null if there was none
+     */
+    public S remove(S item) {
+        for (Node node = firstNode; node != null; node = node.next) {
+            int at = indexOf(node, item);
+            if (at >= 0) {
+                return remove(node, at);
+            }
+        }
+        return null;
+    }
+
+    public boolean contains(S item) {
+        for (Node node = firstNode; node != null; node = node.next) {
+            if (indexOf(node, item) >= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public void clear() {
+        firstNode = null;
+        lastNode = null;
+        size = 0;
+        nodeCount = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    int nodeCount() {
+        return nodeCount;
+    }
+
+    private S remove(Node node, int at) {
+        S value = elementAt(node, at);
+        System.arraycopy(node.values, at + 1, node.values, at, node.count - at - 1);
+        node.values[--node.count] = null; // clear to let GC do its work
+        size--;
+        rebalance(node);
+        return value;
+    }
+
+    /**
+     * Unlinks an empty node, or merges an underfull one with a neighbour when both fit in one node, preferring
+     * the next neighbour.
+     */
+    private void rebalance(Node node) {
+        if (node.count == 0) {
+            unlink(node);
+        } else if (node.count < nodeCapacity >> 2) {
+            if (node.next != null && node.count + node.next.count <= nodeCapacity) {
+                merge(node, node.next);
+            } else if (node.prev != null && node.prev.count + node.count <= nodeCapacity) {
+                merge(node.prev, node);
+            }
+        }
+    }
+
+    /**
+     * Moves the elements of {@code next} to the end of {@code node} and unlinks {@code next}.
+     */
+    private void merge(Node node, Node next) {
+        System.arraycopy(next.values, 0, node.values, node.count, next.count);
+        node.count += next.count;
+        unlink(next);
+    }
+
+    /**
+     * Moves the upper half of a full node into a new node linked after it.
+     *
+     * @return the new node
+     */
+    private Node split(Node node) {
+        Node upper = new Node(nodeCapacity);
+        int moved = node.count >> 1;
+        int kept = node.count - moved;
+        System.arraycopy(node.values, kept, upper.values, 0, moved);
+        Arrays.fill(node.values, kept, node.count, null);
+        upper.count = moved;
+        node.count = kept;
+        linkAfter(upper, node);
+        return upper;
+    }
+
+    private void linkAfter(Node newNode, Node prevNode) {
+        // prevNode -> [newNode] -> otherNode
+        if (prevNode == null) {
+            newNode.next = firstNode;
+            if (firstNode != null) {
+                firstNode.prev = newNode;
+            }
+            firstNode = newNode;
+        } else {
+            newNode.next = prevNode.next;
+            if (prevNode.next != null) {
+                prevNode.next.prev = newNode;
+            }
+            prevNode.next = newNode;
+            newNode.prev = prevNode;
+        }
+        if (newNode.next == null) {
+            lastNode = newNode;
+        }
+        nodeCount++;
+    }
+
+    private void unlink(Node node) {
+        if (node.prev != null) {
+            node.prev.next = node.next;
+        } else {
+            firstNode = node.next;
+        }
+        if (node.next != null) {
+            node.next.prev = node.prev;
+        } else {
+            lastNode = node.prev;
+        }
+        nodeCount--;
+    }
+
+    /**
+     * Finds the node holding the element at index, walking node counts from the nearer end, and leaves the
+     * element's position inside it in {@link #offset}.
+     */
+    @SuppressWarnings("unchecked") // only S items are stored
+    private S elementAt(Node node, int at) {
+        return (S) node.values[at];
+    }
+
+    private Node node(int index) {
+        Node node;
+        if (index < (size >> 1)) {
+            node = firstNode;
+            while (index >= node.count) {
+                index -= node.count;
+                node = node.next;
+            }
+            offset = index;
+        } else {
+            int remaining = size - index;
+            node = lastNode;
+            while (remaining > node.count) {
+                remaining -= node.count;
+                node = node.prev;
+            }
+            offset = node.count - remaining;
+        }
+        return node;
+    }
+
+    private static int indexOf(Node node, Object item) {
+        Object[] values = node.values;
+        for (int i = 0; i < node.count; i++) {
+            if (Objects.equals(item, values[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    private static final class Node {
+        private final Object[] values;
+
+        private int count;
+
+        private Node prev;
+
+        private Node next;
+
+        private Node(int capacity) {
+            this.values = new Object[capacity];
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.javaimpl.collections.lsmtree;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Converts keys and values to and from their on-disk form.
+ *
+ * @param <S> class of the encoded object
+ */
+public interface Codec<S> {
+
+    Codec<String> STRING = new Codec<>() {
+        @Override
+        public void write(String value, DataOutput out) throws IOException {
+            out.writeUTF(value);
+        }
+
+        @Override
+        public String read(DataInput in) throws IOException {
+            return in.readUTF();
+        }
+    };
+
+    Codec<Long> LONG = new Codec<>() {
+        @Override
+        public void write(Long value, DataOutput out) throws IOException {
+            out.writeLong(value);
+        }
+
+        @Override
+        public Long read(DataInput in) throws IOException {
+            return in.readLong();
+        }
+    };
+
+    Codec<Integer> INTEGER = new Codec<>() {
+        @Override
+        public void write(Integer value, DataOutput out) throws IOException {
+            out.writeInt(value);
+        }
+
+        @Override
+        public Integer read(DataInput in) throws IOException {
+            return in.readInt();
+        }
+    };
+
+    Codec<byte[]> BYTES = new Codec<>() {
+        @Override
+        public void write(byte[] value, DataOutput out) throws IOException {
+            out.writeInt(value.length);
+            out.write(value);
+        }
+
+        @Override
+        public byte[] read(DataInput in) throws IOException {
+            byte[] value = new byte[in.readInt()];
+            in.readFully(value);
+            return value;
+        }
+    };
+
+    void write(S value, DataOutput out) throws IOException;
+
+    S read(DataInput in) throws IOException;
+}
@@ -0,0 +1,572 @@
+package com.javaimpl.collections.lsmtree;
+
+import com.javaimpl.collections.treemap.MyTreeMap;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * A durable, ordered key-value store built as a Log-Structured Merge tree.
+ * <p>
+ * Writes go to an append-only {@link WriteAheadLog} and to an in-memory {@link MyTreeMap} (the memtable).
+ * Once the memtable holds {@code memtableBytesLimit} bytes it is written out as an immutable {@link SortedTable}
+ * in tier 0. When a tier collects {@code compactionFanIn} tables, a background thread merges them into one table
+ * of the next tier. A read checks the memtable first and then the tables from newest to oldest, skipping a table
+ * without touching the disk whenever its bloom filter rules the key out.
+ * <p>
+ * The comparator must be consistent with {@code equals}. Null values are not allowed, a removal is stored as a
+ * tombstone until compaction reaches the oldest tier.
+ *
+ * @param <S> class of key
+ * @param <T> class of value
+ */
+public class MyLsmTree<S, T> implements Closeable {
+
+    /**
+     * Marks a removed key in the memtable, the log and the tables.
+     */
+    static final Object TOMBSTONE = new Object();
+
+    private static final long DEFAULT_MEMTABLE_BYTES = 4L << 20; // 4 MB
+
+    private static final int DEFAULT_COMPACTION_FAN_IN = 4;
+
+    // approximate heap cost of a memtable node on top of the serialized key and value
+    private static final int MEMTABLE_NODE_OVERHEAD = 64;
+
+    private static final String WAL_FILE_NAME = "wal.log";
+
+    private static final Pattern TABLE_FILE_NAME = Pattern.compile("(\\d+)-t(\\d+)\\.sst");
+
+    private final Path directory;
+
+    private final Comparator<? super S> comparator;
+
+    private final Codec<S> keyCodec;
+
+    private final Codec<T> valueCodec;
+
+    private final long memtableBytesLimit;
+
+    private final int compactionFanIn;
+
+    private final WriteAheadLog<S, T> wal;
+
+    private final ExecutorService compactor;
+
+    // held for a whole merge, so compact() and the background thread never merge the same tables
+    private final Object compactionLock = new Object();
+
+    private MyTreeMap<S, Object> memtable;
+
+    private long memtableBytes;
+
+    // newest first: lower tiers hold newer data, and within a tier a higher id is newer
+    private List<SortedTable<S, T>> tables = new ArrayList<>();
+
+    private long nextTableId;
+
+    private boolean compactionScheduled;
+
+    private Exception compactionFailure;
+
+    private boolean closed;
+
+    public MyLsmTree(Path directory, Comparator<? super S> comparator, Codec<S> keyCodec, Codec<T> valueCodec) throws IOException {
+        this(directory, comparator, keyCodec, valueCodec, DEFAULT_MEMTABLE_BYTES, DEFAULT_COMPACTION_FAN_IN, false);
+    }
+
+    /**
+     * @param memtableBytesLimit approximate memtable size that triggers a flush to a table
+     * @param compactionFanIn    number of tables in one tier that triggers their merge into the next tier
+     * @param syncWrites         fsync the log on every write; otherwise a write survives a process crash
+     *                           but not a power loss
+     */
+    public MyLsmTree(Path directory, Comparator<? super S> comparator, Codec<S> keyCodec, Codec<T> valueCodec,
+                     long memtableBytesLimit, int compactionFanIn, boolean syncWrites) throws IOException {
+        if (memtableBytesLimit <= 0) {
+            throw new IllegalArgumentException("memtableBytesLimit must be greater than 0");
+        }
+        if (compactionFanIn < 2) {
+            throw new IllegalArgumentException("compactionFanIn must be at least 2");
+        }
+        this.directory = Files.createDirectories(directory);
+        this.comparator = comparator;
+        this.keyCodec = keyCodec;
+        this.valueCodec = valueCodec;
+        this.memtableBytesLimit = memtableBytesLimit;
+        this.compactionFanIn = compactionFanIn;
+        this.memtable = new MyTreeMap<>(comparator);
+        this.compactor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "lsm-compactor-" + directory.getFileName());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        openTables();
+        this.wal = new WriteAheadLog<>(directory.resolve(WAL_FILE_NAME), keyCodec, valueCodec, syncWrites);
+        wal.replay(memtable::put);
+        memtableBytes = wal.size() + (long) memtable.size() * MEMTABLE_NODE_OVERHEAD;
+        scheduleCompactionIfNeeded();
+    }
+
+    public synchronized void put(S key, T value) {
+        if (value == null) {
+            throw new NullPointerException("null values are not supported");
+        }
+        write(key, value);
+    }
+
+    public synchronized void remove(S key) {
+        write(key, TOMBSTONE);
+    }
+
+    public synchronized T get(S key) {
+        ensureOpen();
+        rethrowCompactionFailure();
+        Object value = memtable.get(key);
+        try {
+            for (int i = 0; value == null && i < tables.size(); i++) {
+                value = tables.get(i).get(key);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (value == TOMBSTONE) {
+            return null;
+        }
+        @SuppressWarnings("unchecked") // anything but a tombstone is a T
+        T result = (T) value;
+        return result;
+    }
+
+    public boolean containsKey(S key) {
+        return get(key) != null;
+    }
+
+    /**
+     * Visits, in ascending order, every live entry with {@code fromKey <= key < toKey}. A null bound is open.
+     * The visitor runs while the store is locked, so it must not call back into this store.
+     */
+    public synchronized void scan(S fromKey, S toKey, BiConsumer<? super S, ? super T> visitor) {
+        ensureOpen();
+        rethrowCompactionFailure();
+        List<Iterator<SortedTable.Entry<S>>> sources = new ArrayList<>();
+        sources.add(memtableIterator(fromKey));
+        for (SortedTable<S, T> table : tables) {
+            sources.add(table.iterator(fromKey));
+        }
+        Iterator<SortedTable.Entry<S>> merged = new MergingIterator<>(sources, comparator);
+        while (merged.hasNext()) {
+            SortedTable.Entry<S> entry = merged.next();
+            if (toKey != null && comparator.compare(entry.key, toKey) >= 0) {
+                break;
+            }
+            if (entry.value != TOMBSTONE) {
+                @SuppressWarnings("unchecked") // anything but a tombstone is a T
+                T value = (T) entry.value;
+                visitor.accept(entry.key, value);
+            }
+        }
+    }
+
+    /**
+     * Writes the memtable to a new tier-0 table and empties the log.
+     */
+    public synchronized void flush() {
+        ensureOpen();
+        if (memtable.size() == 0) {
+            return;
+        }
+        try {
+            long id = nextTableId++;
+            Path path = tablePath(id, 0);
+            SortedTable.write(path, memtableIterator(null), memtable.size(), keyCodec, valueCodec,
+                    SortedTable.DEFAULT_BLOCK_SIZE, false);
+            tables.add(0, SortedTable.open(path, id, 0, comparator, keyCodec, valueCodec));
+            wal.truncate();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        memtable = new MyTreeMap<>(comparator);
+        memtableBytes = 0;
+        scheduleCompactionIfNeeded();
+    }
+
+    /**
+     * Runs compaction on the calling thread until no tier holds {@code compactionFanIn} tables.
+     */
+    public void compact() {
+        synchronized (this) {
+            ensureOpen();
+        }
+        try {
+            while (compactOnce()) {
+                // keep merging, a merge may fill up the next tier
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Flushes the memtable, waits for a running compaction (background or {@link #compact()}) and releases
+     * all files. A background compaction failure not yet reported by another call is thrown here.
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            flush();
+            closed = true;
+        }
+        compactor.shutdown();
+        try {
+            compactor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // a compact() on another thread may still be reading the tables
+        synchronized (compactionLock) {
+            synchronized (this) {
+                wal.close();
+                for (SortedTable<S, T> table : tables) {
+                    table.close();
+                }
+                tables = new ArrayList<>();
+                if (compactionFailure instanceof IOException failure) {
+                    throw failure;
+                } else if (compactionFailure != null) {
+                    throw new IllegalStateException("background compaction failed", compactionFailure);
+                }
+            }
+        }
+    }
+
+    synchronized int tableCount() {
+        return tables.size();
+    }
+
+    private void write(S key, Object value) {
+        ensureOpen();
+        rethrowCompactionFailure();
+        try {
+            int bytes = wal.append(key, value);
+            memtableBytes += MEMTABLE_NODE_OVERHEAD + bytes;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        memtable.put(key, value);
+        if (memtableBytes >= memtableBytesLimit) {
+            flush();
+        }
+    }
+
+    private Iterator<SortedTable.Entry<S>> memtableIterator(S fromKey) {
+        MyTreeMap<S, Object>.Cursor cursor = memtable.cursor();
+        if (fromKey == null) {
+            cursor.first();
+        } else {
+            cursor.seek(fromKey);
+        }
+        return new Iterator<>() {
+
+            private boolean valid = cursor.isValid();
+
+            @Override
+            public boolean hasNext() {
+                return valid;
+            }
+
+            @Override
+            public SortedTable.Entry<S> next() {
+                if (!valid) {
+                    throw new NoSuchElementException();
+                }
+                SortedTable.Entry<S> entry = new SortedTable.Entry<>(cursor.key(), cursor.value());
+                valid = cursor.next();
+                return entry;
+            }
+        };
+    }
+
+    private void openTables() throws IOException {
+        List<SortedTable<S, T>> opened = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path path : (Iterable<Path>) files::iterator) {
+                String fileName = path.getFileName().toString();
+                Matcher matcher = TABLE_FILE_NAME.matcher(fileName);
+                if (matcher.matches()) {
+                    long id = Long.parseLong(matcher.group(1));
+                    int tier = Integer.parseInt(matcher.group(2));
+                    opened.add(SortedTable.open(path, id, tier, comparator, keyCodec, valueCodec));
+                    nextTableId = Math.max(nextTableId, id + 1);
+                } else if (fileName.endsWith(".tmp")) {
+                    // left over from a crash in the middle of a flush or compaction
+                    Files.delete(path);
+                }
+            }
+        }
+        opened.sort(NEWEST_FIRST);
+        tables = opened;
+    }
+
+    private void scheduleCompactionIfNeeded() {
+        if (!compactionScheduled && !closed && pickTier(tables) >= 0) {
+            compactionScheduled = true;
+            compactor.execute(() -> {
+                try {
+                    while (compactOnce()) {
+                        // keep merging, a merge may fill up the next tier
+                    }
+                } catch (IOException e) {
+                    recordCompactionFailure(e);
+                } catch (UncheckedIOException e) {
+                    // table iterators wrap read errors
+                    recordCompactionFailure(e.getCause());
+                } catch (RuntimeException e) {
+                    // e.g. the comparator or a codec rejecting a stored entry
+                    recordCompactionFailure(e);
+                } finally {
+                    synchronized (this) {
+                        compactionScheduled = false;
+                    }
+                }
+            });
+        }
+    }
+
+    private synchronized void recordCompactionFailure(Exception failure) {
+        compactionFailure = failure;
+    }
+
+    /**
+     * Merges every table of the lowest full tier into one table of the next tier.
+     * Only the final swap holds the lock; reads and writes continue while the merge runs.
+     *
+     * @return false if no tier needed compaction
+     */
+    private boolean compactOnce() throws IOException {
+        synchronized (compactionLock) {
+            return mergeLowestFullTier();
+        }
+    }
+
+    private boolean mergeLowestFullTier() throws IOException {
+        List<SortedTable<S, T>> inputs = new ArrayList<>();
+        boolean dropTombstones = true;
+        int tier;
+        long id;
+        synchronized (this) {
+            if (closed) {
+                return false;
+            }
+            tier = pickTier(tables);
+            if (tier < 0) {
+                return false;
+            }
+            for (SortedTable<S, T> table : tables) {
+                if (table.tier == tier) {
+                    inputs.add(table);
+                } else if (table.tier > tier) {
+                    // older data below the output may still need the tombstones
+                    dropTombstones = false;
+                }
+            }
+            id = nextTableId++;
+        }
+
+        long expectedEntries = 0;
+        List<Iterator<SortedTable.Entry<S>>> sources = new ArrayList<>();
+        for (SortedTable<S, T> table : inputs) {
+            sources.add(table.iterator(null));
+            expectedEntries += table.entryCount();
+        }
+        Iterator<SortedTable.Entry<S>> merged = new MergingIterator<>(sources, comparator);
+        if (dropTombstones) {
+            merged = new TombstoneFilter<>(merged);
+        }
+        Path path = tablePath(id, tier + 1);
+        SortedTable.write(path, merged, expectedEntries, keyCodec, valueCodec, SortedTable.DEFAULT_BLOCK_SIZE, false);
+        SortedTable<S, T> output = SortedTable.open(path, id, tier + 1, comparator, keyCodec, valueCodec);
+
+        synchronized (this) {
+            List<SortedTable<S, T>> replaced = new ArrayList<>(tables);
+            replaced.removeAll(inputs);
+            replaced.add(output);
+            replaced.sort(NEWEST_FIRST);
+            tables = replaced;
+            for (SortedTable<S, T> table : inputs) {
+                table.close();
+                Files.deleteIfExists(table.path);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the lowest tier holding at least {@code compactionFanIn} tables, or -1.
+     */
+    private int pickTier(List<SortedTable<S, T>> tables) {
+        int tier = -1, count = 0;
+        // tables are sorted by tier, so each tier is a consecutive run
+        for (SortedTable<S, T> table : tables) {
+            if (table.tier != tier) {
+                tier = table.tier;
+                count = 0;
+            }
+            if (++count >= compactionFanIn) {
+                return tier;
+            }
+        }
+        return -1;
+    }
+
+    private Path tablePath(long id, int tier) {
+        return directory.resolve(String.format("%012d-t%d.sst", id, tier));
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("store is closed");
+        }
+    }
+
+    /**
+     * Reports a failed background compaction once; the merge is tried again after the next flush.
+     */
+    private void rethrowCompactionFailure() {
+        Exception failure = compactionFailure;
+        if (failure != null) {
+            compactionFailure = null;
+            if (failure instanceof IOException e) {
+                throw new UncheckedIOException("background compaction failed", e);
+            }
+            throw new IllegalStateException("background compaction failed", failure);
+        }
+    }
+
+    private static final Comparator<SortedTable<?, ?>> NEWEST_FIRST =
+            (a, b) -> a.tier != b.tier ? Integer.compare(a.tier, b.tier) : Long.compare(b.id, a.id);
+
+    /**
+     * K-way merge of sorted sources given newest first; for equal keys only the newest entry is returned.
+     */
+    static final class MergingIterator<S> implements Iterator<SortedTable.Entry<S>> {
+
+        private final List<Iterator<SortedTable.Entry<S>>> sources;
+
+        private final Comparator<? super S> comparator;
+
+        private final PriorityQueue<Head<S>> heads;
+
+        MergingIterator(List<Iterator<SortedTable.Entry<S>>> sources, Comparator<? super S> comparator) {
+            this.sources = sources;
+            this.comparator = comparator;
+            this.heads = new PriorityQueue<>(Math.max(1, sources.size()), (a, b) -> {
+                int cmp = comparator.compare(a.entry.key, b.entry.key);
+                return cmp != 0 ? cmp : Integer.compare(a.source, b.source);
+            });
+            for (int i = 0; i < sources.size(); i++) {
+                advance(i);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !heads.isEmpty();
+        }
+
+        @Override
+        public SortedTable.Entry<S> next() {
+            Head<S> head = heads.poll();
+            if (head == null) {
+                throw new NoSuchElementException();
+            }
+            advance(head.source);
+            // drop older versions of the same key
+            while (!heads.isEmpty() && comparator.compare(heads.peek().entry.key, head.entry.key) == 0) {
+                advance(heads.poll().source);
+            }
+            return head.entry;
+        }
+
+        private void advance(int source) {
+            Iterator<SortedTable.Entry<S>> iterator = sources.get(source);
+            if (iterator.hasNext()) {
+                heads.add(new Head<>(iterator.next(), source));
+            }
+        }
+
+        private static final class Head<S> {
+
+            final SortedTable.Entry<S> entry;
+
+            final int source;
+
+            Head(SortedTable.Entry<S> entry, int source) {
+                this.entry = entry;
+                this.source = source;
+            }
+        }
+    }
+
+    /**
+     * Skips removed keys, used when compacting into the oldest tier where no older value can resurface.
+     */
+    private static final class TombstoneFilter<S> implements Iterator<SortedTable.Entry<S>> {
+
+        private final Iterator<SortedTable.Entry<S>> source;
+
+        private SortedTable.Entry<S> nextEntry;
+
+        TombstoneFilter(Iterator<SortedTable.Entry<S>> source) {
+            this.source = source;
+            advance();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return nextEntry != null;
+        }
+
+        @Override
+        public SortedTable.Entry<S> next() {
+            if (nextEntry == null) {
+                throw new NoSuchElementException();
+            }
+            SortedTable.Entry<S> entry = nextEntry;
+            advance();
+            return entry;
+        }
+
+        private void advance() {
+            nextEntry = null;
+            while (source.hasNext()) {
+                SortedTable.Entry<S> entry = source.next();
+                if (entry.value != TOMBSTONE) {
+                    nextEntry = entry;
+                    return;
+                }
+            }
+        }
+    }
+}
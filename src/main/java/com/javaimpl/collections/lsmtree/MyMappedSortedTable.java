@@ -0,0 +1,314 @@
+package com.javaimpl.collections.lsmtree;
+
+import com.javaimpl.collections.bloomfilter.MyBloomFilter;
+import com.javaimpl.collections.treemap.MyTreeMap;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.BiConsumer;
+
+/**
+ * A read-only sorted table answered straight from a memory-mapped file.
+ * <p>
+ * {@link #export} writes a {@link MyTreeMap} in the {@link SortedTable} layout; {@link #open} maps the index and
+ * the bloom filter once and maps the data lazily in {@code regionStride}-sized windows as lookups touch them.
+ * Nothing is copied onto the heap up front, so opening a table of tens of GB costs a few {@code mmap} calls, and a
+ * lookup decodes only the keys of the one block it reads. The same reader also opens tables written by
+ * {@link MyLsmTree}.
+ * <p>
+ * A mapping is released by the garbage collector once the table is closed and unreachable. Unmapping on
+ * {@link #close} would need a {@code MemorySegment} mapped in an {@code Arena}, which is final API only from
+ * JDK 22; this build does not require that JDK, so the table uses {@code FileChannel.map}.
+ *
+ * @param <S> class of key
+ * @param <T> class of value
+ */
+public class MyMappedSortedTable<S, T> implements Closeable {
+
+    private static final long DEFAULT_REGION_STRIDE = 1L << 30; // 1 GB
+
+    private static final int DEFAULT_REGION_OVERLAP = 1 << 24; // 16 MB
+
+    private final FileChannel channel;
+
+    private final Comparator<? super S> comparator;
+
+    private final Codec<S> keyCodec;
+
+    private final Codec<T> valueCodec;
+
+    private final boolean prefixCompressed;
+
+    private final long entryCount;
+
+    private final long dataLength;
+
+    private final MappedByteBuffer index;
+
+    private final int blockCount;
+
+    // where the fixed-width table of index entry positions starts inside the index mapping
+    private final int indexPositionsStart;
+
+    private final MappedByteBuffer bloomFilter;
+
+    private final long regionStride;
+
+    private final int regionOverlap;
+
+    private final MappedByteBuffer[] regions;
+
+    private MyMappedSortedTable(FileChannel channel, Comparator<? super S> comparator, Codec<S> keyCodec,
+                                Codec<T> valueCodec, long regionStride, int regionOverlap) throws IOException {
+        this.channel = channel;
+        this.comparator = comparator;
+        this.keyCodec = keyCodec;
+        this.valueCodec = valueCodec;
+        this.regionStride = regionStride;
+        this.regionOverlap = regionOverlap;
+
+        long fileSize = channel.size();
+        ByteBuffer footer = ByteBuffer.allocate(SortedTable.FOOTER_SIZE);
+        while (footer.hasRemaining()) {
+            if (channel.read(footer, fileSize - SortedTable.FOOTER_SIZE + footer.position()) < 0) {
+                throw new IOException("unexpected end of file");
+            }
+        }
+        footer.flip();
+        long indexOffset = footer.getLong();
+        long bloomOffset = footer.getLong();
+        entryCount = footer.getLong();
+        prefixCompressed = (footer.getInt() & SortedTable.FLAG_PREFIX_COMPRESSED) != 0;
+        if (footer.getInt() != SortedTable.MAGIC) {
+            throw new IOException("not a sorted table");
+        }
+
+        long indexLength = bloomOffset - indexOffset;
+        if (indexLength > Integer.MAX_VALUE) {
+            throw new IOException("index of " + indexLength + " bytes is too large to map");
+        }
+        index = channel.map(FileChannel.MapMode.READ_ONLY, indexOffset, indexLength);
+        blockCount = index.getInt(0);
+        indexPositionsStart = (int) indexLength - blockCount * 8;
+
+        long bloomLength = fileSize - SortedTable.FOOTER_SIZE - bloomOffset;
+        // a filter over 2 GB cannot be mapped in one piece, lookups then go straight to the blocks
+        bloomFilter = bloomLength <= Integer.MAX_VALUE
+                ? channel.map(FileChannel.MapMode.READ_ONLY, bloomOffset, bloomLength)
+                : null;
+
+        dataLength = indexOffset;
+        regions = new MappedByteBuffer[(int) Math.max(1, (dataLength + regionStride - 1) / regionStride)];
+    }
+
+    /**
+     * Writes every entry of the map to a table file.
+     *
+     * @param prefixCompression store each key as the prefix length it shares with the previous key plus the
+     *                          remaining bytes; pays off for long keys with common prefixes (paths, URLs)
+     * @throws NullPointerException if the map contains a null value
+     */
+    public static <S, T> void export(MyTreeMap<S, T> map, Path path, Codec<S> keyCodec, Codec<T> valueCodec,
+                                     boolean prefixCompression) throws IOException {
+        MyTreeMap<S, T>.Cursor cursor = map.cursor();
+        cursor.first();
+        Iterator<SortedTable.Entry<S>> entries = new Iterator<>() {
+
+            private boolean valid = cursor.isValid();
+
+            @Override
+            public boolean hasNext() {
+                return valid;
+            }
+
+            @Override
+            public SortedTable.Entry<S> next() {
+                if (!valid) {
+                    throw new NoSuchElementException();
+                }
+                if (cursor.value() == null) {
+                    throw new NullPointerException("null value for key " + cursor.key());
+                }
+                SortedTable.Entry<S> entry = new SortedTable.Entry<>(cursor.key(), cursor.value());
+                valid = cursor.next();
+                return entry;
+            }
+        };
+        SortedTable.write(path, entries, map.size(), keyCodec, valueCodec, SortedTable.DEFAULT_BLOCK_SIZE,
+                prefixCompression);
+    }
+
+    /**
+     * Maps a table file. The comparator must order keys the same way as the map the file was exported from.
+     */
+    public static <S, T> MyMappedSortedTable<S, T> open(Path path, Comparator<? super S> comparator,
+                                                        Codec<S> keyCodec, Codec<T> valueCodec) throws IOException {
+        return open(path, comparator, keyCodec, valueCodec, DEFAULT_REGION_STRIDE, DEFAULT_REGION_OVERLAP);
+    }
+
+    static <S, T> MyMappedSortedTable<S, T> open(Path path, Comparator<? super S> comparator, Codec<S> keyCodec,
+                                                 Codec<T> valueCodec, long regionStride, int regionOverlap) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            return new MyMappedSortedTable<>(channel, comparator, keyCodec, valueCodec, regionStride, regionOverlap);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public long size() {
+        return entryCount;
+    }
+
+    public T get(S key) {
+        try {
+            if (bloomFilter != null
+                    && !MyBloomFilter.mightContainHash(bloomFilter, SortedTable.hash(SortedTable.encode(keyCodec, key)))) {
+                return null;
+            }
+            int block = findBlock(key);
+            if (block < 0) {
+                return null;
+            }
+            SortedTable.BlockReader reader = blockReader(block);
+            while (reader.next()) {
+                int cmp = comparator.compare(SortedTable.decode(keyCodec, reader.key), key);
+                if (cmp == 0) {
+                    return reader.tombstone ? null : SortedTable.decode(valueCodec, reader.value());
+                } else if (cmp > 0) {
+                    return null;
+                }
+            }
+            return null;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public boolean containsKey(S key) {
+        return get(key) != null;
+    }
+
+    /**
+     * Returns the greatest key less than or equal to the given key, or null.
+     */
+    public S floorKey(S key) {
+        try {
+            int block = findBlock(key);
+            S floor = null;
+            // the block's first key is <= key, so a floor exists unless every candidate is a tombstone
+            for (; block >= 0 && floor == null; block--) {
+                SortedTable.BlockReader reader = blockReader(block);
+                while (reader.next()) {
+                    S candidate = SortedTable.decode(keyCodec, reader.key);
+                    if (comparator.compare(candidate, key) > 0) {
+                        break;
+                    }
+                    floor = reader.tombstone ? floor : candidate;
+                }
+            }
+            return floor;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Visits, in ascending order, every entry with {@code fromKey <= key < toKey}. A null bound is open.
+     */
+    public void scan(S fromKey, S toKey, BiConsumer<? super S, ? super T> visitor) {
+        try {
+            for (int block = fromKey == null ? 0 : Math.max(0, findBlock(fromKey)); block < blockCount; block++) {
+                SortedTable.BlockReader reader = blockReader(block);
+                while (reader.next()) {
+                    S key = SortedTable.decode(keyCodec, reader.key);
+                    if (fromKey != null && comparator.compare(key, fromKey) < 0) {
+                        continue;
+                    }
+                    if (toKey != null && comparator.compare(key, toKey) >= 0) {
+                        return;
+                    }
+                    if (!reader.tombstone) {
+                        visitor.accept(key, SortedTable.decode(valueCodec, reader.value()));
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Returns the last block whose first key is less than or equal to the given key, or -1.
+     */
+    private int findBlock(S key) throws IOException {
+        int low = 0, high = blockCount - 1, result = -1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int entry = indexEntry(mid);
+            byte[] firstKey = new byte[index.getInt(entry)];
+            index.get(entry + 4, firstKey);
+            if (comparator.compare(SortedTable.decode(keyCodec, firstKey), key) <= 0) {
+                result = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return result;
+    }
+
+    private int indexEntry(int block) {
+        return (int) index.getLong(indexPositionsStart + block * 8);
+    }
+
+    private SortedTable.BlockReader blockReader(int block) throws IOException {
+        int entry = indexEntry(block);
+        int keyLength = index.getInt(entry);
+        long offset = index.getLong(entry + 4 + keyLength);
+        int length = index.getInt(entry + 12 + keyLength);
+
+        int regionIndex = (int) (offset / regionStride);
+        MappedByteBuffer region = region(regionIndex);
+        long regionStart = regionIndex * regionStride;
+        ByteBuffer data;
+        if (offset + length <= regionStart + region.capacity()) {
+            data = region.slice((int) (offset - regionStart), length);
+        } else {
+            // a single record larger than the overlap, map the block on its own
+            data = channel.map(FileChannel.MapMode.READ_ONLY, offset, length);
+        }
+        return new SortedTable.BlockReader(data, prefixCompressed);
+    }
+
+    /**
+     * Maps the i-th data window on first use. Windows overlap, so a block starting in window i normally
+     * ends inside it too.
+     */
+    private MappedByteBuffer region(int regionIndex) throws IOException {
+        synchronized (regions) {
+            MappedByteBuffer region = regions[regionIndex];
+            if (region == null) {
+                long start = regionIndex * regionStride;
+                long length = Math.min(dataLength - start, regionStride + regionOverlap);
+                region = regions[regionIndex] = channel.map(FileChannel.MapMode.READ_ONLY, start, length);
+            }
+            return region;
+        }
+    }
+}
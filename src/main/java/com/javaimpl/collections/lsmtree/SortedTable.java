@@ -0,0 +1,447 @@
+package com.javaimpl.collections.lsmtree;
+
+import com.javaimpl.collections.bloomfilter.MyBloomFilter;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * An immutable sorted file of key/value records (an SSTable).
+ * <p>
+ * Layout:
+ * <pre>
+ * [data block]...[data block][index][bloom filter][footer]
+ *
+ * record : int keyLength, key, byte flag (0 = value, 1 = tombstone), [int valueLength, value]
+ *          with prefix compression the key is stored as int sharedLength, int suffixLength, suffix,
+ *          where sharedLength bytes are taken from the previous key of the same block
+ * index  : int blockCount, then per block: int keyLength, first key, long offset, int length,
+ *          then per block: long position of its index entry (relative to the index start)
+ * footer : long indexOffset, long bloomOffset, long entryCount, int flags, int magic
+ * </pre>
+ * The index and the bloom filter are loaded into memory when the table is opened; a lookup then reads
+ * exactly one data block. {@link MyMappedSortedTable} reads the same layout straight from a memory mapping.
+ *
+ * @param <S> class of key
+ * @param <T> class of value
+ */
+final class SortedTable<S, T> implements Closeable {
+
+    static final int DEFAULT_BLOCK_SIZE = 4096;
+
+    static final double BLOOM_FALSE_POSITIVE_RATE = 0.01;
+
+    static final int MAGIC = 0x4C534D54; // "LSMT"
+
+    static final int FOOTER_SIZE = 8 + 8 + 8 + 4 + 4;
+
+    static final int FLAG_PREFIX_COMPRESSED = 1;
+
+    private static final byte FLAG_VALUE = 0;
+
+    private static final byte FLAG_TOMBSTONE = 1;
+
+    final Path path;
+
+    final long id;
+
+    final int tier;
+
+    private final FileChannel channel;
+
+    private final boolean prefixCompressed;
+
+    private final Comparator<? super S> comparator;
+
+    private final Codec<S> keyCodec;
+
+    private final Codec<T> valueCodec;
+
+    private final Object[] blockFirstKeys;
+
+    private final long[] blockOffsets;
+
+    private final int[] blockLengths;
+
+    private final MyBloomFilter<S> bloomFilter;
+
+    private final long entryCount;
+
+    private SortedTable(Path path, long id, int tier, FileChannel channel, boolean prefixCompressed,
+                        Comparator<? super S> comparator, Codec<S> keyCodec, Codec<T> valueCodec,
+                        Object[] blockFirstKeys, long[] blockOffsets, int[] blockLengths,
+                        MyBloomFilter<S> bloomFilter, long entryCount) {
+        this.path = path;
+        this.id = id;
+        this.tier = tier;
+        this.channel = channel;
+        this.prefixCompressed = prefixCompressed;
+        this.comparator = comparator;
+        this.keyCodec = keyCodec;
+        this.valueCodec = valueCodec;
+        this.blockFirstKeys = blockFirstKeys;
+        this.blockOffsets = blockOffsets;
+        this.blockLengths = blockLengths;
+        this.bloomFilter = bloomFilter;
+        this.entryCount = entryCount;
+    }
+
+    /**
+     * Writes the entries (which must be in ascending key order) to a new table file. The file is written under a
+     * temporary name and renamed once complete, so a crash never leaves a half-written table behind.
+     *
+     * @param prefixCompression store each key as the length of the prefix shared with the previous key of the
+     *                          block plus the remaining suffix
+     */
+    static <S, T> void write(Path path, Iterator<Entry<S>> entries, long expectedEntries, Codec<S> keyCodec,
+                             Codec<T> valueCodec, int blockSize, boolean prefixCompression) throws IOException {
+        Path tempPath = path.resolveSibling(path.getFileName() + ".tmp");
+        MyBloomFilter<S> bloomFilter = new MyBloomFilter<>((int) Math.min(expectedEntries, Integer.MAX_VALUE),
+                BLOOM_FALSE_POSITIVE_RATE);
+        ByteArrayOutputStream index = new ByteArrayOutputStream();
+        DataOutputStream indexOut = new DataOutputStream(index);
+        ByteArrayOutputStream indexPositions = new ByteArrayOutputStream();
+        DataOutputStream indexPositionsOut = new DataOutputStream(indexPositions);
+        byte[] previousKey = null;
+        int blockCount = 0;
+        long entryCount = 0;
+
+        try (FileOutputStream file = new FileOutputStream(tempPath.toFile());
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file, 1 << 16))) {
+            // DataOutputStream.size() is an int, so count the absolute offset as a long ourselves
+            long position = 0, blockStart = 0;
+            while (entries.hasNext()) {
+                Entry<S> entry = entries.next();
+                byte[] key = encode(keyCodec, entry.key);
+                if (position == blockStart) {
+                    // first record of a new block goes into the index
+                    indexPositionsOut.writeLong(4 + index.size());
+                    indexOut.writeInt(key.length);
+                    indexOut.write(key);
+                    indexOut.writeLong(blockStart);
+                    blockCount++;
+                    previousKey = null;
+                }
+                if (prefixCompression) {
+                    int shared = previousKey == null ? 0 : sharedPrefixLength(previousKey, key);
+                    out.writeInt(shared);
+                    out.writeInt(key.length - shared);
+                    out.write(key, shared, key.length - shared);
+                    position += 8 + key.length - shared + 1;
+                    previousKey = key;
+                } else {
+                    out.writeInt(key.length);
+                    out.write(key);
+                    position += 4 + key.length + 1;
+                }
+                if (entry.value == MyLsmTree.TOMBSTONE) {
+                    out.writeByte(FLAG_TOMBSTONE);
+                } else {
+                    @SuppressWarnings("unchecked") // anything but a tombstone is a T
+                    byte[] value = encode(valueCodec, (T) entry.value);
+                    out.writeByte(FLAG_VALUE);
+                    out.writeInt(value.length);
+                    out.write(value);
+                    position += 4 + value.length;
+                }
+                bloomFilter.putHash(hash(key));
+                entryCount++;
+                if (position - blockStart >= blockSize) {
+                    indexOut.writeInt((int) (position - blockStart));
+                    blockStart = position;
+                }
+            }
+            if (position != blockStart) {
+                indexOut.writeInt((int) (position - blockStart));
+            }
+
+            long indexOffset = position;
+            out.writeInt(blockCount);
+            index.writeTo(out);
+            indexPositions.writeTo(out);
+            long bloomOffset = indexOffset + 4 + index.size() + indexPositions.size();
+            bloomFilter.writeTo(out);
+            out.writeLong(indexOffset);
+            out.writeLong(bloomOffset);
+            out.writeLong(entryCount);
+            out.writeInt(prefixCompression ? FLAG_PREFIX_COMPRESSED : 0);
+            out.writeInt(MAGIC);
+            out.flush();
+            file.getFD().sync();
+        }
+        Files.move(tempPath, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    static <S, T> SortedTable<S, T> open(Path path, long id, int tier, Comparator<? super S> comparator,
+                                         Codec<S> keyCodec, Codec<T> valueCodec) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            long fileSize = channel.size();
+            ByteBuffer footer = readFully(channel, fileSize - FOOTER_SIZE, FOOTER_SIZE);
+            long indexOffset = footer.getLong();
+            long bloomOffset = footer.getLong();
+            long entryCount = footer.getLong();
+            int flags = footer.getInt();
+            if (footer.getInt() != MAGIC) {
+                throw new IOException("not a sorted table: " + path);
+            }
+
+            DataInputStream index = new DataInputStream(new ByteArrayInputStream(
+                    readFully(channel, indexOffset, (int) (bloomOffset - indexOffset)).array()));
+            int blockCount = index.readInt();
+            Object[] blockFirstKeys = new Object[blockCount];
+            long[] blockOffsets = new long[blockCount];
+            int[] blockLengths = new int[blockCount];
+            for (int i = 0; i < blockCount; i++) {
+                byte[] key = new byte[index.readInt()];
+                index.readFully(key);
+                blockFirstKeys[i] = decode(keyCodec, key);
+                blockOffsets[i] = index.readLong();
+                blockLengths[i] = index.readInt();
+            }
+
+            DataInputStream bloom = new DataInputStream(new ByteArrayInputStream(
+                    readFully(channel, bloomOffset, (int) (fileSize - FOOTER_SIZE - bloomOffset)).array()));
+            MyBloomFilter<S> bloomFilter = MyBloomFilter.readFrom(bloom);
+
+            return new SortedTable<>(path, id, tier, channel, (flags & FLAG_PREFIX_COMPRESSED) != 0, comparator,
+                    keyCodec, valueCodec, blockFirstKeys, blockOffsets, blockLengths, bloomFilter, entryCount);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    long entryCount() {
+        return entryCount;
+    }
+
+    /**
+     * @return the value, {@link MyLsmTree#TOMBSTONE} if the key was removed, or null if this table has no record
+     */
+    Object get(S key) throws IOException {
+        if (!bloomFilter.mightContainHash(hash(encode(keyCodec, key)))) {
+            return null;
+        }
+        int block = findBlock(key);
+        if (block < 0) {
+            return null;
+        }
+        BlockReader reader = new BlockReader(readFully(channel, blockOffsets[block], blockLengths[block]), prefixCompressed);
+        while (reader.next()) {
+            int cmp = comparator.compare(decode(keyCodec, reader.key), key);
+            if (cmp == 0) {
+                return reader.tombstone ? MyLsmTree.TOMBSTONE : decode(valueCodec, reader.value());
+            } else if (cmp > 0) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Iterates the records with keys greater than or equal to {@code fromKey} (all records if null), in order.
+     */
+    Iterator<Entry<S>> iterator(S fromKey) {
+        int startBlock = fromKey == null ? 0 : Math.max(0, findBlock(fromKey));
+        return new Iterator<>() {
+
+            private int block = startBlock;
+
+            private BlockReader reader;
+
+            private Entry<S> nextEntry = advance();
+
+            @Override
+            public boolean hasNext() {
+                return nextEntry != null;
+            }
+
+            @Override
+            public Entry<S> next() {
+                if (nextEntry == null) {
+                    throw new NoSuchElementException();
+                }
+                Entry<S> entry = nextEntry;
+                nextEntry = advance();
+                return entry;
+            }
+
+            private Entry<S> advance() {
+                try {
+                    while (true) {
+                        if (reader == null || !reader.next()) {
+                            if (block >= blockOffsets.length) {
+                                return null;
+                            }
+                            reader = new BlockReader(readFully(channel, blockOffsets[block], blockLengths[block]),
+                                    prefixCompressed);
+                            block++;
+                            continue;
+                        }
+                        S key = decode(keyCodec, reader.key);
+                        if (fromKey != null && comparator.compare(key, fromKey) < 0) {
+                            continue;
+                        }
+                        return new Entry<>(key, reader.tombstone ? MyLsmTree.TOMBSTONE : decode(valueCodec, reader.value()));
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        };
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Returns the last block whose first key is less than or equal to the given key, or -1.
+     */
+    @SuppressWarnings("unchecked") // blockFirstKeys holds decoded keys
+    private int findBlock(S key) {
+        int low = 0, high = blockFirstKeys.length - 1, result = -1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (comparator.compare((S) blockFirstKeys[mid], key) <= 0) {
+                result = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return result;
+    }
+
+    private static ByteBuffer readFully(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("unexpected end of file");
+            }
+        }
+        return buffer.flip();
+    }
+
+    private static int sharedPrefixLength(byte[] a, byte[] b) {
+        int length = Math.min(a.length, b.length), i = 0;
+        while (i < length && a[i] == b[i]) {
+            i++;
+        }
+        return i;
+    }
+
+    static <S> byte[] encode(Codec<S> codec, S value) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        codec.write(value, out);
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    static <S> S decode(Codec<S> codec, byte[] bytes) throws IOException {
+        return codec.read(new DataInputStream(new ByteArrayInputStream(bytes)));
+    }
+
+    /**
+     * 64-bit FNV-1a over the serialized key, so bloom filters written by one JVM stay valid in the next
+     * (Object.hashCode() gives no such guarantee).
+     */
+    static long hash(byte[] bytes) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : bytes) {
+            h ^= b & 0xff;
+            h *= 0x100000001b3L;
+        }
+        return MyBloomFilter.mix64(h);
+    }
+
+    /**
+     * Walks the records of one data block.
+     */
+    static final class BlockReader {
+
+        private final ByteBuffer block;
+
+        private final boolean prefixCompressed;
+
+        byte[] key;
+
+        boolean tombstone;
+
+        private int valueOffset;
+
+        private int valueLength;
+
+        BlockReader(ByteBuffer block, boolean prefixCompressed) {
+            this.block = block;
+            this.prefixCompressed = prefixCompressed;
+        }
+
+        boolean next() {
+            if (!block.hasRemaining()) {
+                return false;
+            }
+            if (prefixCompressed) {
+                int shared = block.getInt();
+                byte[] nextKey = new byte[shared + block.getInt()];
+                if (shared > 0) {
+                    System.arraycopy(key, 0, nextKey, 0, shared);
+                }
+                block.get(nextKey, shared, nextKey.length - shared);
+                key = nextKey;
+            } else {
+                key = new byte[block.getInt()];
+                block.get(key);
+            }
+            tombstone = block.get() == FLAG_TOMBSTONE;
+            if (tombstone) {
+                valueLength = 0;
+            } else {
+                valueLength = block.getInt();
+                valueOffset = block.position();
+                block.position(valueOffset + valueLength);
+            }
+            return true;
+        }
+
+        byte[] value() {
+            byte[] value = new byte[valueLength];
+            block.get(valueOffset, value);
+            return value;
+        }
+    }
+
+    /**
+     * A key with either its value or {@link MyLsmTree#TOMBSTONE}.
+     */
+    static final class Entry<S> {
+
+        final S key;
+
+        final Object value;
+
+        Entry(S key, Object value) {
+            this.key = key;
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.javaimpl.collections.lsmtree;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.BiConsumer;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only log of memtable mutations, replayed on startup to rebuild the memtable.
+ * <p>
+ * Record: {@code int payloadLength, int crc32(payload), payload}, where the payload is
+ * {@code byte op, key, [value]}. Replay stops at the first torn or corrupt record and cuts the file there.
+ *
+ * @param <S> class of key
+ * @param <T> class of value
+ */
+final class WriteAheadLog<S, T> implements Closeable {
+
+    private static final byte OP_PUT = 0;
+
+    private static final byte OP_REMOVE = 1;
+
+    private static final int HEADER_SIZE = 8;
+
+    private final FileChannel channel;
+
+    private final Codec<S> keyCodec;
+
+    private final Codec<T> valueCodec;
+
+    private final boolean syncWrites;
+
+    private final ByteArrayOutputStream record = new ByteArrayOutputStream();
+
+    private final DataOutputStream recordOut = new DataOutputStream(record);
+
+    private final CRC32 crc = new CRC32();
+
+    WriteAheadLog(Path path, Codec<S> keyCodec, Codec<T> valueCodec, boolean syncWrites) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.keyCodec = keyCodec;
+        this.valueCodec = valueCodec;
+        this.syncWrites = syncWrites;
+    }
+
+    /**
+     * Feeds every intact record to the consumer (value is {@link MyLsmTree#TOMBSTONE} for removals), then
+     * truncates a torn tail and positions the log for appending.
+     */
+    void replay(BiConsumer<S, Object> consumer) throws IOException {
+        long validLength = 0;
+        long fileSize = channel.size();
+        channel.position(0);
+        DataInputStream in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel)));
+        while (validLength + HEADER_SIZE <= fileSize) {
+            int length = in.readInt();
+            int checksum = in.readInt();
+            if (length < 0 || validLength + HEADER_SIZE + length > fileSize) {
+                break;
+            }
+            byte[] payload = new byte[length];
+            in.readFully(payload);
+            crc.reset();
+            crc.update(payload);
+            if ((int) crc.getValue() != checksum) {
+                break;
+            }
+            DataInputStream payloadIn = new DataInputStream(new ByteArrayInputStream(payload));
+            byte op = payloadIn.readByte();
+            S key = keyCodec.read(payloadIn);
+            consumer.accept(key, op == OP_REMOVE ? MyLsmTree.TOMBSTONE : valueCodec.read(payloadIn));
+            validLength += HEADER_SIZE + length;
+        }
+        channel.truncate(validLength);
+        channel.position(validLength);
+    }
+
+    /**
+     * Appends a put (or a removal when value is {@link MyLsmTree#TOMBSTONE}).
+     *
+     * @return number of bytes appended
+     */
+    int append(S key, Object value) throws IOException {
+        record.reset();
+        recordOut.writeInt(0); // placeholders for length and checksum
+        recordOut.writeInt(0);
+        if (value == MyLsmTree.TOMBSTONE) {
+            recordOut.writeByte(OP_REMOVE);
+            keyCodec.write(key, recordOut);
+        } else {
+            recordOut.writeByte(OP_PUT);
+            keyCodec.write(key, recordOut);
+            @SuppressWarnings("unchecked") // anything but a tombstone is a T
+            T typed = (T) value;
+            valueCodec.write(typed, recordOut);
+        }
+        recordOut.flush();
+
+        ByteBuffer buffer = ByteBuffer.wrap(record.toByteArray());
+        int length = buffer.limit() - HEADER_SIZE;
+        crc.reset();
+        crc.update(buffer.array(), HEADER_SIZE, length);
+        buffer.putInt(0, length);
+        buffer.putInt(4, (int) crc.getValue());
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        if (syncWrites) {
+            channel.force(false);
+        }
+        return buffer.limit();
+    }
+
+    long size() throws IOException {
+        return channel.size();
+    }
+
+    /**
+     * Drops every record, called once the memtable they describe has been flushed to a table.
+     */
+    void truncate() throws IOException {
+        channel.truncate(0);
+        channel.position(0);
+        channel.force(true);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
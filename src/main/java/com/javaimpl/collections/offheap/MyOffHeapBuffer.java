@@ -0,0 +1,318 @@
+package com.javaimpl.collections.offheap;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * A growable list of fixed-width records kept in native memory, outside the Java heap.
+ * <p>
+ * Records follow a {@link RecordLayout} and are read and written lane by lane ({@link #getLong}, {@link #setInt},
+ * ...). The heap holds only this object and an array of segment handles, so the garbage collector has nothing to
+ * mark however many records there are. Memory is returned to the operating system by {@link #close()} where the
+ * JDK still offers {@code Unsafe.invokeCleaner}, and otherwise once the garbage collector finds the closed
+ * segments unreachable.
+ * <p>
+ * Storage starts as one segment grown by 1.5x like {@code MyArrayList.expand}; once that segment reaches
+ * {@code maxSegmentBytes} (1 GB), further growth adds whole segments without copying.
+ * <p>
+ * Not thread-safe. Touching a buffer after {@link #close()} throws instead of reading freed memory, but a close
+ * racing with another thread's access is undefined.
+ */
+public class MyOffHeapBuffer implements Closeable {
+
+    private static final int DEFAULT_CAPACITY = 10;
+
+    private static final int DEFAULT_MAX_SEGMENT_BYTES = 1 << 30;
+
+    // Unsafe.invokeCleaner bound to the Unsafe instance, or null where it cannot be found
+    private static final MethodHandle INVOKE_CLEANER = findInvokeCleaner();
+
+    private final RecordLayout layout;
+
+    private final int recordSize;
+
+    private final int segmentShift;
+
+    private final long segmentMask;
+
+    private ByteBuffer[] segments;
+
+    private long capacity;
+
+    private long size;
+
+    // records below this index may hold old data and are zeroed by add()
+    private long dirtySize;
+
+    public MyOffHeapBuffer(RecordLayout layout) {
+        this(layout, DEFAULT_CAPACITY);
+    }
+
+    public MyOffHeapBuffer(RecordLayout layout, long initialCapacity) {
+        this(layout, initialCapacity, DEFAULT_MAX_SEGMENT_BYTES);
+    }
+
+    MyOffHeapBuffer(RecordLayout layout, long initialCapacity, int maxSegmentBytes) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("capacity must not be negative");
+        }
+        if (layout.recordSize() > maxSegmentBytes) {
+            throw new IllegalArgumentException("record of " + layout.recordSize() + " bytes does not fit a segment");
+        }
+        this.layout = layout;
+        this.recordSize = layout.recordSize();
+        int recordsPerSegment = Integer.highestOneBit(maxSegmentBytes / recordSize);
+        this.segmentShift = Integer.numberOfTrailingZeros(recordsPerSegment);
+        this.segmentMask = recordsPerSegment - 1;
+        this.segments = new ByteBuffer[0];
+        ensureCapacity(initialCapacity);
+    }
+
+    public RecordLayout layout() {
+        return layout;
+    }
+
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Appends a record with every lane set to zero.
+     *
+     * @return index of the new record
+     */
+    public long add() {
+        long index = append();
+        if (index < dirtySize) {
+            ByteBuffer segment = segments[(int) (index >>> segmentShift)];
+            int position = (int) (index & segmentMask) * recordSize;
+            for (int i = 0; i < recordSize; i += 4) {
+                segment.putInt(position + i, 0);
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Appends a record for a single-lane {@link RecordLayout#INTS} layout.
+     */
+    public void addInt(int value) {
+        setInt(append(), 0, value);
+    }
+
+    /**
+     * Appends a record for a single-lane {@link RecordLayout#LONGS} layout.
+     */
+    public void addLong(long value) {
+        setLong(append(), 0, value);
+    }
+
+    /**
+     * Appends a record for a single-lane {@link RecordLayout#DOUBLES} layout.
+     */
+    public void addDouble(double value) {
+        setDouble(append(), 0, value);
+    }
+
+    public int getInt(long index, int lane) {
+        checkIndex(index);
+        return segments[(int) (index >>> segmentShift)].getInt(position(index, layout.offset(lane, RecordLayout.Lane.INT)));
+    }
+
+    public long getLong(long index, int lane) {
+        checkIndex(index);
+        return segments[(int) (index >>> segmentShift)].getLong(position(index, layout.offset(lane, RecordLayout.Lane.LONG)));
+    }
+
+    public double getDouble(long index, int lane) {
+        checkIndex(index);
+        return segments[(int) (index >>> segmentShift)].getDouble(position(index, layout.offset(lane, RecordLayout.Lane.DOUBLE)));
+    }
+
+    public void setInt(long index, int lane, int value) {
+        checkIndex(index);
+        segments[(int) (index >>> segmentShift)].putInt(position(index, layout.offset(lane, RecordLayout.Lane.INT)), value);
+    }
+
+    public void setLong(long index, int lane, long value) {
+        checkIndex(index);
+        segments[(int) (index >>> segmentShift)].putLong(position(index, layout.offset(lane, RecordLayout.Lane.LONG)), value);
+    }
+
+    public void setDouble(long index, int lane, double value) {
+        checkIndex(index);
+        segments[(int) (index >>> segmentShift)].putDouble(position(index, layout.offset(lane, RecordLayout.Lane.DOUBLE)), value);
+    }
+
+    /**
+     * Drops every record from newSize on. The memory is kept for later adds.
+     */
+    public void truncate(long newSize) {
+        if (newSize < 0 || newSize > size) {
+            throw new IndexOutOfBoundsException("Index: " + newSize + ", Size: " + size);
+        }
+        size = newSize;
+    }
+
+    public void clear() {
+        truncate(0);
+    }
+
+    /**
+     * Writes the records to a file as raw little-endian bytes, {@code size() * recordSize} of them, straight from
+     * native memory.
+     */
+    public void writeTo(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            for (long written = 0; written < size; ) {
+                ByteBuffer segment = segments[(int) (written >>> segmentShift)];
+                long records = Math.min(size - written, segmentMask + 1);
+                ByteBuffer slice = segment.duplicate().position(0).limit((int) records * recordSize);
+                while (slice.hasRemaining()) {
+                    channel.write(slice);
+                }
+                written += records;
+            }
+        }
+    }
+
+    /**
+     * Loads a file written by {@link #writeTo} into a new buffer, reading directly into native memory.
+     */
+    public static MyOffHeapBuffer readFrom(Path path, RecordLayout layout) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long bytes = channel.size();
+            if (bytes % layout.recordSize() != 0) {
+                throw new IOException("file size " + bytes + " is not a multiple of the record size " + layout.recordSize());
+            }
+            long count = bytes / layout.recordSize();
+            MyOffHeapBuffer buffer = new MyOffHeapBuffer(layout, count);
+            try {
+                for (long read = 0; read < count; ) {
+                    ByteBuffer segment = buffer.segments[(int) (read >>> buffer.segmentShift)];
+                    long records = Math.min(count - read, buffer.segmentMask + 1);
+                    ByteBuffer slice = segment.duplicate().position(0).limit((int) records * buffer.recordSize);
+                    while (slice.hasRemaining()) {
+                        if (channel.read(slice) < 0) {
+                            throw new IOException("unexpected end of file");
+                        }
+                    }
+                    read += records;
+                }
+            } catch (IOException | RuntimeException e) {
+                buffer.close();
+                throw e;
+            }
+            buffer.size = buffer.dirtySize = count;
+            return buffer;
+        }
+    }
+
+    /**
+     * Frees the native memory: at once if the cleaner could be looked up, otherwise when the garbage collector
+     * reclaims the dropped segments. The buffer is empty afterwards and every access throws.
+     */
+    @Override
+    public void close() {
+        for (ByteBuffer segment : segments) {
+            free(segment);
+        }
+        segments = new ByteBuffer[0];
+        capacity = size = dirtySize = 0;
+    }
+
+    private long append() {
+        if (size == capacity) {
+            ensureCapacity(size + 1);
+        }
+        long index = size++;
+        dirtySize = Math.max(dirtySize, size);
+        return index;
+    }
+
+    private void checkIndex(long index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    private int position(long index, int offset) {
+        return (int) (index & segmentMask) * recordSize + offset;
+    }
+
+    private void ensureCapacity(long expectedCapacity) {
+        if (expectedCapacity <= capacity) {
+            return;
+        }
+        long recordsPerSegment = segmentMask + 1;
+        if (capacity < recordsPerSegment) {
+            // single segment: grow 1.5x and copy, as MyArrayList.expand does, up to a full segment
+            long targetCapacity = capacity + (capacity >> 1);
+            long newCapacity = Math.min(recordsPerSegment, Math.max(targetCapacity, expectedCapacity));
+            ByteBuffer grown = allocate((int) newCapacity * recordSize);
+            if (segments.length > 0) {
+                ByteBuffer old = segments[0];
+                grown.put(0, old, 0, (int) Math.min(size, capacity) * recordSize);
+                free(old);
+            }
+            segments = new ByteBuffer[]{grown};
+            capacity = newCapacity;
+            if (dirtySize > size) {
+                dirtySize = size; // only live records were copied, the rest of the new segment is zero
+            }
+        }
+        // past one segment, add whole segments; existing ones never move
+        while (capacity < expectedCapacity) {
+            segments = Arrays.copyOf(segments, segments.length + 1);
+            segments[segments.length - 1] = allocate((int) recordsPerSegment * recordSize);
+            capacity += recordsPerSegment;
+        }
+    }
+
+    private static ByteBuffer allocate(int bytes) {
+        // little-endian is the native order on x86 and ARM, and keeps files written by writeTo portable
+        return ByteBuffer.allocateDirect(bytes).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Releases a direct buffer's memory now rather than whenever the garbage collector finds it unreachable.
+     * {@code Unsafe.invokeCleaner} is the only way to do so on a JDK without the final foreign memory API.
+     */
+    private static void free(ByteBuffer buffer) {
+        if (INVOKE_CLEANER != null) {
+            try {
+                INVOKE_CLEANER.invokeExact(buffer);
+            } catch (Throwable e) {
+                throw new IllegalStateException("Failed to free a direct buffer", e);
+            }
+        }
+    }
+
+    /**
+     * Looks {@code sun.misc.Unsafe} up by name, so the class neither compiles against an internal API nor fails
+     * to load on a JDK without it; the buffer then falls back to freeing on garbage collection.
+     */
+    private static MethodHandle findInvokeCleaner() {
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field field = unsafeClass.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+            return MethodHandles.lookup()
+                    .findVirtual(unsafeClass, "invokeCleaner", MethodType.methodType(void.class, ByteBuffer.class))
+                    .bindTo(field.get(null));
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.javaimpl.collections.offheap;
+
+import java.util.Arrays;
+
+/**
+ * The fixed-width layout of one record in a {@link MyOffHeapBuffer}: an ordered list of int / long / double lanes.
+ * <p>
+ * Each lane is placed at the next offset aligned to its own size, and the record is padded to the largest lane,
+ * like a C struct, so no lane of any record straddles an alignment boundary.
+ */
+public final class RecordLayout {
+
+    public enum Lane {
+        INT(4), LONG(8), DOUBLE(8);
+
+        final int bytes;
+
+        Lane(int bytes) {
+            this.bytes = bytes;
+        }
+    }
+
+    public static final RecordLayout INTS = of(Lane.INT);
+
+    public static final RecordLayout LONGS = of(Lane.LONG);
+
+    public static final RecordLayout DOUBLES = of(Lane.DOUBLE);
+
+    private final Lane[] lanes;
+
+    private final int[] offsets;
+
+    private final int recordSize;
+
+    private RecordLayout(Lane[] lanes) {
+        this.lanes = lanes;
+        this.offsets = new int[lanes.length];
+        int offset = 0, alignment = 1;
+        for (int i = 0; i < lanes.length; i++) {
+            int bytes = lanes[i].bytes;
+            offset = (offset + bytes - 1) / bytes * bytes;
+            offsets[i] = offset;
+            offset += bytes;
+            alignment = Math.max(alignment, bytes);
+        }
+        this.recordSize = (offset + alignment - 1) / alignment * alignment;
+    }
+
+    public static RecordLayout of(Lane... lanes) {
+        if (lanes.length == 0) {
+            throw new IllegalArgumentException("a record needs at least one lane");
+        }
+        return new RecordLayout(lanes.clone());
+    }
+
+    public int recordSize() {
+        return recordSize;
+    }
+
+    public int laneCount() {
+        return lanes.length;
+    }
+
+    /**
+     * Returns the byte offset of a lane inside the record, checking that the lane holds the given type.
+     */
+    int offset(int lane, Lane type) {
+        if (lane < 0 || lane >= lanes.length) {
+            throw new IndexOutOfBoundsException("Lane: " + lane + ", Lanes: " + lanes.length);
+        }
+        if (lanes[lane] != type) {
+            throw new IllegalArgumentException("lane " + lane + " is " + lanes[lane] + ", not " + type);
+        }
+        return offsets[lane];
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(lanes) + " (" + recordSize + " bytes)";
+    }
+}
@@ -0,0 +1,230 @@
+package com.javaimpl.collections.ringqueue;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Objects;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * A bounded, lock-free queue for many producer threads and exactly one consumer thread, over a ring of slots.
+ * <p>
+ * Producers claim a position by a CAS on {@code producerIndex} and then publish the element by a release store
+ * into its slot; nothing is allocated per element. The single consumer reads slots in order: a null slot at a
+ * claimed position means its producer has not published yet. After taking an element the consumer nulls the
+ * slot and moves {@code consumerIndex}, which is what frees the slot for producers.
+ * <p>
+ * {@link #drain} takes up to {@code maxBatch} elements and moves {@code consumerIndex} once for the whole batch,
+ * so the consumer writes the shared counter once per batch rather than once per element. Producers likewise keep
+ * a cached {@code producerLimit} and read {@code consumerIndex} only when the cache says the ring may be full.
+ * <p>
+ * The three counters are {@link PaddedSequence}s, each on its own cache lines, so producers CASing
+ * {@code producerIndex} do not keep invalidating the line the consumer writes {@code consumerIndex} to.
+ * <p>
+ * Null elements are not allowed. {@link #poll}, {@link #take} and {@link #drain} must only be called from one
+ * thread at a time.
+ *
+ * @param <S> class of stored object
+ */
+public class MyMpscRingQueue<S> {
+
+    private static final VarHandle SLOT = MethodHandles.arrayElementVarHandle(Object[].class);
+
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    private static final long PARK_NANOS = 10_000;
+
+    private final Object[] buffer;
+
+    private final int mask;
+
+    private final WaitStrategy waitStrategy;
+
+    // next position to claim, written by producers
+    private final PaddedSequence producerIndex = new PaddedSequence(0);
+
+    // producers may claim positions below this without reading consumerIndex
+    private final PaddedSequence producerLimit;
+
+    // next position to take, written by the consumer only
+    private final PaddedSequence consumerIndex = new PaddedSequence(0);
+
+    public MyMpscRingQueue(int capacity) {
+        this(capacity, WaitStrategy.YIELD);
+    }
+
+    /**
+     * @param capacity     maximum number of elements, rounded up to a power of two
+     * @param waitStrategy how {@link #put} and {@link #take} wait for room or for an element
+     */
+    public MyMpscRingQueue(int capacity, WaitStrategy waitStrategy) {
+        if (capacity < 1 || capacity > MAXIMUM_CAPACITY) {
+            throw new IllegalArgumentException("Illegal capacity: " + capacity);
+        }
+        int size = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        this.buffer = new Object[size];
+        this.mask = size - 1;
+        this.waitStrategy = Objects.requireNonNull(waitStrategy);
+        this.producerLimit = new PaddedSequence(size);
+    }
+
+    /**
+     * Adds an element if there is room. Safe to call from any number of threads.
+     *
+     * @return false if the queue is full
+     */
+    public boolean offer(S item) {
+        Objects.requireNonNull(item);
+        long limit = producerLimit.get();
+        long index;
+        do {
+            index = producerIndex.get();
+            if (index >= limit) {
+                // the cached limit says full; refresh it from the consumer's progress
+                limit = consumerIndex.get() + buffer.length;
+                if (index >= limit) {
+                    return false;
+                }
+                producerLimit.setRelease(limit);
+            }
+        } while (!producerIndex.compareAndSet(index, index + 1));
+        SLOT.setRelease(buffer, (int) index & mask, item);
+        return true;
+    }
+
+    /**
+     * Adds an element, waiting with the queue's {@link WaitStrategy} while the queue is full.
+     */
+    public void put(S item) {
+        while (!offer(item)) {
+            waitStrategy.idle();
+        }
+    }
+
+    /**
+     * Removes and returns the head element, or null if the queue is empty. Consumer thread only.
+     */
+    public S poll() {
+        long index = consumerIndex.getPlain();
+        int offset = (int) index & mask;
+        S item = (S) SLOT.getAcquire(buffer, offset);
+        if (item == null) {
+            if (index == producerIndex.get()) {
+                return null;
+            }
+            // the position is claimed but its producer has not stored the element yet
+            do {
+                waitStrategy.idle();
+                item = (S) SLOT.getAcquire(buffer, offset);
+            } while (item == null);
+        }
+        buffer[offset] = null; // published to producers by the release store below
+        consumerIndex.setRelease(index + 1);
+        return item;
+    }
+
+    /**
+     * Removes and returns the head element, waiting with the queue's {@link WaitStrategy} while the queue is
+     * empty. Consumer thread only.
+     */
+    public S take() {
+        S item;
+        while ((item = poll()) == null) {
+            waitStrategy.idle();
+        }
+        return item;
+    }
+
+    /**
+     * Removes up to {@code maxBatch} published elements in order and passes each to the consumer; never waits.
+     * Consumer thread only.
+     * <p>
+     * The slots are freed for producers all at once when the batch ends, including when the consumer throws:
+     * the element it threw on counts as taken.
+     *
+     * @return the number of elements taken
+     */
+    public int drain(Consumer<? super S> consumer, int maxBatch) {
+        Objects.requireNonNull(consumer);
+        long index = consumerIndex.getPlain();
+        int taken = 0;
+        try {
+            while (taken < maxBatch) {
+                int offset = (int) (index + taken) & mask;
+                S item = (S) SLOT.getAcquire(buffer, offset);
+                if (item == null) {
+                    // empty, or the next producer has not published yet; either way the batch ends here
+                    break;
+                }
+                buffer[offset] = null;
+                taken++;
+                consumer.accept(item);
+            }
+        } finally {
+            if (taken > 0) {
+                consumerIndex.setRelease(index + taken);
+            }
+        }
+        return taken;
+    }
+
+    /**
+     * Number of claimed positions not yet taken, including ones whose producer has not published yet. Only a
+     * snapshot while other threads are running.
+     */
+    public int size() {
+        while (true) {
+            long before = consumerIndex.get();
+            long producer = producerIndex.get();
+            if (consumerIndex.get() == before) {
+                return (int) (producer - before);
+            }
+        }
+    }
+
+    public boolean isEmpty() {
+        return consumerIndex.get() == producerIndex.get();
+    }
+
+    public int capacity() {
+        return buffer.length;
+    }
+
+    /**
+     * How a thread waits in {@link #put} for room, in {@link #take} for an element, and in {@link #poll} for a
+     * producer that has claimed the next position to finish publishing it. Each call to
+     * {@link #idle()} is one round of waiting, after which the caller checks again.
+     */
+    public enum WaitStrategy {
+        /**
+         * Busy-spins. Lowest latency, but burns a whole core; only for threads pinned to their own CPU.
+         */
+        SPIN {
+            @Override
+            public void idle() {
+                Thread.onSpinWait();
+            }
+        },
+        /**
+         * Gives up the CPU to other runnable threads, if there are any.
+         */
+        YIELD {
+            @Override
+            public void idle() {
+                Thread.yield();
+            }
+        },
+        /**
+         * Sleeps briefly. Nearly no CPU while idle, at the cost of tens of microseconds of wake-up latency;
+         * nobody unparks the waiter, so producers pay nothing for it.
+         */
+        PARK {
+            @Override
+            public void idle() {
+                LockSupport.parkNanos(PARK_NANOS);
+            }
+        };
+
+        public abstract void idle();
+    }
+}
@@ -0,0 +1,59 @@
+package com.javaimpl.collections.ringqueue;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * A long counter alone on its cache lines.
+ * <p>
+ * The JVM may reorder the fields of a class, but always lays out a superclass's fields before a subclass's. So the
+ * value is declared in the middle class of a three-class chain, with 64 bytes of unused longs above and below it,
+ * and no other hot field (the other counters, the array header, neighbouring objects) can share its line.
+ */
+final class PaddedSequence extends SequenceRhsPadding {
+
+    private static final VarHandle VALUE;
+
+    static {
+        try {
+            VALUE = MethodHandles.lookup().findVarHandle(SequenceValue.class, "value", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    PaddedSequence(long initialValue) {
+        VALUE.setRelease(this, initialValue);
+    }
+
+    long get() {
+        return (long) VALUE.getAcquire(this);
+    }
+
+    /**
+     * Reads without ordering; only for the thread that is the sole writer of this sequence.
+     */
+    long getPlain() {
+        return (long) VALUE.get(this);
+    }
+
+    void setRelease(long newValue) {
+        VALUE.setRelease(this, newValue);
+    }
+
+    boolean compareAndSet(long expected, long newValue) {
+        return VALUE.compareAndSet(this, expected, newValue);
+    }
+}
+
+abstract class SequenceLhsPadding {
+    long p01, p02, p03, p04, p05, p06, p07, p08;
+}
+
+abstract class SequenceValue extends SequenceLhsPadding {
+    long value;
+}
+
+abstract class SequenceRhsPadding extends SequenceValue {
+    long p11, p12, p13, p14, p15, p16, p17, p18;
+}
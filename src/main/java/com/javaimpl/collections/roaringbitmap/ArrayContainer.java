@@ -0,0 +1,200 @@
+package com.javaimpl.collections.roaringbitmap;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * A sparse chunk: up to {@link #MAX_ARRAY_SIZE} values in a sorted {@code char[]}, 2 bytes each.
+ */
+final class ArrayContainer extends Container {
+
+    private char[] content;
+
+    private int cardinality;
+
+    ArrayContainer() {
+        this(new char[4], 0);
+    }
+
+    private ArrayContainer(char[] content, int cardinality) {
+        this.content = content;
+        this.cardinality = cardinality;
+    }
+
+    static ArrayContainer from(Container container) {
+        ArrayContainer array = new ArrayContainer(new char[container.cardinality()], 0);
+        container.forEach(0, value -> array.content[array.cardinality++] = (char) value);
+        return array;
+    }
+
+    @Override
+    Container add(char value) {
+        int i = Arrays.binarySearch(content, 0, cardinality, value);
+        if (i >= 0) {
+            return this;
+        }
+        if (cardinality == MAX_ARRAY_SIZE) {
+            return toBitmap().add(value);
+        }
+        i = -i - 1;
+        if (cardinality == content.length) {
+            content = Arrays.copyOf(content, Math.min(MAX_ARRAY_SIZE, cardinality + (cardinality >> 1) + 1));
+        }
+        System.arraycopy(content, i, content, i + 1, cardinality - i);
+        content[i] = value;
+        cardinality++;
+        return this;
+    }
+
+    @Override
+    Container remove(char value) {
+        int i = Arrays.binarySearch(content, 0, cardinality, value);
+        if (i >= 0) {
+            System.arraycopy(content, i + 1, content, i, cardinality - i - 1);
+            cardinality--;
+        }
+        return this;
+    }
+
+    @Override
+    boolean contains(char value) {
+        return Arrays.binarySearch(content, 0, cardinality, value) >= 0;
+    }
+
+    @Override
+    int cardinality() {
+        return cardinality;
+    }
+
+    @Override
+    int numberOfRuns() {
+        int runs = cardinality == 0 ? 0 : 1;
+        for (int i = 1; i < cardinality; i++) {
+            if (content[i] != content[i - 1] + 1) {
+                runs++;
+            }
+        }
+        return runs;
+    }
+
+    @Override
+    void forEach(int high, IntConsumer consumer) {
+        for (int i = 0; i < cardinality; i++) {
+            consumer.accept(high | content[i]);
+        }
+    }
+
+    @Override
+    BitmapContainer toBitmap() {
+        BitmapContainer bitmap = new BitmapContainer();
+        orInto(bitmap);
+        return bitmap;
+    }
+
+    @Override
+    Container copy() {
+        return new ArrayContainer(Arrays.copyOf(content, cardinality), cardinality);
+    }
+
+    @Override
+    void orInto(BitmapContainer target) {
+        for (int i = 0; i < cardinality; i++) {
+            target.add(content[i]);
+        }
+    }
+
+    @Override
+    void removeFrom(BitmapContainer target) {
+        for (int i = 0; i < cardinality; i++) {
+            target.clear(content[i]);
+        }
+    }
+
+    /**
+     * Keeps the values that the other container does ({@code keep == true}) or does not contain; the result is
+     * never larger than this array, so it stays an array.
+     */
+    ArrayContainer filter(Container other, boolean keep) {
+        char[] result = new char[cardinality];
+        int n = 0;
+        for (int i = 0; i < cardinality; i++) {
+            if (other.contains(content[i]) == keep) {
+                result[n++] = content[i];
+            }
+        }
+        return new ArrayContainer(result, n);
+    }
+
+    /**
+     * Union of two sorted arrays whose cardinalities sum to at most {@link #MAX_ARRAY_SIZE}.
+     */
+    ArrayContainer merge(ArrayContainer other) {
+        char[] result = new char[cardinality + other.cardinality];
+        int i = 0, j = 0, n = 0;
+        while (i < cardinality && j < other.cardinality) {
+            char a = content[i], b = other.content[j];
+            if (a <= b) {
+                i++;
+                if (a == b) {
+                    j++;
+                }
+                result[n++] = a;
+            } else {
+                j++;
+                result[n++] = b;
+            }
+        }
+        while (i < cardinality) {
+            result[n++] = content[i++];
+        }
+        while (j < other.cardinality) {
+            result[n++] = other.content[j++];
+        }
+        return new ArrayContainer(result, n);
+    }
+
+    @Override
+    byte type() {
+        return ARRAY;
+    }
+
+    @Override
+    int serializedSize() {
+        return 2 * cardinality;
+    }
+
+    @Override
+    void serialize(ByteBuffer out) {
+        for (int i = 0; i < cardinality; i++) {
+            out.putChar(content[i]);
+        }
+    }
+
+    static ArrayContainer read(ByteBuffer in, int cardinality, int offset) {
+        char[] content = new char[cardinality];
+        for (int i = 0; i < cardinality; i++) {
+            content[i] = in.getChar(offset + 2 * i);
+        }
+        return new ArrayContainer(content, cardinality);
+    }
+
+    /**
+     * Binary search over a serialized array payload, for the mapped view.
+     */
+    static boolean contains(ByteBuffer in, int cardinality, int offset, char value) {
+        int low = 0, high = cardinality - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            char midValue = in.getChar(offset + 2 * mid);
+            if (midValue < value) {
+                low = mid + 1;
+            } else if (midValue > value) {
+                high = mid - 1;
+            } else {
+                return true;
+            }
+        }
+        return false;
+    }
+}
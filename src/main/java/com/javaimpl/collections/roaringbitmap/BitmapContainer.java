@@ -0,0 +1,192 @@
+package com.javaimpl.collections.roaringbitmap;
+
+import java.nio.ByteBuffer;
+import java.util.function.IntConsumer;
+
+/**
+ * A dense chunk: one bit per possible value in 1024 longs, 8 KB whatever the cardinality.
+ */
+final class BitmapContainer extends Container {
+
+    private static final int WORDS = 1024;
+
+    private final long[] words;
+
+    private int cardinality;
+
+    BitmapContainer() {
+        this(new long[WORDS], 0);
+    }
+
+    private BitmapContainer(long[] words, int cardinality) {
+        this.words = words;
+        this.cardinality = cardinality;
+    }
+
+    @Override
+    Container add(char value) {
+        long word = words[value >>> 6];
+        long updated = word | (1L << value); // the shift only uses the low 6 bits of value
+        if (word != updated) {
+            words[value >>> 6] = updated;
+            cardinality++;
+        }
+        return this;
+    }
+
+    @Override
+    Container remove(char value) {
+        if (clear(value) && cardinality <= MAX_ARRAY_SIZE) {
+            return ArrayContainer.from(this);
+        }
+        return this;
+    }
+
+    /**
+     * Clears one bit without converting the container.
+     *
+     * @return true if the bit was set
+     */
+    boolean clear(char value) {
+        long word = words[value >>> 6];
+        long updated = word & ~(1L << value);
+        if (word == updated) {
+            return false;
+        }
+        words[value >>> 6] = updated;
+        cardinality--;
+        return true;
+    }
+
+    @Override
+    boolean contains(char value) {
+        return (words[value >>> 6] & (1L << value)) != 0;
+    }
+
+    @Override
+    int cardinality() {
+        return cardinality;
+    }
+
+    /**
+     * Counts run starts a word at a time: a set bit whose lower neighbour (carried over from the previous word
+     * at bit 0) is clear.
+     */
+    @Override
+    int numberOfRuns() {
+        int runs = 0;
+        long previousTopBit = 0;
+        for (long word : words) {
+            runs += Long.bitCount(word & ~((word << 1) | previousTopBit));
+            previousTopBit = word >>> 63;
+        }
+        return runs;
+    }
+
+    @Override
+    void forEach(int high, IntConsumer consumer) {
+        for (int i = 0; i < WORDS; i++) {
+            for (long word = words[i]; word != 0; word &= word - 1) {
+                consumer.accept(high | (i << 6) + Long.numberOfTrailingZeros(word));
+            }
+        }
+    }
+
+    @Override
+    BitmapContainer toBitmap() {
+        return new BitmapContainer(words.clone(), cardinality);
+    }
+
+    @Override
+    Container copy() {
+        return toBitmap();
+    }
+
+    @Override
+    void orInto(BitmapContainer target) {
+        int count = 0;
+        for (int i = 0; i < WORDS; i++) {
+            count += Long.bitCount(target.words[i] |= words[i]);
+        }
+        target.cardinality = count;
+    }
+
+    @Override
+    void removeFrom(BitmapContainer target) {
+        int count = 0;
+        for (int i = 0; i < WORDS; i++) {
+            count += Long.bitCount(target.words[i] &= ~words[i]);
+        }
+        target.cardinality = count;
+    }
+
+    void and(BitmapContainer other) {
+        int count = 0;
+        for (int i = 0; i < WORDS; i++) {
+            count += Long.bitCount(words[i] &= other.words[i]);
+        }
+        cardinality = count;
+    }
+
+    /**
+     * Sets every bit in {@code [from, to)}, a word at a time. The cardinality is adjusted by the bits each word
+     * gains, so the cost follows the length of the range rather than the 1024 words.
+     */
+    void setRange(int from, int to) {
+        if (from >= to) {
+            return;
+        }
+        int first = from >>> 6, last = (to - 1) >>> 6;
+        long firstMask = -1L << from, lastMask = -1L >>> -to; // shifts use the low 6 bits
+        for (int i = first; i <= last; i++) {
+            long mask = (i == first ? firstMask : -1L) & (i == last ? lastMask : -1L);
+            cardinality += Long.bitCount(mask & ~words[i]);
+            words[i] |= mask;
+        }
+    }
+
+    /**
+     * Clears every bit in {@code [from, to)}, adjusting the cardinality the same way.
+     */
+    void clearRange(int from, int to) {
+        if (from >= to) {
+            return;
+        }
+        int first = from >>> 6, last = (to - 1) >>> 6;
+        long firstMask = -1L << from, lastMask = -1L >>> -to;
+        for (int i = first; i <= last; i++) {
+            long mask = (i == first ? firstMask : -1L) & (i == last ? lastMask : -1L);
+            cardinality -= Long.bitCount(mask & words[i]);
+            words[i] &= ~mask;
+        }
+    }
+
+    @Override
+    byte type() {
+        return BITMAP;
+    }
+
+    @Override
+    int serializedSize() {
+        return BITMAP_BYTES;
+    }
+
+    @Override
+    void serialize(ByteBuffer out) {
+        for (long word : words) {
+            out.putLong(word);
+        }
+    }
+
+    static BitmapContainer read(ByteBuffer in, int cardinality, int offset) {
+        long[] words = new long[WORDS];
+        for (int i = 0; i < WORDS; i++) {
+            words[i] = in.getLong(offset + 8 * i);
+        }
+        return new BitmapContainer(words, cardinality);
+    }
+
+    static boolean contains(ByteBuffer in, int offset, char value) {
+        return (in.getLong(offset + 8 * (value >>> 6)) & (1L << value)) != 0;
+    }
+}
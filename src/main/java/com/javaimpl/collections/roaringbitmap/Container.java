@@ -0,0 +1,130 @@
+package com.javaimpl.collections.roaringbitmap;
+
+import java.nio.ByteBuffer;
+import java.util.function.IntConsumer;
+
+/**
+ * The low 16 bits of the values in one 65536-wide chunk of a {@link MyRoaringBitmap}.
+ * <p>
+ * Mutating methods return the container that holds the result, which is a different kind of container when the
+ * change made another representation the better fit; callers store the returned container in place of this one.
+ */
+abstract class Container {
+
+    // an array container holds at most this many values; above it a bitmap (8 KB) is smaller
+    static final int MAX_ARRAY_SIZE = 4096;
+
+    static final int BITMAP_BYTES = 1 << 13;
+
+    static final byte ARRAY = 1;
+
+    static final byte BITMAP = 2;
+
+    static final byte RUN = 3;
+
+    abstract Container add(char value);
+
+    abstract Container remove(char value);
+
+    abstract boolean contains(char value);
+
+    abstract int cardinality();
+
+    /**
+     * Number of runs of consecutive values; decides whether a run container would be smaller.
+     */
+    abstract int numberOfRuns();
+
+    /**
+     * Passes every value, in ascending order, as {@code high | value} to the consumer.
+     */
+    abstract void forEach(int high, IntConsumer consumer);
+
+    /**
+     * Returns a new bitmap container with the same values; never this container itself.
+     */
+    abstract BitmapContainer toBitmap();
+
+    abstract Container copy();
+
+    abstract void orInto(BitmapContainer target);
+
+    abstract void removeFrom(BitmapContainer target);
+
+    abstract byte type();
+
+    abstract int serializedSize();
+
+    /**
+     * Writes the payload at the buffer's current position.
+     */
+    abstract void serialize(ByteBuffer out);
+
+    Container and(Container other) {
+        if (this instanceof ArrayContainer array) {
+            return array.filter(other, true);
+        }
+        if (other instanceof ArrayContainer array) {
+            return array.filter(this, true);
+        }
+        BitmapContainer result = toBitmap();
+        result.and(other instanceof BitmapContainer bitmap ? bitmap : other.toBitmap());
+        return result.optimize();
+    }
+
+    Container or(Container other) {
+        if (this instanceof ArrayContainer a && other instanceof ArrayContainer b
+                && a.cardinality() + b.cardinality() <= MAX_ARRAY_SIZE) {
+            return a.merge(b);
+        }
+        BitmapContainer result = toBitmap();
+        other.orInto(result);
+        return result.optimize();
+    }
+
+    Container andNot(Container other) {
+        if (this instanceof ArrayContainer array) {
+            return array.filter(other, false);
+        }
+        BitmapContainer result = toBitmap();
+        other.removeFrom(result);
+        return result.optimize();
+    }
+
+    /**
+     * Adds every value in {@code [from, to)}, where {@code to} may be 65536.
+     */
+    Container addRange(int from, int to) {
+        BitmapContainer result = toBitmap();
+        result.setRange(from, to);
+        return result.optimize();
+    }
+
+    /**
+     * Returns the container, this one or a converted copy, that holds the same values in the fewest bytes:
+     * 2 per value as an array, 8 KB as a bitmap, or 4 per run (plus 2) as runs.
+     */
+    Container optimize() {
+        int cardinality = cardinality();
+        int runBytes = 2 + 4 * numberOfRuns();
+        if (runBytes < Math.min(2 * cardinality, BITMAP_BYTES)) {
+            return this instanceof RunContainer ? this : RunContainer.from(this);
+        }
+        if (cardinality <= MAX_ARRAY_SIZE) {
+            return this instanceof ArrayContainer ? this : ArrayContainer.from(this);
+        }
+        return this instanceof BitmapContainer ? this : toBitmap();
+    }
+
+    /**
+     * Reads a payload written by {@link #serialize} at an absolute offset of a little-endian buffer.
+     */
+    static Container read(ByteBuffer in, byte type, int cardinality, int offset) {
+        return switch (type) {
+            case ARRAY -> ArrayContainer.read(in, cardinality, offset);
+            case BITMAP -> BitmapContainer.read(in, cardinality, offset);
+            case RUN -> RunContainer.read(in, cardinality, offset);
+            default -> throw new IllegalArgumentException("Unknown container type: " + type);
+        };
+    }
+}
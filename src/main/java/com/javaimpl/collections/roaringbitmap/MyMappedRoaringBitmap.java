@@ -0,0 +1,117 @@
+package com.javaimpl.collections.roaringbitmap;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.IntConsumer;
+
+/**
+ * A read-only view over bytes written by {@link MyRoaringBitmap#serialize}, typically a memory-mapped file.
+ * <p>
+ * Nothing is copied up front: {@link #contains} binary-searches the descriptor table in the buffer and then the
+ * container payload in place, so opening a bitmap of any size costs one header check, and only the pages that a
+ * lookup touches are read from disk. {@link #forEach} decodes one container at a time.
+ * <p>
+ * The view does not own the buffer; changes made to it after the view is created are visible, and a truncated or
+ * corrupted buffer shows up as an {@link IndexOutOfBoundsException} on access.
+ */
+public class MyMappedRoaringBitmap {
+
+    private final ByteBuffer buffer;
+
+    private final int size; // number of containers
+
+    /**
+     * Wraps the bytes from the buffer's position to its limit. The buffer's position is not changed.
+     */
+    public MyMappedRoaringBitmap(ByteBuffer buffer) {
+        this.buffer = buffer.slice().order(ByteOrder.LITTLE_ENDIAN);
+        this.size = MyRoaringBitmap.checkHeader(this.buffer);
+    }
+
+    /**
+     * Maps the whole file read-only. The mapping stays valid after the channel is closed and is released when the
+     * view is garbage collected.
+     */
+    public static MyMappedRoaringBitmap open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return new MyMappedRoaringBitmap(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    public boolean contains(int value) {
+        int i = indexOf((char) (value >>> 16));
+        if (i < 0) {
+            return false;
+        }
+        int descriptor = descriptor(i);
+        int offset = buffer.getInt(descriptor + 8);
+        return switch (buffer.get(descriptor + 2)) {
+            case Container.ARRAY -> ArrayContainer.contains(buffer, buffer.getInt(descriptor + 4), offset,
+                    (char) value);
+            case Container.BITMAP -> BitmapContainer.contains(buffer, offset, (char) value);
+            case Container.RUN -> RunContainer.contains(buffer, offset, (char) value);
+            default -> throw new IllegalStateException("Unknown container type: " + buffer.get(descriptor + 2));
+        };
+    }
+
+    /**
+     * Number of values, summed from the descriptors without touching the payloads.
+     */
+    public long cardinality() {
+        long cardinality = 0;
+        for (int i = 0; i < size; i++) {
+            cardinality += buffer.getInt(descriptor(i) + 4);
+        }
+        return cardinality;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int containerCount() {
+        return size;
+    }
+
+    /**
+     * Passes every value to the consumer in unsigned ascending order.
+     */
+    public void forEach(IntConsumer consumer) {
+        for (int i = 0; i < size; i++) {
+            int descriptor = descriptor(i);
+            Container.read(buffer, buffer.get(descriptor + 2), buffer.getInt(descriptor + 4),
+                    buffer.getInt(descriptor + 8)).forEach(buffer.getChar(descriptor) << 16, consumer);
+        }
+    }
+
+    /**
+     * Copies the view into a mutable bitmap.
+     */
+    public MyRoaringBitmap toBitmap() {
+        return MyRoaringBitmap.deserialize(buffer.duplicate());
+    }
+
+    private static int descriptor(int i) {
+        return MyRoaringBitmap.HEADER_SIZE + MyRoaringBitmap.DESCRIPTOR_SIZE * i;
+    }
+
+    private int indexOf(char key) {
+        int low = 0, high = size - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            char midKey = buffer.getChar(descriptor(mid));
+            if (midKey < key) {
+                low = mid + 1;
+            } else if (midKey > key) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,358 @@
+package com.javaimpl.collections.roaringbitmap;
+
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * A compressed set of ints in the style of Roaring bitmaps (Chambi, Lemire et al., 2016).
+ * <p>
+ * The 32-bit space is cut into 65536 chunks by the high 16 bits of each value. Every non-empty chunk keeps the low
+ * 16 bits of its values in a {@link Container}, picked per chunk for size:
+ * <ul>
+ *     <li>an array of sorted chars while the chunk holds at most 4096 values (2 bytes per value);</li>
+ *     <li>a bitmap of 65536 bits (8 KB) above that;</li>
+ *     <li>runs of (start, length) pairs when the values form few long ranges (4 bytes per run).</li>
+ * </ul>
+ * Arrays and bitmaps convert into each other as values are added and removed. Run containers are chosen by
+ * {@link #addRange}, by the set operations, and by {@link #runOptimize()}.
+ * <p>
+ * The chunk keys are a sorted {@code char[]} with the containers in a parallel array, so finding a chunk is a
+ * binary search over at most 65536 keys, and {@link #and}, {@link #or} and {@link #andNot} walk both key arrays
+ * in one merge pass, combining bitmap chunks a 64-bit word at a time.
+ * <p>
+ * Values are treated as unsigned: iteration runs from 0 to -1 (0xFFFFFFFF).
+ */
+public class MyRoaringBitmap {
+
+    // "ROAR" in ASCII, read as a little-endian int
+    static final int MAGIC = 0x52414F52;
+
+    static final int HEADER_SIZE = 8;
+
+    // key (2), type (1), reserved (1), cardinality (4), payload offset (4)
+    static final int DESCRIPTOR_SIZE = 12;
+
+    private char[] keys;
+
+    private Container[] containers;
+
+    private int size; // number of containers
+
+    public MyRoaringBitmap() {
+        this(new char[4], new Container[4], 0);
+    }
+
+    private MyRoaringBitmap(char[] keys, Container[] containers, int size) {
+        this.keys = keys;
+        this.containers = containers;
+        this.size = size;
+    }
+
+    public static MyRoaringBitmap of(int... values) {
+        MyRoaringBitmap bitmap = new MyRoaringBitmap();
+        for (int value : values) {
+            bitmap.add(value);
+        }
+        return bitmap;
+    }
+
+    /**
+     * @return true if the value was not already present
+     */
+    public boolean add(int value) {
+        char key = (char) (value >>> 16);
+        int i = indexOf(key);
+        if (i < 0) {
+            i = -i - 1;
+            insertContainer(i, key, new ArrayContainer().add((char) value));
+            return true;
+        }
+        Container container = containers[i];
+        if (container.contains((char) value)) {
+            return false;
+        }
+        containers[i] = container.add((char) value);
+        return true;
+    }
+
+    /**
+     * Adds every value in {@code [from, to)}, with both bounds read as unsigned ints held in a long
+     * ({@code 0 <= from <= to <= 1L << 32}). Chunks that the range covers completely become a single run.
+     */
+    public void addRange(long from, long to) {
+        if (from < 0 || from > to || to > 1L << 32) {
+            throw new IllegalArgumentException("Illegal range: [" + from + ", " + to + ")");
+        }
+        if (from == to) {
+            return; // otherwise the loop below would still visit from's chunk and store an empty container
+        }
+        for (long chunkStart = from & ~0xFFFFL; chunkStart < to; chunkStart += 1 << 16) {
+            char key = (char) (chunkStart >>> 16);
+            int low = (int) (Math.max(from, chunkStart) - chunkStart);
+            int high = (int) (Math.min(to, chunkStart + (1 << 16)) - chunkStart);
+            int i = indexOf(key);
+            if (i < 0) {
+                i = -i - 1;
+                insertContainer(i, key, new ArrayContainer().addRange(low, high));
+            } else {
+                containers[i] = containers[i].addRange(low, high);
+            }
+        }
+    }
+
+    /**
+     * @return true if the value was present
+     */
+    public boolean remove(int value) {
+        int i = indexOf((char) (value >>> 16));
+        if (i < 0 || !containers[i].contains((char) value)) {
+            return false;
+        }
+        Container container = containers[i].remove((char) value);
+        if (container.cardinality() == 0) {
+            removeContainer(i);
+        } else {
+            containers[i] = container;
+        }
+        return true;
+    }
+
+    public boolean contains(int value) {
+        int i = indexOf((char) (value >>> 16));
+        return i >= 0 && containers[i].contains((char) value);
+    }
+
+    /**
+     * Number of values, summed over the containers' cached counts.
+     */
+    public long cardinality() {
+        long cardinality = 0;
+        for (int i = 0; i < size; i++) {
+            cardinality += containers[i].cardinality();
+        }
+        return cardinality;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(containers, 0, size, null);
+        size = 0;
+    }
+
+    /**
+     * Passes every value to the consumer in unsigned ascending order.
+     */
+    public void forEach(IntConsumer consumer) {
+        for (int i = 0; i < size; i++) {
+            containers[i].forEach(keys[i] << 16, consumer);
+        }
+    }
+
+    public int[] toArray() {
+        long cardinality = cardinality();
+        if (cardinality > Integer.MAX_VALUE - 8) {
+            throw new IllegalStateException("Too many values for an array: " + cardinality);
+        }
+        int[] values = new int[(int) cardinality];
+        int[] n = {0};
+        forEach(value -> values[n[0]++] = value);
+        return values;
+    }
+
+    /**
+     * Converts every container to its smallest representation, turning chunks of long ranges into runs.
+     *
+     * @return true if any container changed
+     */
+    public boolean runOptimize() {
+        boolean changed = false;
+        for (int i = 0; i < size; i++) {
+            Container optimized = containers[i].optimize();
+            changed |= optimized != containers[i];
+            containers[i] = optimized;
+        }
+        return changed;
+    }
+
+    /**
+     * Returns the values in both bitmaps. Only chunks present in both are combined.
+     */
+    public static MyRoaringBitmap and(MyRoaringBitmap a, MyRoaringBitmap b) {
+        MyRoaringBitmap result = new MyRoaringBitmap(new char[Math.min(a.size, b.size)],
+                new Container[Math.min(a.size, b.size)], 0);
+        int i = 0, j = 0;
+        while (i < a.size && j < b.size) {
+            if (a.keys[i] < b.keys[j]) {
+                i++;
+            } else if (a.keys[i] > b.keys[j]) {
+                j++;
+            } else {
+                result.appendNonEmpty(a.keys[i], a.containers[i++].and(b.containers[j++]));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the values in either bitmap. Chunks present in only one bitmap are copied, so later changes to the
+     * result and to the inputs stay independent.
+     */
+    public static MyRoaringBitmap or(MyRoaringBitmap a, MyRoaringBitmap b) {
+        MyRoaringBitmap result = new MyRoaringBitmap(new char[a.size + b.size], new Container[a.size + b.size], 0);
+        int i = 0, j = 0;
+        while (i < a.size || j < b.size) {
+            if (j == b.size || i < a.size && a.keys[i] < b.keys[j]) {
+                result.appendNonEmpty(a.keys[i], a.containers[i++].copy());
+            } else if (i == a.size || a.keys[i] > b.keys[j]) {
+                result.appendNonEmpty(b.keys[j], b.containers[j++].copy());
+            } else {
+                result.appendNonEmpty(a.keys[i], a.containers[i++].or(b.containers[j++]));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the values in {@code a} that are not in {@code b}.
+     */
+    public static MyRoaringBitmap andNot(MyRoaringBitmap a, MyRoaringBitmap b) {
+        MyRoaringBitmap result = new MyRoaringBitmap(new char[a.size], new Container[a.size], 0);
+        int j = 0;
+        for (int i = 0; i < a.size; i++) {
+            while (j < b.size && b.keys[j] < a.keys[i]) {
+                j++;
+            }
+            if (j < b.size && b.keys[j] == a.keys[i]) {
+                result.appendNonEmpty(a.keys[i], a.containers[i].andNot(b.containers[j]));
+            } else {
+                result.appendNonEmpty(a.keys[i], a.containers[i].copy());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Size of the layout written by {@link #serialize}.
+     */
+    public int serializedSizeInBytes() {
+        int offset = HEADER_SIZE + DESCRIPTOR_SIZE * size;
+        for (int i = 0; i < size; i++) {
+            offset = payloadOffset(offset, containers[i]) + containers[i].serializedSize();
+        }
+        return offset;
+    }
+
+    /**
+     * Writes the bitmap at the buffer's position, in a little-endian layout that does not depend on the JVM:
+     * <pre>
+     * int   magic, container count
+     * per container, sorted by key: char key, byte type, byte reserved, int cardinality, int payload offset
+     * payloads: array = sorted chars; bitmap = 1024 longs, 8-byte aligned; run = char count, (start, length - 1) chars
+     * </pre>
+     * Offsets are relative to the start of the bitmap, so the bytes can be copied into a file at any position and
+     * read in place by {@link MyMappedRoaringBitmap}. The buffer's position moves past the written bytes.
+     *
+     * @throws BufferOverflowException if fewer than {@link #serializedSizeInBytes()} bytes remain
+     */
+    public void serialize(ByteBuffer buffer) {
+        int length = serializedSizeInBytes();
+        ByteBuffer out = buffer.slice().order(ByteOrder.LITTLE_ENDIAN);
+        if (out.remaining() < length) {
+            throw new BufferOverflowException();
+        }
+        out.putInt(MAGIC).putInt(size);
+        int offset = HEADER_SIZE + DESCRIPTOR_SIZE * size;
+        for (int i = 0; i < size; i++) {
+            offset = payloadOffset(offset, containers[i]);
+            out.putChar(keys[i]).put(containers[i].type()).put((byte) 0)
+                    .putInt(containers[i].cardinality()).putInt(offset);
+            offset += containers[i].serializedSize();
+        }
+        for (int i = 0; i < size; i++) {
+            out.position(out.getInt(HEADER_SIZE + DESCRIPTOR_SIZE * i + 8));
+            containers[i].serialize(out);
+        }
+        buffer.position(buffer.position() + length);
+    }
+
+    /**
+     * Reads a bitmap written by {@link #serialize} at the buffer's position and moves the position past it.
+     */
+    public static MyRoaringBitmap deserialize(ByteBuffer buffer) {
+        ByteBuffer in = buffer.slice().order(ByteOrder.LITTLE_ENDIAN);
+        int count = checkHeader(in);
+        MyRoaringBitmap bitmap = new MyRoaringBitmap(new char[Math.max(4, count)], new Container[Math.max(4, count)],
+                count);
+        int end = HEADER_SIZE + DESCRIPTOR_SIZE * count;
+        for (int i = 0; i < count; i++) {
+            int descriptor = HEADER_SIZE + DESCRIPTOR_SIZE * i;
+            bitmap.keys[i] = in.getChar(descriptor);
+            bitmap.containers[i] = Container.read(in, in.get(descriptor + 2), in.getInt(descriptor + 4),
+                    in.getInt(descriptor + 8));
+            end = in.getInt(descriptor + 8) + bitmap.containers[i].serializedSize();
+        }
+        buffer.position(buffer.position() + end);
+        return bitmap;
+    }
+
+    /**
+     * Validates the magic number and returns the container count.
+     */
+    static int checkHeader(ByteBuffer in) {
+        if (in.remaining() < HEADER_SIZE) {
+            throw new BufferUnderflowException();
+        }
+        if (in.getInt(0) != MAGIC) {
+            throw new IllegalArgumentException("Not a serialized roaring bitmap");
+        }
+        return in.getInt(4);
+    }
+
+    /**
+     * Bitmap payloads start on an 8-byte boundary so their longs can be read aligned from a mapped file.
+     */
+    private static int payloadOffset(int offset, Container container) {
+        return container.type() == Container.BITMAP ? (offset + 7) & ~7 : offset;
+    }
+
+    private int indexOf(char key) {
+        // chunks are usually appended in order; check the last one before searching
+        if (size > 0 && keys[size - 1] == key) {
+            return size - 1;
+        }
+        return Arrays.binarySearch(keys, 0, size, key);
+    }
+
+    private void insertContainer(int i, char key, Container container) {
+        if (size == keys.length) {
+            int capacity = Math.min(1 << 16, size + (size >> 1) + 1);
+            keys = Arrays.copyOf(keys, capacity);
+            containers = Arrays.copyOf(containers, capacity);
+        }
+        System.arraycopy(keys, i, keys, i + 1, size - i);
+        System.arraycopy(containers, i, containers, i + 1, size - i);
+        keys[i] = key;
+        containers[i] = container;
+        size++;
+    }
+
+    private void removeContainer(int i) {
+        System.arraycopy(keys, i + 1, keys, i, size - i - 1);
+        System.arraycopy(containers, i + 1, containers, i, size - i - 1);
+        containers[--size] = null;
+    }
+
+    private void appendNonEmpty(char key, Container container) {
+        if (container.cardinality() > 0) {
+            keys[size] = key;
+            containers[size++] = container;
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package com.javaimpl.collections.roaringbitmap;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * A chunk of long consecutive ranges: sorted, non-adjacent runs stored as (start, length - 1) pairs of chars,
+ * 4 bytes per run whatever its length.
+ */
+final class RunContainer extends Container {
+
+    // runs[2 * i] is the start of run i, runs[2 * i + 1] its length minus one
+    private char[] runs;
+
+    private int runCount;
+
+    private int cardinality;
+
+    private RunContainer(char[] runs, int runCount, int cardinality) {
+        this.runs = runs;
+        this.runCount = runCount;
+        this.cardinality = cardinality;
+    }
+
+    static RunContainer from(Container container) {
+        RunContainer result = new RunContainer(new char[2 * container.numberOfRuns()], 0, container.cardinality());
+        container.forEach(0, value -> {
+            int last = result.runCount - 1;
+            if (last >= 0 && result.end(last) + 1 == value) {
+                result.runs[2 * last + 1]++;
+            } else {
+                result.runs[2 * result.runCount++] = (char) value;
+            }
+        });
+        return result;
+    }
+
+    @Override
+    Container add(char value) {
+        int i = floorRun(value);
+        if (i >= 0 && value <= end(i)) {
+            return this;
+        }
+        boolean extendsPrevious = i >= 0 && end(i) + 1 == value;
+        boolean extendsNext = i + 1 < runCount && value + 1 == start(i + 1);
+        if (extendsPrevious && extendsNext) {
+            // value closes the gap: run i absorbs run i + 1
+            runs[2 * i + 1] = (char) (end(i + 1) - start(i));
+            deleteRun(i + 1);
+        } else if (extendsPrevious) {
+            runs[2 * i + 1]++;
+        } else if (extendsNext) {
+            runs[2 * (i + 1)]--;
+            runs[2 * (i + 1) + 1]++;
+        } else {
+            insertRun(i + 1, value, 0);
+        }
+        cardinality++;
+        return optimize();
+    }
+
+    @Override
+    Container remove(char value) {
+        int i = floorRun(value);
+        if (i < 0 || value > end(i)) {
+            return this;
+        }
+        int start = start(i), end = end(i);
+        if (start == end) {
+            deleteRun(i);
+        } else if (value == start) {
+            runs[2 * i]++;
+            runs[2 * i + 1]--;
+        } else if (value == end) {
+            runs[2 * i + 1]--;
+        } else {
+            // split around value
+            runs[2 * i + 1] = (char) (value - 1 - start);
+            insertRun(i + 1, value + 1, end - value - 1);
+        }
+        cardinality--;
+        return optimize();
+    }
+
+    @Override
+    boolean contains(char value) {
+        int i = floorRun(value);
+        return i >= 0 && value <= end(i);
+    }
+
+    @Override
+    int cardinality() {
+        return cardinality;
+    }
+
+    @Override
+    int numberOfRuns() {
+        return runCount;
+    }
+
+    @Override
+    void forEach(int high, IntConsumer consumer) {
+        for (int i = 0; i < runCount; i++) {
+            for (int value = start(i), end = end(i); value <= end; value++) {
+                consumer.accept(high | value);
+            }
+        }
+    }
+
+    @Override
+    BitmapContainer toBitmap() {
+        BitmapContainer bitmap = new BitmapContainer();
+        orInto(bitmap);
+        return bitmap;
+    }
+
+    @Override
+    Container copy() {
+        return new RunContainer(Arrays.copyOf(runs, 2 * runCount), runCount, cardinality);
+    }
+
+    @Override
+    void orInto(BitmapContainer target) {
+        for (int i = 0; i < runCount; i++) {
+            target.setRange(start(i), end(i) + 1);
+        }
+    }
+
+    @Override
+    void removeFrom(BitmapContainer target) {
+        for (int i = 0; i < runCount; i++) {
+            target.clearRange(start(i), end(i) + 1);
+        }
+    }
+
+    @Override
+    byte type() {
+        return RUN;
+    }
+
+    @Override
+    int serializedSize() {
+        return 2 + 4 * runCount;
+    }
+
+    @Override
+    void serialize(ByteBuffer out) {
+        out.putChar((char) runCount);
+        for (int i = 0; i < 2 * runCount; i++) {
+            out.putChar(runs[i]);
+        }
+    }
+
+    static RunContainer read(ByteBuffer in, int cardinality, int offset) {
+        int runCount = in.getChar(offset);
+        char[] runs = new char[2 * runCount];
+        for (int i = 0; i < runs.length; i++) {
+            runs[i] = in.getChar(offset + 2 + 2 * i);
+        }
+        return new RunContainer(runs, runCount, cardinality);
+    }
+
+    /**
+     * Binary search over a serialized run payload, for the mapped view.
+     */
+    static boolean contains(ByteBuffer in, int offset, char value) {
+        int low = 0, high = in.getChar(offset) - 1, floor = -1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (in.getChar(offset + 2 + 4 * mid) <= value) {
+                floor = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return floor >= 0 && value <= in.getChar(offset + 2 + 4 * floor) + in.getChar(offset + 4 + 4 * floor);
+    }
+
+    private int start(int run) {
+        return runs[2 * run];
+    }
+
+    private int end(int run) {
+        return runs[2 * run] + runs[2 * run + 1];
+    }
+
+    /**
+     * Returns the last run starting at or before value, or -1.
+     */
+    private int floorRun(char value) {
+        int low = 0, high = runCount - 1, floor = -1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (runs[2 * mid] <= value) {
+                floor = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return floor;
+    }
+
+    private void insertRun(int run, int start, int lengthMinusOne) {
+        if (2 * runCount + 2 > runs.length) {
+            runs = Arrays.copyOf(runs, Math.max(4, 2 * runCount + runCount + 2) & ~1);
+        }
+        System.arraycopy(runs, 2 * run, runs, 2 * run + 2, 2 * (runCount - run));
+        runs[2 * run] = (char) start;
+        runs[2 * run + 1] = (char) lengthMinusOne;
+        runCount++;
+    }
+
+    private void deleteRun(int run) {
+        System.arraycopy(runs, 2 * run + 2, runs, 2 * run, 2 * (runCount - run - 1));
+        runCount--;
+    }
+}
@@ -0,0 +1,157 @@
+package com.javaimpl.collections.treemap;
+
+import java.util.function.ObjLongConsumer;
+
+/**
+ * A {@link MyFrozenTreeMap} specialized for {@code long} keys, produced by {@link MyTreeMap#freezeLongKeys}.
+ * <p>
+ * Keys live in a {@code long[]} in ascending numeric order, so a lookup compares primitives and never unboxes.
+ * Navigation methods return a position (or -1 when there is no such key) which is then read with
+ * {@link #keyAt(int)} and {@link #valueAt(int)}.
+ *
+ * @param <T> the type of mapped values
+ */
+public class MyFrozenLongTreeMap<T> {
+
+    private final long[] keys;
+
+    private final Object[] values;
+
+    // view bounds, [fromIndex, toIndex)
+    private final int fromIndex;
+
+    private final int toIndex;
+
+    MyFrozenLongTreeMap(long[] keys, Object[] values) {
+        this(keys, values, 0, keys.length);
+    }
+
+    private MyFrozenLongTreeMap(long[] keys, Object[] values, int fromIndex, int toIndex) {
+        this.keys = keys;
+        this.values = values;
+        this.fromIndex = fromIndex;
+        this.toIndex = Math.max(fromIndex, toIndex);
+    }
+
+    public int size() {
+        return toIndex - fromIndex;
+    }
+
+    public boolean isEmpty() {
+        return toIndex == fromIndex;
+    }
+
+    public boolean containsKey(long key) {
+        return indexOf(key) >= 0;
+    }
+
+    public T get(long key) {
+        int index = indexOf(key);
+        return index >= 0 ? valueAt(index) : null;
+    }
+
+    /**
+     * Returns the position of the given key, or -1 if it is absent.
+     */
+    public int indexOf(long key) {
+        int index = lowerBound(key);
+        return index < toIndex && keys[index] == key ? index - fromIndex : -1;
+    }
+
+    public int lowerIndex(long key) {
+        return position(lowerBound(key) - 1);
+    }
+
+    public int floorIndex(long key) {
+        return position(upperBound(key) - 1);
+    }
+
+    public int ceilingIndex(long key) {
+        return position(lowerBound(key));
+    }
+
+    public int higherIndex(long key) {
+        return position(upperBound(key));
+    }
+
+    /**
+     * Returns the key at the given position of this map (0 is the smallest key).
+     */
+    public long keyAt(int index) {
+        return keys[checkIndex(index)];
+    }
+
+    /**
+     * Returns the value at the given position of this map (0 is the value of the smallest key).
+     */
+    public T valueAt(int index) {
+        return value(checkIndex(index));
+    }
+
+    public MyFrozenLongTreeMap<T> subMap(long fromKey, boolean fromInclusive, long toKey, boolean toInclusive) {
+        int from = fromInclusive ? lowerBound(fromKey) : upperBound(fromKey);
+        int to = toInclusive ? upperBound(toKey) : lowerBound(toKey);
+        return new MyFrozenLongTreeMap<>(keys, values, from, to);
+    }
+
+    public MyFrozenLongTreeMap<T> headMap(long toKey, boolean inclusive) {
+        int to = inclusive ? upperBound(toKey) : lowerBound(toKey);
+        return new MyFrozenLongTreeMap<>(keys, values, fromIndex, to);
+    }
+
+    public MyFrozenLongTreeMap<T> tailMap(long fromKey, boolean inclusive) {
+        int from = inclusive ? lowerBound(fromKey) : upperBound(fromKey);
+        return new MyFrozenLongTreeMap<>(keys, values, from, toIndex);
+    }
+
+    /**
+     * Visits every entry in ascending key order.
+     */
+    public void forEach(ObjLongConsumer<? super T> action) {
+        for (int i = fromIndex; i < toIndex; i++) {
+            action.accept(value(i), keys[i]);
+        }
+    }
+
+    private int lowerBound(long key) {
+        int low = fromIndex, high = toIndex;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keys[mid] < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private int upperBound(long key) {
+        int low = fromIndex, high = toIndex;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keys[mid] <= key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private int position(int arrayIndex) {
+        return arrayIndex >= fromIndex && arrayIndex < toIndex ? arrayIndex - fromIndex : -1;
+    }
+
+    @SuppressWarnings("unchecked") // values only ever holds the source map's values
+    private T value(int index) {
+        return (T) values[index];
+    }
+
+    private int checkIndex(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+        return fromIndex + index;
+    }
+}
@@ -0,0 +1,187 @@
+package com.javaimpl.collections.treemap;
+
+import java.util.Comparator;
+import java.util.function.BiConsumer;
+
+/**
+ * An immutable sorted map backed by two parallel arrays, produced by {@link MyTreeMap#freeze()}.
+ * <p>
+ * Keys are kept in the order of the source map's comparator, so every lookup is a binary search over
+ * a contiguous {@code Object[]} instead of a pointer chase through tree nodes. Range views
+ * ({@link #subMap}, {@link #headMap}, {@link #tailMap}) share the same arrays and only narrow the index bounds.
+ *
+ * @param <S> the type of keys maintained by this map
+ * @param <T> the type of mapped values
+ */
+public class MyFrozenTreeMap<S, T> {
+
+    private final Comparator<? super S> comparator;
+
+    private final Object[] keys;
+
+    private final Object[] values;
+
+    // view bounds, [fromIndex, toIndex)
+    private final int fromIndex;
+
+    private final int toIndex;
+
+    MyFrozenTreeMap(Comparator<? super S> comparator, Object[] keys, Object[] values) {
+        this(comparator, keys, values, 0, keys.length);
+    }
+
+    private MyFrozenTreeMap(Comparator<? super S> comparator, Object[] keys, Object[] values, int fromIndex, int toIndex) {
+        this.comparator = comparator;
+        this.keys = keys;
+        this.values = values;
+        this.fromIndex = fromIndex;
+        this.toIndex = Math.max(fromIndex, toIndex);
+    }
+
+    public int size() {
+        return toIndex - fromIndex;
+    }
+
+    public boolean isEmpty() {
+        return toIndex == fromIndex;
+    }
+
+    public boolean containsKey(S key) {
+        return indexOf(key) >= 0;
+    }
+
+    public T get(S key) {
+        int index = indexOf(key);
+        return index >= 0 ? value(index) : null;
+    }
+
+    public S firstKey() {
+        return isEmpty() ? null : key(fromIndex);
+    }
+
+    public S lastKey() {
+        return isEmpty() ? null : key(toIndex - 1);
+    }
+
+    public S lowerKey(S key) {
+        return keyOrNull(lowerBound(key) - 1);
+    }
+
+    public S floorKey(S key) {
+        return keyOrNull(upperBound(key) - 1);
+    }
+
+    public S ceilingKey(S key) {
+        return keyOrNull(lowerBound(key));
+    }
+
+    public S higherKey(S key) {
+        return keyOrNull(upperBound(key));
+    }
+
+    /**
+     * Returns the key at the given position of this map (0 is the smallest key).
+     */
+    public S keyAt(int index) {
+        return key(checkIndex(index));
+    }
+
+    /**
+     * Returns the value at the given position of this map (0 is the value of the smallest key).
+     */
+    public T valueAt(int index) {
+        return value(checkIndex(index));
+    }
+
+    /**
+     * Returns a view of the entries between {@code fromKey} and {@code toKey}, sharing this map's arrays.
+     */
+    public MyFrozenTreeMap<S, T> subMap(S fromKey, boolean fromInclusive, S toKey, boolean toInclusive) {
+        int from = fromInclusive ? lowerBound(fromKey) : upperBound(fromKey);
+        int to = toInclusive ? upperBound(toKey) : lowerBound(toKey);
+        return new MyFrozenTreeMap<>(comparator, keys, values, from, to);
+    }
+
+    public MyFrozenTreeMap<S, T> headMap(S toKey, boolean inclusive) {
+        int to = inclusive ? upperBound(toKey) : lowerBound(toKey);
+        return new MyFrozenTreeMap<>(comparator, keys, values, fromIndex, to);
+    }
+
+    public MyFrozenTreeMap<S, T> tailMap(S fromKey, boolean inclusive) {
+        int from = inclusive ? lowerBound(fromKey) : upperBound(fromKey);
+        return new MyFrozenTreeMap<>(comparator, keys, values, from, toIndex);
+    }
+
+    /**
+     * Visits every entry in ascending key order.
+     */
+    public void forEach(BiConsumer<? super S, ? super T> action) {
+        for (int i = fromIndex; i < toIndex; i++) {
+            action.accept(key(i), value(i));
+        }
+    }
+
+    private int indexOf(S key) {
+        // the comparator may rank different keys equally (e.g. the default hashCode comparator),
+        // so scan the run of equally ranked keys for an equal one, as MyTreeMap.node() does
+        for (int i = lowerBound(key); i < toIndex && comparator.compare(key, key(i)) == 0; i++) {
+            if (keys[i].equals(key)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the first index whose key is greater than or equal to the given key.
+     */
+    private int lowerBound(S key) {
+        int low = fromIndex, high = toIndex;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (comparator.compare(key(mid), key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Returns the first index whose key is strictly greater than the given key.
+     */
+    private int upperBound(S key) {
+        int low = fromIndex, high = toIndex;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (comparator.compare(key(mid), key) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private S keyOrNull(int index) {
+        return index >= fromIndex && index < toIndex ? key(index) : null;
+    }
+
+    @SuppressWarnings("unchecked") // keys only ever holds the source map's keys
+    private S key(int index) {
+        return (S) keys[index];
+    }
+
+    @SuppressWarnings("unchecked") // values only ever holds the source map's values
+    private T value(int index) {
+        return (T) values[index];
+    }
+
+    private int checkIndex(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+        return fromIndex + index;
+    }
+}
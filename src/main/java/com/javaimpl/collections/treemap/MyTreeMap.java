@@ -2,8 +2,17 @@ package com.javaimpl.collections.treemap;
 
 import com.javaimpl.common.object.RedBlackTreeNode;
 
+import java.util.AbstractMap;
 import java.util.Comparator;
-import java.util.function.BiFunction;
+import java.util.ConcurrentModificationException;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * A Red-Black Tree based implementation of the Map interface.
@@ -19,6 +28,11 @@ public class MyTreeMap<S, T> {
 
     private transient int size = 0;
 
+    /**
+     * Number of structural modifications (insertions and removals), used by {@link Cursor} to fail fast.
+     */
+    private transient int modCount = 0;
+
     public MyTreeMap() {
         this.comparator = Comparator.comparing(Object::hashCode);
     }
@@ -45,6 +59,7 @@ public class MyTreeMap<S, T> {
             root = new RedBlackTreeNode<>(key, value);
             root.isRed = false;
             size++;
+            modCount++;
             return null;
         }
 
@@ -75,6 +90,7 @@ public class MyTreeMap<S, T> {
         }
 
         size++;
+        modCount++;
         fixNode(newNode);
 
         return null;
@@ -85,7 +101,15 @@ public class MyTreeMap<S, T> {
         if (node == null) {
             return null;
         }
+        deleteNode(node);
+        return node.value;
+    }
 
+    /**
+     * Unlinks the given node from the tree. Replacement nodes are relinked rather than copied,
+     * so every other node keeps its identity (a {@link Cursor} holding a neighbour stays valid).
+     */
+    protected void deleteNode(RedBlackTreeNode<S, T> node) {
         if (node.left != null) {
             // replace removed node with the largest node on its left branch
             RedBlackTreeNode<S, T> largestNode = getLargest(node.left);
@@ -147,7 +171,7 @@ public class MyTreeMap<S, T> {
         }
 
         size--;
-        return node.value;
+        modCount++;
     }
 
     protected RedBlackTreeNode<S, T> getLargest(RedBlackTreeNode<S, T> node) {
@@ -179,9 +203,14 @@ public class MyTreeMap<S, T> {
         }
 
         RedBlackTreeNode<S, T> parent = newNode.parent,
-                grandParent = parent.parent,
-                grandParentLeft = grandParent != null ? grandParent.left : null,
-                grandParentRight = grandParent != null ? grandParent.right : null;
+                grandParent = parent.parent;
+        if (grandParent == null) {
+            // parent is a red root, recolor it
+            parent.isRed = false;
+            return;
+        }
+        RedBlackTreeNode<S, T> grandParentLeft = grandParent.left,
+                grandParentRight = grandParent.right;
 
         if (parent == grandParentLeft) {
             if (grandParentRight != null && grandParentRight.isRed) {
@@ -192,14 +221,16 @@ public class MyTreeMap<S, T> {
             }
 
             // if parent is left child of grandparent
-            if (newNode == parent.left) {
-                // LL
-                rotateRight(parent);
-            } else {
-                // LR
-                rotateRight(rotateLeft(parent));
+            if (newNode == parent.right) {
+                // LR, rotate into LL first
+                rotateLeft(parent);
+                parent = newNode;
             }
-        } else if (parent == grandParentRight) {
+            // LL
+            parent.isRed = false;
+            grandParent.isRed = true;
+            rotateRight(grandParent);
+        } else {
             if (grandParentLeft != null && grandParentLeft.isRed) {
                 grandParentRight.isRed = grandParentLeft.isRed = false;
                 grandParent.isRed = true;
@@ -209,14 +240,15 @@ public class MyTreeMap<S, T> {
 
             // if parent is right child of grandparent
             if (newNode == parent.left) {
-                // RL
-                rotateLeft(rotateRight(parent));
-            } else {
-                // RR
-                rotateLeft(parent);
+                // RL, rotate into RR first
+                rotateRight(parent);
+                parent = newNode;
             }
+            // RR
+            parent.isRed = false;
+            grandParent.isRed = true;
+            rotateLeft(grandParent);
         }
-        root = getRoot();
     }
 
     protected RedBlackTreeNode<S, T> node(S key) {
@@ -233,35 +265,56 @@ public class MyTreeMap<S, T> {
         return null;
     }
 
+    /**
+     * Rotates the right child of the given node up into its place.
+     *
+     * @return the node that replaced the given node
+     */
     protected RedBlackTreeNode<S, T> rotateLeft(RedBlackTreeNode<S, T> node) {
-        if (node == null || node.parent == null) {
-            return null;
+        RedBlackTreeNode<S, T> right, parent, rightLeft;
+        if (node == null || (right = node.right) == null) {
+            return node;
         }
-
-        RedBlackTreeNode<S, T> parent = node.parent, rightNode = node.right;
-        parent.right = node.left;
-        if (node.left != null) {
-            node.left.parent = parent;
+        if ((rightLeft = node.right = right.left) != null) {
+            rightLeft.parent = node;
         }
-        node.left = parent;
-        node.parent = parent.parent;
-        parent.parent = node;
-
-        return node;
+        if ((parent = right.parent = node.parent) == null) {
+            // node was root, now right is root
+            root = right;
+        } else if (parent.left == node) {
+            parent.left = right;
+        } else {
+            parent.right = right;
+        }
+        right.left = node;
+        node.parent = right;
+        return right;
     }
 
+    /**
+     * Rotates the left child of the given node up into its place.
+     *
+     * @return the node that replaced the given node
+     */
     protected RedBlackTreeNode<S, T> rotateRight(RedBlackTreeNode<S, T> node) {
-        if (node == null || node.parent == null) {
-            return null;
+        RedBlackTreeNode<S, T> left, parent, leftRight;
+        if (node == null || (left = node.left) == null) {
+            return node;
         }
-
-        RedBlackTreeNode<S, T> parent = node.parent, leftNode = node.left;
-
-        parent.left = leftNode;
-        leftNode.parent = parent;
-        node.right = parent;
-        parent.parent = node;
-        return leftNode;
+        if ((leftRight = node.left = left.right) != null) {
+            leftRight.parent = node;
+        }
+        if ((parent = left.parent = node.parent) == null) {
+            // node was root, now left is root
+            root = left;
+        } else if (parent.right == node) {
+            parent.right = left;
+        } else {
+            parent.left = left;
+        }
+        left.right = node;
+        node.parent = left;
+        return left;
     }
 
     protected RedBlackTreeNode<S, T> getRoot() {
@@ -271,6 +324,7 @@ public class MyTreeMap<S, T> {
     public void clear() {
         root = null;
         size = 0;
+        modCount++;
     }
 
     public S firstKey() {
@@ -373,4 +427,338 @@ public class MyTreeMap<S, T> {
         }
         return prevNode;
     }
+
+    /**
+     * Returns the in-order successor of the given node by following parent links, O(1) amortized.
+     */
+    protected RedBlackTreeNode<S, T> successor(RedBlackTreeNode<S, T> node) {
+        if (node == null) {
+            return null;
+        }
+        if (node.right != null) {
+            return getSmallest(node.right);
+        }
+        RedBlackTreeNode<S, T> child = node, parent = node.parent;
+        while (parent != null && child == parent.right) {
+            child = parent;
+            parent = parent.parent;
+        }
+        return parent;
+    }
+
+    /**
+     * Returns the in-order predecessor of the given node by following parent links, O(1) amortized.
+     */
+    protected RedBlackTreeNode<S, T> predecessor(RedBlackTreeNode<S, T> node) {
+        if (node == null) {
+            return null;
+        }
+        if (node.left != null) {
+            return getLargest(node.left);
+        }
+        RedBlackTreeNode<S, T> child = node, parent = node.parent;
+        while (parent != null && child == parent.left) {
+            child = parent;
+            parent = parent.parent;
+        }
+        return parent;
+    }
+
+    /**
+     * Copies the current entries into an immutable sorted-array map.
+     * <p>
+     * Meant for maps that are built once and then only read: the result needs two references per entry instead
+     * of a node with key, value, three links and a color, and lookups are binary searches over contiguous arrays.
+     * Later changes to this map are not reflected in the frozen copy.
+     */
+    public MyFrozenTreeMap<S, T> freeze() {
+        Object[] keys = new Object[size];
+        Object[] values = new Object[size];
+        int i = 0;
+        for (RedBlackTreeNode<S, T> node = root != null ? getSmallest(root) : null; node != null; node = successor(node)) {
+            keys[i] = node.key;
+            values[i++] = node.value;
+        }
+        return new MyFrozenTreeMap<>(comparator, keys, values);
+    }
+
+    /**
+     * Same as {@link #freeze()}, but stores the keys as primitive {@code long}s.
+     *
+     * @param keyMapper converts each key to its {@code long} form
+     * @throws IllegalStateException if the converted keys are not strictly ascending in this map's order
+     */
+    public MyFrozenLongTreeMap<T> freezeLongKeys(ToLongFunction<? super S> keyMapper) {
+        long[] keys = new long[size];
+        Object[] values = new Object[size];
+        int i = 0;
+        for (RedBlackTreeNode<S, T> node = root != null ? getSmallest(root) : null; node != null; node = successor(node)) {
+            long key = keyMapper.applyAsLong(node.key);
+            if (i > 0 && key <= keys[i - 1]) {
+                throw new IllegalStateException("keys are not in strictly ascending numeric order: " + node.key);
+            }
+            keys[i] = key;
+            values[i++] = node.value;
+        }
+        return new MyFrozenLongTreeMap<>(keys, values);
+    }
+
+    /**
+     * Returns a sorted spliterator over the keys that splits at subtree roots: the first split hands off
+     * everything left of the root, later splits the left or right subtree of the previous split point. The halves
+     * of a balanced tree stay roughly even without walking it.
+     */
+    public Spliterator<S> keySpliterator() {
+        return new TreeSpliterator<>(node -> node.key, true);
+    }
+
+    public Stream<S> keyStream() {
+        return StreamSupport.stream(keySpliterator(), false);
+    }
+
+    public Stream<T> valueStream() {
+        return StreamSupport.stream(new TreeSpliterator<>(node -> node.value, false), false);
+    }
+
+    public Stream<Map.Entry<S, T>> entryStream() {
+        return StreamSupport.stream(new TreeSpliterator<Map.Entry<S, T>>(
+                node -> new AbstractMap.SimpleImmutableEntry<>(node.key, node.value), false), false);
+    }
+
+    /**
+     * Covers the in-order range [current, fence); a null fence means up to the last entry.
+     */
+    private final class TreeSpliterator<R> implements Spliterator<R> {
+
+        private final Function<RedBlackTreeNode<S, T>, R> mapper;
+
+        private final boolean keys;
+
+        private RedBlackTreeNode<S, T> current;
+
+        private final RedBlackTreeNode<S, T> fence;
+
+        private int side; // 0 = never split, 1 = right part of a split, -1 = left part
+
+        private int estimate = -1; // -1 until the first use binds the spliterator to the map
+
+        private int expectedModCount;
+
+        TreeSpliterator(Function<RedBlackTreeNode<S, T>, R> mapper, boolean keys) {
+            this(mapper, keys, null, null, 0, -1, 0);
+        }
+
+        private TreeSpliterator(Function<RedBlackTreeNode<S, T>, R> mapper, boolean keys, RedBlackTreeNode<S, T> origin,
+                                RedBlackTreeNode<S, T> fence, int side, int estimate, int expectedModCount) {
+            this.mapper = mapper;
+            this.keys = keys;
+            this.current = origin;
+            this.fence = fence;
+            this.side = side;
+            this.estimate = estimate;
+            this.expectedModCount = expectedModCount;
+        }
+
+        private int bind() {
+            if (estimate < 0) {
+                estimate = size;
+                expectedModCount = modCount;
+                current = root != null ? getSmallest(root) : null;
+            }
+            return estimate;
+        }
+
+        @Override
+        public Spliterator<R> trySplit() {
+            bind();
+            RedBlackTreeNode<S, T> origin = current, splitAt;
+            if (origin == null || origin == fence) {
+                splitAt = null;
+            } else if (side == 0) {
+                splitAt = root;
+            } else if (side > 0) {
+                splitAt = origin.right;
+            } else {
+                splitAt = fence != null ? fence.left : null;
+            }
+            if (splitAt != null && splitAt != origin && splitAt != fence
+                    && comparator.compare(origin.key, splitAt.key) < 0) {
+                side = 1;
+                return new TreeSpliterator<>(mapper, keys, origin, current = splitAt, -1, estimate >>>= 1,
+                        expectedModCount);
+            }
+            return null;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super R> action) {
+            bind();
+            RedBlackTreeNode<S, T> node = current;
+            if (node == null || node == fence) {
+                return false;
+            }
+            current = successor(node);
+            action.accept(mapper.apply(node));
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super R> action) {
+            bind();
+            for (RedBlackTreeNode<S, T> node = current; node != null && node != fence; node = successor(node)) {
+                action.accept(mapper.apply(node));
+            }
+            current = fence;
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+
+        @Override
+        public long estimateSize() {
+            return bind();
+        }
+
+        @Override
+        public int characteristics() {
+            return (side == 0 ? Spliterator.SIZED : 0) | Spliterator.ORDERED
+                    | (keys ? Spliterator.SORTED | Spliterator.DISTINCT : 0);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked") // only reached for key spliterators, where R is S
+        public Comparator<? super R> getComparator() {
+            if (!keys) {
+                throw new IllegalStateException();
+            }
+            return (Comparator<? super R>) comparator;
+        }
+    }
+
+    /**
+     * Returns a new cursor. It is invalid until positioned with {@link Cursor#seek}, {@link Cursor#first} or
+     * {@link Cursor#last}; {@code next()} and {@code prev()} on an invalid cursor return false.
+     */
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    /**
+     * A reusable position inside the map.
+     * <p>
+     * A search from the root is only needed by {@link #seek(Object)}; stepping with {@link #next()} and
+     * {@link #prev()} walks parent links instead, so a full pass over the map costs O(n) rather than O(n log n).
+     * Values can be replaced and entries removed at the cursor without searching again.
+     * <p>
+     * The cursor fails fast with {@link ConcurrentModificationException} if the map is structurally
+     * modified by anything other than the cursor itself.
+     */
+    public class Cursor {
+
+        private RedBlackTreeNode<S, T> current;
+
+        private int expectedModCount = modCount;
+
+        /**
+         * Positions the cursor at the smallest entry whose key is greater than or equal to the given key.
+         *
+         * @return true if the cursor landed on an entry with exactly this key
+         */
+        public boolean seek(S key) {
+            expectedModCount = modCount;
+            current = higherNode(key, true);
+            return current != null && comparator.compare(key, current.key) == 0;
+        }
+
+        /**
+         * Positions the cursor at the first entry, returns false if the map is empty.
+         */
+        public boolean first() {
+            expectedModCount = modCount;
+            current = root != null ? getSmallest(root) : null;
+            return current != null;
+        }
+
+        /**
+         * Positions the cursor at the last entry, returns false if the map is empty.
+         */
+        public boolean last() {
+            expectedModCount = modCount;
+            current = root != null ? getLargest(root) : null;
+            return current != null;
+        }
+
+        /**
+         * Moves to the next entry, returns false (and invalidates the cursor) when moving past the last entry.
+         */
+        public boolean next() {
+            checkForComodification();
+            current = successor(current);
+            return current != null;
+        }
+
+        /**
+         * Moves to the previous entry, returns false (and invalidates the cursor) when moving before the first entry.
+         */
+        public boolean prev() {
+            checkForComodification();
+            current = predecessor(current);
+            return current != null;
+        }
+
+        public boolean isValid() {
+            return current != null;
+        }
+
+        public S key() {
+            return entry().key;
+        }
+
+        public T value() {
+            return entry().value;
+        }
+
+        /**
+         * Replaces the value of the current entry in place.
+         *
+         * @return the previous value
+         */
+        public T setValue(T value) {
+            RedBlackTreeNode<S, T> node = entry();
+            T oldValue = node.value;
+            node.value = value;
+            return oldValue;
+        }
+
+        /**
+         * Removes the current entry and moves the cursor to its successor.
+         *
+         * @return the removed value
+         */
+        public T remove() {
+            RedBlackTreeNode<S, T> node = entry();
+            RedBlackTreeNode<S, T> next = successor(node);
+            deleteNode(node);
+            expectedModCount = modCount;
+            current = next;
+            return node.value;
+        }
+
+        private RedBlackTreeNode<S, T> entry() {
+            checkForComodification();
+            if (current == null) {
+                throw new NoSuchElementException("cursor is not positioned on an entry");
+            }
+            return current;
+        }
+
+        private void checkForComodification() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
 }
@@ -25,10 +25,11 @@ public class RedBlackTreeNode<S, T> {
     }
 
     public RedBlackTreeNode<S, T> getRoot() {
-        if (parent != null) {
-            return this.parent.getRoot();
+        RedBlackTreeNode<S, T> currNode = this;
+        while (currNode.parent != null) {
+            currNode = currNode.parent;
         }
-        return this;
+        return currNode;
     }
 
 }
@@ -0,0 +1,97 @@
+package com.javaimpl.collections.arraydeque;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MyArrayDequeTest {
+
+    @Test
+    public void testBothEnds() {
+        MyArrayDeque<String> deque = new MyArrayDeque<>();
+        deque.addLast("B");
+        deque.addFirst("A");
+        deque.add("C");
+        assertEquals(3, deque.size());
+        assertEquals("A", deque.peekFirst());
+        assertEquals("C", deque.peekLast());
+        assertEquals("B", deque.get(1));
+        assertEquals("A", deque.removeFirst());
+        assertEquals("C", deque.removeLast());
+        assertEquals("B", deque.pollFirst());
+        assertNull(deque.pollLast());
+        assertTrue(deque.isEmpty());
+        assertThrows(NoSuchElementException.class, deque::removeFirst);
+        assertThrows(IndexOutOfBoundsException.class, () -> deque.get(0));
+    }
+
+    @Test
+    public void testGrowWhileWrapped() {
+        MyArrayDeque<Integer> deque = new MyArrayDeque<>(4);
+        deque.addLast(2);
+        deque.addLast(3);
+        deque.addFirst(1);
+        deque.addFirst(0); // full, and wrapped around the end of the array
+        deque.addLast(4);
+        deque.addFirst(-1);
+        for (int i = 0; i < 6; i++) {
+            assertEquals(i - 1, deque.get(i));
+        }
+    }
+
+    @Test
+    public void testRemoveAndSet() {
+        MyArrayDeque<String> deque = new MyArrayDeque<>(2);
+        for (String s : new String[]{"A", "B", "C", "D", "E"}) {
+            deque.add(s);
+        }
+        deque.set(0, "a");
+        assertEquals("B", deque.remove(1));
+        assertEquals("D", deque.remove(2));
+        assertEquals("C", deque.remove("C"));
+        assertNull(deque.remove("Z"));
+        assertTrue(deque.contains("a"));
+        assertFalse(deque.contains("A"));
+        assertEquals(2, deque.size());
+        assertEquals("E", deque.get(1));
+        deque.clear();
+        assertEquals(0, deque.size());
+        assertNull(deque.peekFirst());
+    }
+
+    @Test
+    public void testRandomOperationsMatchArrayList() {
+        Random random = new Random(8);
+        MyArrayDeque<Integer> deque = new MyArrayDeque<>(1);
+        List<Integer> expected = new ArrayList<>();
+        for (int step = 0; step < 50_000; step++) {
+            int op = random.nextInt(7);
+            if (op == 0) {
+                deque.addFirst(step);
+                expected.add(0, step);
+            } else if (op == 1 || expected.isEmpty()) {
+                deque.addLast(step);
+                expected.add(step);
+            } else if (op == 2) {
+                assertEquals(expected.remove(0), deque.pollFirst());
+            } else if (op == 3) {
+                assertEquals(expected.remove(expected.size() - 1), deque.pollLast());
+            } else if (op == 4) {
+                int index = random.nextInt(expected.size());
+                assertEquals(expected.remove(index), deque.remove(index));
+            } else {
+                int index = random.nextInt(expected.size());
+                assertEquals(expected.get(index), deque.get(index));
+            }
+        }
+        assertEquals(expected.size(), deque.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i), deque.get(i));
+        }
+    }
+}
@@ -3,6 +3,12 @@ package com.javaimpl.collections.arraylist;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+import java.util.Random;
+import java.util.Spliterator;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
 class MyArrayListTest {
 
     @Test
@@ -80,4 +86,141 @@ class MyArrayListTest {
         Assertions.assertEquals("Middle", list.get(0));
     }
 
-}
\ No newline at end of file
+
+    @Test
+    public void testParallelSort() {
+        MyArrayList<Integer> list = new MyArrayList<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 100_000; i++) {
+            list.add(random.nextInt(1000));
+        }
+        list.parallelSort(Integer::compare);
+        for (int i = 1; i < list.size(); i++) {
+            Assertions.assertTrue(list.get(i - 1) <= list.get(i));
+        }
+    }
+
+    @Test
+    public void testParallelSortNullComparatorUsesNaturalOrder() {
+        MyArrayList<String> list = new MyArrayList<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 50_000; i++) {
+            list.add(Integer.toString(random.nextInt(100_000)));
+        }
+        list.parallelSort(null);
+        for (int i = 1; i < list.size(); i++) {
+            Assertions.assertTrue(list.get(i - 1).compareTo(list.get(i)) <= 0);
+        }
+    }
+
+    @Test
+    public void testParallelSortIsStable() {
+        MyArrayList<int[]> list = new MyArrayList<>();
+        for (int i = 0; i < 50_000; i++) {
+            list.add(new int[]{i % 7, i});
+        }
+        list.parallelSort((a, b) -> Integer.compare(a[0], b[0]));
+        for (int i = 1; i < list.size(); i++) {
+            int[] prev = list.get(i - 1), curr = list.get(i);
+            Assertions.assertTrue(prev[0] < curr[0] || (prev[0] == curr[0] && prev[1] < curr[1]));
+        }
+    }
+
+    @Test
+    public void testParallelForEachAndReduce() {
+        MyArrayList<Integer> list = new MyArrayList<>();
+        for (int i = 1; i <= 100_000; i++) {
+            list.add(i);
+        }
+        LongAdder sum = new LongAdder();
+        list.parallelForEach(sum::add);
+        Assertions.assertEquals(5_000_050_000L, sum.sum());
+
+        Assertions.assertEquals(5_000_050_000L, list.parallelReduce(0L, (acc, value) -> acc + value, Long::sum));
+        Assertions.assertEquals(100_000, list.parallelReduce(0, Math::max));
+
+        // combiner must receive partial results in index order
+        MyArrayList<String> letters = new MyArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            letters.add(String.valueOf((char) ('a' + i % 26)));
+        }
+        String joined = letters.parallelReduce("", String::concat);
+        Assertions.assertEquals(20_000, joined.length());
+        Assertions.assertTrue(joined.startsWith("abcdefghijklmnopqrstuvwxyzabc"));
+        Assertions.assertEquals('a' + 19_999 % 26, joined.charAt(19_999));
+    }
+
+    private static MyArrayList<Integer> range(int count) {
+        MyArrayList<Integer> list = new MyArrayList<>();
+        for (int i = 0; i < count; i++) {
+            list.add(i);
+        }
+        return list;
+    }
+
+    private static void assertContents(MyArrayList<Integer> list, Integer... expected) {
+        Assertions.assertEquals(expected.length, list.size());
+        for (int i = 0; i < expected.length; i++) {
+            Assertions.assertEquals(expected[i], list.get(i));
+        }
+    }
+
+    @Test
+    public void testAddAll() {
+        MyArrayList<Integer> list = range(3);
+        list.addAll(List.of(7, 8), 1);
+        assertContents(list, 0, 7, 8, 1, 2);
+        list.addAll(List.of(9));
+        assertContents(list, 0, 7, 8, 1, 2, 9);
+
+        MyArrayList<Integer> empty = new MyArrayList<>(0);
+        empty.addAll(List.of(1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12));
+        Assertions.assertEquals(12, empty.size());
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> list.addAll(List.of(1), 7));
+    }
+
+    @Test
+    public void testRemoveRange() {
+        MyArrayList<Integer> list = range(6);
+        list.removeRange(1, 4);
+        assertContents(list, 0, 4, 5);
+        list.removeRange(1, 1);
+        assertContents(list, 0, 4, 5);
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> list.removeRange(2, 4));
+    }
+
+    @Test
+    public void testRemoveIfAndRetainAll() {
+        MyArrayList<Integer> list = range(10);
+        Assertions.assertTrue(list.removeIf(i -> i % 3 == 0));
+        assertContents(list, 1, 2, 4, 5, 7, 8);
+        Assertions.assertFalse(list.removeIf(i -> i > 100));
+        Assertions.assertTrue(list.retainAll(Set.of(2, 5, 8, 11)));
+        assertContents(list, 2, 5, 8);
+    }
+
+    @Test
+    public void testRemoveIfKeepsElementsWhenFilterThrows() {
+        MyArrayList<Integer> list = range(6);
+        Assertions.assertThrows(IllegalStateException.class, () -> list.removeIf(i -> {
+            if (i == 3) {
+                throw new IllegalStateException();
+            }
+            return i == 1;
+        }));
+        assertContents(list, 0, 2, 3, 4, 5);
+    }
+
+    @Test
+    public void testStream() {
+        MyArrayList<Integer> list = range(10_000);
+        Spliterator<Integer> spliterator = list.spliterator();
+        Assertions.assertTrue(spliterator.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.ORDERED));
+        Spliterator<Integer> prefix = spliterator.trySplit();
+        Assertions.assertEquals(5000, prefix.estimateSize());
+        Assertions.assertEquals(5000, spliterator.estimateSize());
+
+        Assertions.assertEquals(49_995_000L, list.parallelStream().mapToLong(Integer::longValue).sum());
+        Assertions.assertEquals(List.of(0, 1, 2), list.stream().limit(3).toList());
+    }
+}
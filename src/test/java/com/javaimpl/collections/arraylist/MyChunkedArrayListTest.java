@@ -0,0 +1,103 @@
+package com.javaimpl.collections.arraylist;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+class MyChunkedArrayListTest {
+
+    private static void assertSame(List<Integer> expected, MyChunkedArrayList<Integer> actual) {
+        Assertions.assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            Assertions.assertEquals(expected.get(i), actual.get(i));
+        }
+    }
+
+    @Test
+    public void testAddAcrossChunks() {
+        MyChunkedArrayList<Integer> list = new MyChunkedArrayList<>(2); // 4 elements per chunk
+        for (int i = 0; i < 100; i++) {
+            list.add(i);
+        }
+        Assertions.assertEquals(100, list.size());
+        Assertions.assertEquals(25, list.chunkCount());
+        for (int i = 0; i < 100; i++) {
+            Assertions.assertEquals(i, list.get(i));
+        }
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> list.get(100));
+    }
+
+    @Test
+    public void testInsertAndRemoveShiftAcrossChunks() {
+        MyChunkedArrayList<Integer> list = new MyChunkedArrayList<>(2);
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            list.add(i);
+            expected.add(i);
+        }
+        list.add(-1, 1);
+        expected.add(1, -1);
+        list.addAll(List.of(100, 101, 102, 103, 104, 105), 3);
+        expected.addAll(3, List.of(100, 101, 102, 103, 104, 105));
+        assertSame(expected, list);
+
+        list.remove(0);
+        expected.remove(0);
+        list.removeRange(2, 9);
+        expected.subList(2, 9).clear();
+        assertSame(expected, list);
+    }
+
+    @Test
+    public void testRemoveIfReleasesChunks() {
+        MyChunkedArrayList<Integer> list = new MyChunkedArrayList<>(2);
+        for (int i = 0; i < 100; i++) {
+            list.add(i);
+        }
+        Assertions.assertTrue(list.removeIf(i -> i >= 10));
+        Assertions.assertEquals(10, list.size());
+        Assertions.assertEquals(4, list.chunkCount()); // 3 in use plus one spare
+        Assertions.assertTrue(list.retainAll(Set.of(1, 3, 5)));
+        Assertions.assertEquals(3, list.size());
+        Assertions.assertEquals(5, list.get(2));
+
+        list.clear();
+        Assertions.assertEquals(0, list.size());
+        Assertions.assertEquals(1, list.chunkCount());
+        list.add(7);
+        Assertions.assertEquals(7, list.get(0));
+    }
+
+    @Test
+    public void testRandomOperationsMatchArrayList() {
+        Random random = new Random(7);
+        MyChunkedArrayList<Integer> list = new MyChunkedArrayList<>(3);
+        List<Integer> expected = new ArrayList<>();
+        for (int step = 0; step < 20_000; step++) {
+            int op = random.nextInt(10);
+            if (op < 5 || expected.isEmpty()) {
+                int index = random.nextInt(expected.size() + 1);
+                list.add(step, index);
+                expected.add(index, step);
+            } else if (op < 8) {
+                int index = random.nextInt(expected.size());
+                list.remove(index);
+                expected.remove(index);
+            } else if (op == 8) {
+                int from = random.nextInt(expected.size()), to = from + random.nextInt(Math.min(20, expected.size() - from) + 1);
+                list.removeRange(from, to);
+                expected.subList(from, to).clear();
+            } else {
+                int index = random.nextInt(expected.size() + 1);
+                List<Integer> batch = List.of(step, step + 1, step + 2, step + 3, step + 4, step + 5, step + 6, step + 7, step + 8);
+                list.addAll(batch, index);
+                expected.addAll(index, batch);
+            }
+        }
+        assertSame(expected, list);
+    }
+}
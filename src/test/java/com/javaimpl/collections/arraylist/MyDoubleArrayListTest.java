@@ -0,0 +1,30 @@
+package com.javaimpl.collections.arraylist;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class MyDoubleArrayListTest {
+
+    @Test
+    public void testAddInsertRemove() {
+        MyDoubleArrayList list = new MyDoubleArrayList();
+        for (int i = 0; i < 20; i++) {
+            list.add(i * 0.5);
+        }
+        list.add(-1.0, 10);
+        Assertions.assertEquals(21, list.size());
+        Assertions.assertEquals(-1.0, list.get(10));
+        list.remove(10);
+        Assertions.assertEquals(5.0, list.get(10));
+    }
+
+    @Test
+    public void testSortOrdersNaNLast() {
+        MyDoubleArrayList list = new MyDoubleArrayList();
+        list.addAll(new double[]{Double.NaN, 2.5, 0.0, -0.0, -7});
+        list.sort();
+        Assertions.assertArrayEquals(new double[]{-7, -0.0, 0.0, 2.5, Double.NaN}, list.toArray());
+        Assertions.assertEquals(3, list.binarySearch(2.5));
+        Assertions.assertEquals(4, list.binarySearch(Double.NaN));
+    }
+}
@@ -0,0 +1,88 @@
+package com.javaimpl.collections.arraylist;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+class MyGapBufferListTest {
+
+    private static void assertSame(List<Integer> expected, MyGapBufferList<Integer> actual) {
+        Assertions.assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            Assertions.assertEquals(expected.get(i), actual.get(i));
+        }
+    }
+
+    @Test
+    public void testAppendAndGet() {
+        MyGapBufferList<Integer> list = new MyGapBufferList<>(0);
+        for (int i = 0; i < 100; i++) {
+            list.add(i);
+        }
+        Assertions.assertEquals(100, list.size());
+        for (int i = 0; i < 100; i++) {
+            Assertions.assertEquals(i, list.get(i));
+        }
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> list.get(100));
+    }
+
+    @Test
+    public void testEditsAroundCursor() {
+        MyGapBufferList<Character> text = new MyGapBufferList<>();
+        for (char c : "helo world".toCharArray()) {
+            text.add(c);
+        }
+        text.add('l', 3);    // "hello world"
+        text.remove(5);      // "helloworld"
+        text.add(',', 5);    // "hello,world"
+        text.add(' ', 6);    // "hello, world"
+        text.set(0, 'H');
+        text.add('!');
+        StringBuilder result = new StringBuilder();
+        for (int i = 0; i < text.size(); i++) {
+            result.append(text.get(i));
+        }
+        Assertions.assertEquals("Hello, world!", result.toString());
+    }
+
+    @Test
+    public void testBulkOperations() {
+        MyGapBufferList<Integer> list = new MyGapBufferList<>();
+        list.addAll(List.of(0, 1, 2, 3, 4, 5, 6, 7, 8, 9));
+        list.addAll(List.of(-1, -2), 5);
+        list.removeRange(1, 3);
+        assertSame(List.of(0, 3, 4, -1, -2, 5, 6, 7, 8, 9), list);
+        Assertions.assertTrue(list.removeIf(i -> i < 0));
+        Assertions.assertTrue(list.retainAll(Set.of(3, 5, 7, 9)));
+        assertSame(List.of(3, 5, 7, 9), list);
+        list.clear();
+        Assertions.assertEquals(0, list.size());
+    }
+
+    @Test
+    public void testRandomOperationsMatchArrayList() {
+        Random random = new Random(11);
+        MyGapBufferList<Integer> list = new MyGapBufferList<>();
+        List<Integer> expected = new ArrayList<>();
+        int cursor = 0;
+        for (int step = 0; step < 20_000; step++) {
+            // mostly local edits around a drifting cursor, with an occasional jump
+            cursor = random.nextInt(10) == 0 ? random.nextInt(expected.size() + 1)
+                    : Math.max(0, Math.min(expected.size(), cursor + random.nextInt(5) - 2));
+            if (random.nextInt(3) > 0 || expected.isEmpty()) {
+                list.add(step, cursor);
+                expected.add(cursor, step);
+                cursor++;
+            } else {
+                int index = Math.min(cursor, expected.size() - 1);
+                list.remove(index);
+                expected.remove(index);
+            }
+        }
+        assertSame(expected, list);
+    }
+}
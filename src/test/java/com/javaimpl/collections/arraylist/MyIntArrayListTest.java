@@ -0,0 +1,63 @@
+package com.javaimpl.collections.arraylist;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class MyIntArrayListTest {
+
+    @Test
+    public void testAddAndGet() {
+        MyIntArrayList list = new MyIntArrayList();
+        for (int i = 0; i < 100; i++) {
+            list.add(i);
+        }
+        Assertions.assertEquals(100, list.size());
+        for (int i = 0; i < 100; i++) {
+            Assertions.assertEquals(i, list.get(i));
+        }
+    }
+
+    @Test
+    public void testInsertAndRemoveAtIndex() {
+        MyIntArrayList list = new MyIntArrayList(0);
+        list.add(1);
+        list.add(3);
+        list.add(2, 1);
+        list.add(0, 0);
+        Assertions.assertArrayEquals(new int[]{0, 1, 2, 3}, list.toArray());
+        list.remove(1);
+        Assertions.assertArrayEquals(new int[]{0, 2, 3}, list.toArray());
+        list.set(0, 9);
+        Assertions.assertEquals(9, list.get(0));
+    }
+
+    @Test
+    public void testOutOfBounds() {
+        MyIntArrayList list = new MyIntArrayList();
+        list.add(1);
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> list.get(1));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> list.remove(-1));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> list.add(5, 3));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new MyIntArrayList(-1));
+    }
+
+    @Test
+    public void testAddAllSortAndSearch() {
+        MyIntArrayList list = new MyIntArrayList(2);
+        list.add(42);
+        list.addAll(new int[]{5, -3, 17, 8});
+        list.sort();
+        Assertions.assertArrayEquals(new int[]{-3, 5, 8, 17, 42}, list.toArray());
+        Assertions.assertEquals(2, list.binarySearch(8));
+        Assertions.assertEquals(-3, list.binarySearch(6));
+    }
+
+    @Test
+    public void testClear() {
+        MyIntArrayList list = new MyIntArrayList();
+        list.addAll(new int[]{1, 2, 3});
+        list.clear();
+        Assertions.assertEquals(0, list.size());
+        Assertions.assertEquals(0, list.toArray().length);
+    }
+}
@@ -0,0 +1,31 @@
+package com.javaimpl.collections.arraylist;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class MyLongArrayListTest {
+
+    @Test
+    public void testAddInsertRemove() {
+        MyLongArrayList list = new MyLongArrayList();
+        for (long i = 0; i < 20; i++) {
+            list.add(i << 40);
+        }
+        list.add(-1L, 0);
+        Assertions.assertEquals(21, list.size());
+        Assertions.assertEquals(-1L, list.get(0));
+        Assertions.assertEquals(19L << 40, list.get(20));
+        list.remove(0);
+        Assertions.assertEquals(0L, list.get(0));
+    }
+
+    @Test
+    public void testAddAllSortAndSearch() {
+        MyLongArrayList list = new MyLongArrayList();
+        list.addAll(new long[]{Long.MAX_VALUE, 3, Long.MIN_VALUE});
+        list.sort();
+        Assertions.assertArrayEquals(new long[]{Long.MIN_VALUE, 3, Long.MAX_VALUE}, list.toArray());
+        Assertions.assertEquals(1, list.binarySearch(3));
+        Assertions.assertTrue(list.binarySearch(4) < 0);
+    }
+}
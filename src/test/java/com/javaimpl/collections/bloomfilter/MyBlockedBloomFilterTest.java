@@ -0,0 +1,48 @@
+package com.javaimpl.collections.bloomfilter;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MyBlockedBloomFilterTest {
+
+    @Test
+    public void testNoFalseNegatives() {
+        MyBlockedBloomFilter<Integer> filter = new MyBlockedBloomFilter<>(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put(i);
+        }
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain(i));
+        }
+    }
+
+    @Test
+    public void testFalsePositiveRateIsNearTarget() {
+        MyBlockedBloomFilter<Integer> filter = new MyBlockedBloomFilter<>(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put(i);
+        }
+        int falsePositives = 0;
+        for (int i = 10_000; i < 110_000; i++) {
+            if (filter.mightContain(i)) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 2_000, "false positives: " + falsePositives);
+    }
+
+    @Test
+    public void testClear() {
+        MyBlockedBloomFilter<String> filter = new MyBlockedBloomFilter<>(100, 0.01);
+        filter.put("a");
+        filter.clear();
+        assertFalse(filter.mightContain("a"));
+    }
+
+    @Test
+    public void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new MyBlockedBloomFilter<>(-1, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> new MyBlockedBloomFilter<>(10, 1));
+    }
+}
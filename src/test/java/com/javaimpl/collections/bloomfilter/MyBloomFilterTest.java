@@ -0,0 +1,60 @@
+package com.javaimpl.collections.bloomfilter;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MyBloomFilterTest {
+
+    @Test
+    public void testNoFalseNegatives() {
+        MyBloomFilter<Integer> filter = new MyBloomFilter<>(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put(i);
+        }
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain(i));
+        }
+    }
+
+    @Test
+    public void testFalsePositiveRateIsNearTarget() {
+        MyBloomFilter<Integer> filter = new MyBloomFilter<>(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put(i);
+        }
+        int falsePositives = 0;
+        for (int i = 10_000; i < 110_000; i++) {
+            if (filter.mightContain(i)) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 2_000, "false positives: " + falsePositives);
+    }
+
+    @Test
+    public void testSerializationRoundTrip() throws IOException {
+        MyBloomFilter<String> filter = new MyBloomFilter<>(100, 0.01);
+        filter.put("a");
+        filter.put("b");
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        filter.writeTo(new DataOutputStream(bytes));
+        MyBloomFilter<String> copy = MyBloomFilter.readFrom(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+        assertTrue(copy.mightContain("a"));
+        assertTrue(copy.mightContain("b"));
+    }
+
+    @Test
+    public void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new MyBloomFilter<>(-1, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> new MyBloomFilter<>(10, 0));
+        assertThrows(IllegalArgumentException.class, () -> new MyBloomFilter<>(10, 1));
+    }
+}
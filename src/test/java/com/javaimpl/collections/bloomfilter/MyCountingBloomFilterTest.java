@@ -0,0 +1,60 @@
+package com.javaimpl.collections.bloomfilter;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MyCountingBloomFilterTest {
+
+    @Test
+    public void testNoFalseNegatives() {
+        MyCountingBloomFilter<Integer> filter = new MyCountingBloomFilter<>(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put(i);
+        }
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain(i));
+        }
+    }
+
+    @Test
+    public void testRemove() {
+        MyCountingBloomFilter<Integer> filter = new MyCountingBloomFilter<>(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put(i);
+        }
+        for (int i = 0; i < 10_000; i += 2) {
+            filter.remove(i);
+        }
+        int stillPresent = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (i % 2 == 1) {
+                assertTrue(filter.mightContain(i));
+            } else if (filter.mightContain(i)) {
+                stillPresent++;
+            }
+        }
+        assertTrue(stillPresent < 200, "removed but still reported: " + stillPresent);
+    }
+
+    @Test
+    public void testSaturatedCounterIsKept() {
+        MyCountingBloomFilter<String> filter = new MyCountingBloomFilter<>(10, 0.01);
+        for (int i = 0; i < 20; i++) {
+            filter.put("a");
+        }
+        for (int i = 0; i < 19; i++) {
+            filter.remove("a");
+        }
+        // counters stuck at 15 must not drop to zero, or a remaining put would be lost
+        assertTrue(filter.mightContain("a"));
+    }
+
+    @Test
+    public void testClear() {
+        MyCountingBloomFilter<String> filter = new MyCountingBloomFilter<>(100, 0.01);
+        filter.put("a");
+        filter.clear();
+        assertFalse(filter.mightContain("a"));
+    }
+}
@@ -0,0 +1,105 @@
+package com.javaimpl.collections.columnarlist;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.NoSuchElementException;
+
+import static com.javaimpl.collections.columnarlist.MyColumnarList.Column.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MyColumnarListTest {
+
+    // id, timestamp, price, symbol
+    private static MyColumnarList trades(int count) {
+        MyColumnarList list = new MyColumnarList(INT, LONG, DOUBLE, OBJECT);
+        for (int i = 0; i < count; i++) {
+            list.add().setInt(0, i).setLong(1, 1_700_000_000_000L + i).setDouble(2, i * 0.5).setObject(3, i % 2 == 0 ? "AAPL" : "MSFT");
+        }
+        return list;
+    }
+
+    @Test
+    public void testAddAndGet() {
+        MyColumnarList list = trades(1000);
+        assertEquals(1000, list.size());
+        assertEquals(4, list.columnCount());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i, list.getInt(i, 0));
+            assertEquals(1_700_000_000_000L + i, list.getLong(i, 1));
+            assertEquals(i * 0.5, list.getDouble(i, 2));
+            String symbol = list.getObject(i, 3);
+            assertEquals(i % 2 == 0 ? "AAPL" : "MSFT", symbol);
+        }
+        MyColumnarList.Row row = list.row(7);
+        assertSame(row, list.row(8));
+        assertEquals(8, row.getInt(0));
+        list.setDouble(8, 2, 99.0);
+        assertEquals(99.0, row.getDouble(2));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.getInt(1000, 0));
+        assertThrows(IllegalArgumentException.class, () -> list.getLong(0, 0));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.getInt(0, 4));
+    }
+
+    @Test
+    public void testRemoveAndClearResetSlots() {
+        MyColumnarList list = trades(10);
+        list.remove(3);
+        assertEquals(9, list.size());
+        assertEquals(4, list.getInt(3, 0));
+        assertEquals(9, list.getInt(8, 0));
+        MyColumnarList.Row added = list.add();
+        assertEquals(0, added.getInt(0));
+        assertEquals(0L, added.getLong(1));
+        assertNull(added.getObject(3));
+        list.clear();
+        assertEquals(0, list.size());
+        assertEquals(0, list.add().getInt(0));
+    }
+
+    @Test
+    public void testAggregates() {
+        MyColumnarList list = trades(1000);
+        assertEquals(999L * 1000 / 2, list.sumLong(0));
+        assertEquals(1_700_000_000_000L * 1000 + 999L * 1000 / 2, list.sumLong(1));
+        assertEquals(999.0 * 1000 / 4, list.sumDouble(2));
+        assertEquals(0, list.minLong(0));
+        assertEquals(999, list.maxLong(0));
+        assertEquals(1_700_000_000_999L, list.maxLong(1));
+        assertEquals(0.0, list.minDouble(2));
+        assertEquals(499.5, list.maxDouble(2));
+        assertThrows(NoSuchElementException.class, () -> new MyColumnarList(INT).minLong(0));
+        assertThrows(IllegalArgumentException.class, () -> list.sumDouble(0));
+    }
+
+    @Test
+    public void testFilters() {
+        MyColumnarList list = trades(1000);
+        BitSet multiplesOfTen = list.filterInt(0, id -> id % 10 == 0);
+        assertEquals(100, multiplesOfTen.cardinality());
+        assertTrue(multiplesOfTen.get(990));
+        assertFalse(multiplesOfTen.get(991));
+        assertEquals(list.filterLong(1, t -> t % 10 == 0), multiplesOfTen);
+        assertEquals(500, list.filterDouble(2, price -> price >= 250.0).cardinality());
+        BitSet msft = list.<String>filterObject(3, "MSFT"::equals);
+        assertEquals(500, msft.cardinality());
+        assertEquals(msft.stream().asLongStream().sum(), list.sumLong(0, msft));
+        assertEquals(125_000.0, list.sumDouble(2, msft), 1e-9); // half the sum of the odd ids
+    }
+
+    @Test
+    public void testRangeFilters() {
+        MyColumnarList list = trades(1000);
+        list.setInt(500, 0, -7);
+        BitSet range = list.filterIntBetween(0, 63, 640);
+        assertEquals(list.filterInt(0, id -> id >= 63 && id <= 640), range);
+        assertEquals(577, range.cardinality());
+        assertEquals(63, range.nextSetBit(0));
+        assertFalse(range.get(500));
+        BitSet timestamps = list.filterLongBetween(1, 1_700_000_000_063L, 1_700_000_000_640L);
+        timestamps.clear(500); // only the id column was changed
+        assertEquals(range, timestamps);
+        assertTrue(list.filterIntBetween(0, 10, 9).isEmpty());
+        assertEquals(1, list.filterIntBetween(0, Integer.MIN_VALUE, -1).cardinality());
+    }
+}
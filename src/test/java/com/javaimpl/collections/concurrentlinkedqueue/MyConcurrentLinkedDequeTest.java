@@ -0,0 +1,116 @@
+package com.javaimpl.collections.concurrentlinkedqueue;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MyConcurrentLinkedDequeTest {
+
+    @Test
+    public void testBothEnds() {
+        MyConcurrentLinkedDeque<Integer> deque = new MyConcurrentLinkedDeque<>();
+        assertTrue(deque.isEmpty());
+        assertNull(deque.pollFirst());
+        assertNull(deque.pollLast());
+        deque.addLast(2);
+        deque.addFirst(1);
+        deque.addLast(3);
+        assertEquals(3, deque.size());
+        assertEquals(1, deque.peekFirst());
+        assertEquals(3, deque.peekLast());
+        assertEquals(3, deque.pollLast());
+        assertEquals(1, deque.pollFirst());
+        assertEquals(2, deque.pollLast());
+        assertNull(deque.pollFirst());
+        assertThrows(NullPointerException.class, () -> deque.addFirst(null));
+    }
+
+    @Test
+    public void testRandomOperationsMatchArrayDeque() {
+        Random random = new Random(3);
+        MyConcurrentLinkedDeque<Integer> deque = new MyConcurrentLinkedDeque<>();
+        ArrayDeque<Integer> expected = new ArrayDeque<>();
+        for (int step = 0; step < 100_000; step++) {
+            switch (random.nextInt(6)) {
+                case 0 -> {
+                    deque.addFirst(step);
+                    expected.addFirst(step);
+                }
+                case 1 -> {
+                    deque.addLast(step);
+                    expected.addLast(step);
+                }
+                case 2 -> assertEquals(expected.pollFirst(), deque.pollFirst());
+                case 3 -> assertEquals(expected.pollLast(), deque.pollLast());
+                case 4 -> {
+                    Integer item = step - random.nextInt(50);
+                    assertEquals(expected.remove(item), deque.remove(item));
+                }
+                default -> assertEquals(expected.peekFirst(), deque.peekFirst());
+            }
+        }
+        assertEquals(expected.size(), deque.size());
+        while (!expected.isEmpty()) {
+            assertEquals(expected.pollFirst(), deque.pollFirst());
+        }
+        assertTrue(deque.isEmpty());
+    }
+
+    @Test
+    public void testConcurrentOperationsAtBothEnds() throws InterruptedException {
+        MyConcurrentLinkedDeque<Integer> deque = new MyConcurrentLinkedDeque<>();
+        int producers = 4, consumers = 4, perProducer = 50_000;
+        int total = producers * perProducer;
+        AtomicInteger consumed = new AtomicInteger();
+        BitSet[] seen = new BitSet[consumers];
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            int base = p * perProducer;
+            boolean front = p % 2 == 0;
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    if (front) {
+                        deque.offerFirst(base + i);
+                    } else {
+                        deque.offerLast(base + i);
+                    }
+                }
+            }));
+        }
+        for (int c = 0; c < consumers; c++) {
+            BitSet mine = seen[c] = new BitSet(total);
+            boolean front = c % 2 == 0;
+            threads.add(new Thread(() -> {
+                while (consumed.get() < total) {
+                    Integer value = front ? deque.pollFirst() : deque.pollLast();
+                    if (value != null) {
+                        mine.set(value);
+                        consumed.incrementAndGet();
+                    }
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        BitSet all = new BitSet(total);
+        int sum = 0;
+        for (BitSet mine : seen) {
+            sum += mine.cardinality();
+            all.or(mine);
+        }
+        // every element taken exactly once
+        assertEquals(total, sum);
+        assertEquals(total, all.cardinality());
+        assertTrue(deque.isEmpty());
+        assertEquals(0, deque.size());
+    }
+}
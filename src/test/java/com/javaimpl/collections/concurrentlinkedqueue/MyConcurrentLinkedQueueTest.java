@@ -0,0 +1,90 @@
+package com.javaimpl.collections.concurrentlinkedqueue;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MyConcurrentLinkedQueueTest {
+
+    @Test
+    public void testFifoOrder() {
+        MyConcurrentLinkedQueue<Integer> queue = new MyConcurrentLinkedQueue<>();
+        assertTrue(queue.isEmpty());
+        assertNull(queue.poll());
+        for (int i = 0; i < 100; i++) {
+            queue.offer(i);
+        }
+        assertEquals(100, queue.size());
+        assertEquals(0, queue.peek());
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i, queue.poll());
+        }
+        assertNull(queue.poll());
+        assertThrows(NullPointerException.class, () -> queue.offer(null));
+    }
+
+    @Test
+    public void testRemoveLeavesNodeUntilPolled() {
+        MyConcurrentLinkedQueue<String> queue = new MyConcurrentLinkedQueue<>();
+        queue.add("a");
+        queue.add("b");
+        queue.add("c");
+        assertTrue(queue.remove("b"));
+        assertFalse(queue.remove("b"));
+        assertFalse(queue.contains("b"));
+        assertEquals(2, queue.size());
+        assertTrue(queue.remove("a"));
+        assertEquals("c", queue.peek());
+        assertEquals("c", queue.poll());
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void testConcurrentProducersAndConsumers() throws InterruptedException {
+        MyConcurrentLinkedQueue<Integer> queue = new MyConcurrentLinkedQueue<>();
+        int producers = 4, consumers = 4, perProducer = 50_000;
+        int total = producers * perProducer;
+        AtomicInteger consumed = new AtomicInteger();
+        BitSet[] seen = new BitSet[consumers];
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            int base = p * perProducer;
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    queue.offer(base + i);
+                }
+            }));
+        }
+        for (int c = 0; c < consumers; c++) {
+            BitSet mine = seen[c] = new BitSet(total);
+            threads.add(new Thread(() -> {
+                while (consumed.get() < total) {
+                    Integer value = queue.poll();
+                    if (value != null) {
+                        mine.set(value);
+                        consumed.incrementAndGet();
+                    }
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        BitSet all = new BitSet(total);
+        int sum = 0;
+        for (BitSet mine : seen) {
+            sum += mine.cardinality();
+            all.or(mine);
+        }
+        // every element taken exactly once
+        assertEquals(total, sum);
+        assertEquals(total, all.cardinality());
+        assertTrue(queue.isEmpty());
+    }
+}
@@ -0,0 +1,89 @@
+package com.javaimpl.collections.copyonwritearraylist;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MyCopyOnWriteArrayListTest {
+
+    @Test
+    public void testAddGetRemove() {
+        MyCopyOnWriteArrayList<String> list = new MyCopyOnWriteArrayList<>();
+        list.add("a");
+        list.add("c");
+        list.add("b", 1);
+        assertEquals(3, list.size());
+        assertEquals("b", list.get(1));
+        list.remove(0);
+        assertEquals("b", list.get(0));
+        assertTrue(list.remove("c"));
+        assertFalse(list.remove("c"));
+        assertEquals(1, list.size());
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.add("x", 5));
+    }
+
+    @Test
+    public void testBulkOperations() {
+        MyCopyOnWriteArrayList<Integer> list = new MyCopyOnWriteArrayList<>(List.of(1, 5));
+        list.addAll(List.of(2, 3, 4), 1);
+        list.addAll(List.of(6));
+        assertArrayEquals(new Object[]{1, 2, 3, 4, 5, 6}, list.toArray());
+        assertTrue(list.removeIf(i -> i % 2 == 0));
+        assertArrayEquals(new Object[]{1, 3, 5}, list.toArray());
+        assertFalse(list.removeIf(i -> i > 10));
+        assertTrue(list.contains(3));
+        list.clear();
+        assertTrue(list.isEmpty());
+    }
+
+    @Test
+    public void testIteratorIsSnapshot() {
+        MyCopyOnWriteArrayList<Integer> list = new MyCopyOnWriteArrayList<>(List.of(1, 2, 3));
+        Iterator<Integer> iterator = list.iterator();
+        list.add(4);
+        list.remove(0);
+        List<Integer> seen = new ArrayList<>();
+        iterator.forEachRemaining(seen::add);
+        assertEquals(List.of(1, 2, 3), seen);
+
+        // mutating inside a for-each is safe and does not affect the loop
+        for (Integer i : list) {
+            list.add(i * 10);
+        }
+        assertArrayEquals(new Object[]{2, 3, 4, 20, 30, 40}, list.toArray());
+    }
+
+    @Test
+    public void testConcurrentReadersSeeConsistentArrays() throws InterruptedException {
+        MyCopyOnWriteArrayList<Integer> list = new MyCopyOnWriteArrayList<>();
+        AtomicBoolean failed = new AtomicBoolean();
+        CountDownLatch done = new CountDownLatch(2);
+        Runnable reader = () -> {
+            for (int round = 0; round < 2000; round++) {
+                int expected = 0;
+                // every published array holds 0..n-1 in order
+                for (Integer i : list) {
+                    if (i != expected++) {
+                        failed.set(true);
+                    }
+                }
+            }
+            done.countDown();
+        };
+        new Thread(reader).start();
+        new Thread(reader).start();
+        for (int i = 0; i < 2000; i++) {
+            list.add(i);
+        }
+        done.await();
+        assertFalse(failed.get());
+        assertEquals(2000, list.size());
+    }
+}
@@ -2,6 +2,13 @@ package com.javaimpl.collections.hashmap;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.Spliterator;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 public class MyHashMapTests {
@@ -48,6 +55,30 @@ public class MyHashMapTests {
         assertEquals("2 - updated", hashMap.get("b"));
     }
 
+    @Test
+    public void testBloomFilter() {
+        MyHashMap<String, String> hashMap = generateHashMap();
+        hashMap.enableBloomFilter(TEST_LENGTH * 2, 0.01);
+        for (int i = 0; i < TEST_LENGTH; i++) {
+            assertEquals(String.valueOf(i), hashMap.get(String.valueOf(i)));
+        }
+        assertNull(hashMap.get("absent_key"));
+
+        hashMap.put("added", "1");
+        assertEquals("1", hashMap.get("added"));
+        hashMap.put("added", "2");
+        assertEquals("1", hashMap.remove("1"));
+        assertNull(hashMap.get("1"));
+        assertNull(hashMap.remove("1"));
+        assertEquals("2", hashMap.remove("added"));
+        assertNull(hashMap.get("added"));
+
+        hashMap.clear();
+        assertNull(hashMap.get("2"));
+        hashMap.put("2", "2");
+        assertEquals("2", hashMap.get("2"));
+    }
+
     @Test
     public void testRemoveAbsentKey() {
         MyHashMap<String, String> hashMap = new MyHashMap<>();
@@ -66,4 +97,90 @@ public class MyHashMapTests {
         }
         return hashMap;
     }
+
+    @Test
+    public void testStreams() {
+        MyHashMap<String, String> hashMap = generateHashMap();
+        assertEquals(TEST_LENGTH, hashMap.keyStream().count());
+        assertEquals(TEST_LENGTH, hashMap.keyStream().parallel().distinct().count());
+        assertEquals(TEST_LENGTH * (TEST_LENGTH - 1) / 2, hashMap.valueStream().parallel().mapToInt(Integer::parseInt).sum());
+        assertTrue(hashMap.entryStream().allMatch(e -> e.getKey().equals(e.getValue())));
+        assertEquals(0, new MyHashMap<String, String>().keyStream().count());
+    }
+
+    @Test
+    public void testKeySpliteratorSplitsBins() {
+        MyHashMap<String, String> hashMap = generateHashMap();
+        Spliterator<String> right = hashMap.keySpliterator();
+        assertTrue(right.hasCharacteristics(Spliterator.SIZED | Spliterator.DISTINCT));
+        assertEquals(TEST_LENGTH, right.estimateSize());
+        Spliterator<String> left = right.trySplit();
+        assertNotNull(left);
+        assertFalse(right.hasCharacteristics(Spliterator.SIZED));
+
+        Set<String> keys = new HashSet<>();
+        left.forEachRemaining(keys::add);
+        while (right.tryAdvance(keys::add)) {
+            // drain one at a time
+        }
+        assertEquals(TEST_LENGTH, keys.size());
+    }
+
+    /**
+     * A key whose hashCode is chosen by the test, so that many keys share a bin or even a hash.
+     */
+    private record CollidingKey(int id, int hash) {
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    @Test
+    public void testCollidingHashCodesSurviveResize() {
+        MyHashMap<Integer, Integer> hashMap = new MyHashMap<>();
+        // the low bits of i << 20 and of (i << 20) >>> 16 are all zero for small i, so every key starts in bin 0
+        for (int i = 0; i < 200; i++) {
+            hashMap.put(i << 20, i);
+        }
+        assertEquals(200, hashMap.size());
+        for (int i = 0; i < 200; i++) {
+            assertEquals(i, hashMap.get(i << 20));
+        }
+        assertEquals(200, hashMap.keyStream().count());
+        for (int i = 0; i < 200; i += 2) {
+            assertEquals(i, hashMap.remove(i << 20));
+        }
+        assertEquals(100, hashMap.size());
+        for (int i = 0; i < 200; i++) {
+            assertEquals(i % 2 == 0 ? null : i, hashMap.get(i << 20));
+        }
+    }
+
+    @Test
+    public void testRandomOperationsOnTreeBinsMatchHashMap() {
+        Random random = new Random(21);
+        MyHashMap<CollidingKey, Integer> hashMap = new MyHashMap<>();
+        Map<CollidingKey, Integer> expected = new HashMap<>();
+        for (int step = 0; step < 50_000; step++) {
+            // 8 distinct hashes for 400 keys: long bins, with many equal hashes inside each tree
+            int id = random.nextInt(400);
+            CollidingKey key = new CollidingKey(id, (id % 8) << 20);
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key), hashMap.remove(key));
+            } else {
+                expected.put(key, step);
+                hashMap.put(key, step);
+            }
+            assertEquals(expected.size(), hashMap.size());
+            if (step % 1_000 == 0) {
+                for (int other = 0; other < 400; other++) {
+                    CollidingKey probe = new CollidingKey(other, (other % 8) << 20);
+                    assertEquals(expected.get(probe), hashMap.get(probe));
+                }
+                assertEquals(expected.size(), hashMap.keyStream().count());
+            }
+        }
+    }
 }
@@ -3,6 +3,11 @@ package com.javaimpl.collections.hashset;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class MyHashSetTest {
@@ -52,4 +57,215 @@ class MyHashSetTest {
          set.add("content");
          assertFalse(set.isEmpty());
     }
+
+    @Test
+    void testBloomFilter() {
+         set.add("A");
+         set.enableBloomFilter(100, 0.01);
+         set.add("B");
+         assertTrue(set.contains("A"));
+         assertTrue(set.contains("B"));
+         assertFalse(set.contains("C"));
+         assertTrue(set.remove("A"));
+         assertFalse(set.contains("A"));
+         set.disableBloomFilter();
+         assertTrue(set.contains("B"));
+    }
+
+    @Test
+    void testStream() {
+         for (int i = 0; i < 100; i++) {
+              set.add("item" + i);
+         }
+         assertEquals(100, set.stream().count());
+         assertEquals(100, set.parallelStream().filter(s -> s.startsWith("item")).count());
+    }
+
+    @Test
+    void testNullElement() {
+        assertFalse(set.contains(null));
+        assertTrue(set.add(null));
+        assertFalse(set.add(null));
+        assertTrue(set.contains(null));
+        assertEquals(1, set.stream().filter(s -> s == null).count());
+        assertTrue(set.remove(null));
+        assertFalse(set.contains(null));
+        assertTrue(set.isEmpty());
+    }
+
+    @Test
+    void testCollidingHashCodes() {
+        // "Aa" and "BB" share a hashCode, so every element here lands in one probe run
+        MyHashSet<String> colliding = new MyHashSet<>();
+        Set<String> expected = new HashSet<>();
+        String[] parts = {"Aa", "BB"};
+        for (int i = 0; i < 64; i++) {
+            StringBuilder key = new StringBuilder();
+            for (int bit = 0; bit < 6; bit++) {
+                key.append(parts[(i >> bit) & 1]);
+            }
+            assertTrue(colliding.add(key.toString()));
+            expected.add(key.toString());
+        }
+        for (String key : expected) {
+            assertTrue(colliding.contains(key));
+        }
+        // removing from the middle of the run must keep the entries after it reachable
+        int i = 0;
+        for (String key : expected) {
+            if (i++ % 2 == 0) {
+                assertTrue(colliding.remove(key));
+            }
+        }
+        assertEquals(32, colliding.size());
+        i = 0;
+        for (String key : expected) {
+            assertEquals(i++ % 2 != 0, colliding.remove(key));
+        }
+        assertTrue(colliding.isEmpty());
+    }
+
+    @Test
+    void testRandomOperationsMatchHashSet() {
+        Random random = new Random(13);
+        MyHashSet<Integer> integers = new MyHashSet<>(4, 0.5f);
+        Set<Integer> expected = new HashSet<>();
+        for (int step = 0; step < 200_000; step++) {
+            Integer value = random.nextInt(5_000);
+            int op = random.nextInt(3);
+            if (op == 0) {
+                assertEquals(expected.add(value), integers.add(value));
+            } else if (op == 1) {
+                assertEquals(expected.remove(value), integers.remove(value));
+            } else {
+                assertEquals(expected.contains(value), integers.contains(value));
+            }
+        }
+        assertEquals(expected.size(), integers.size());
+        assertEquals(expected, integers.parallelStream().collect(Collectors.toSet()));
+    }
+
+    private static MyHashSet<Integer> setOf(Set<Integer> values) {
+        MyHashSet<Integer> result = new MyHashSet<>();
+        values.forEach(result::add);
+        return result;
+    }
+
+    private static Set<Integer> toSet(MyHashSet<Integer> values) {
+        return values.stream().collect(Collectors.toSet());
+    }
+
+    private static Set<Integer> randomInts(Random random, int count, int bound) {
+        Set<Integer> values = new HashSet<>();
+        while (values.size() < count) {
+            values.add(random.nextInt(bound));
+        }
+        return values;
+    }
+
+    @Test
+    void testUnionAndIntersect() {
+        Random random = new Random(5);
+        // large enough that the membership checks are split across slot ranges
+        for (int[] sizes : new int[][]{{50, 20}, {40_000, 30_000}, {3, 50_000}, {0, 10}}) {
+            Set<Integer> a = randomInts(random, sizes[0], 100_000);
+            Set<Integer> b = randomInts(random, sizes[1], 100_000);
+            Set<Integer> union = new HashSet<>(a);
+            union.addAll(b);
+            Set<Integer> intersection = new HashSet<>(a);
+            intersection.retainAll(b);
+
+            MyHashSet<Integer> myA = setOf(a), myB = setOf(b);
+            MyHashSet<Integer> myUnion = MyHashSet.union(myA, myB);
+            MyHashSet<Integer> myIntersection = MyHashSet.intersect(myA, myB);
+            assertEquals(union.size(), myUnion.size());
+            assertEquals(union, toSet(myUnion));
+            assertEquals(intersection.size(), myIntersection.size());
+            assertEquals(intersection, toSet(myIntersection));
+            assertEquals(a, toSet(myA));
+            assertEquals(b, toSet(myB));
+            assertEquals(union, toSet(MyHashSet.union(myB, myA)));
+            assertEquals(intersection, toSet(MyHashSet.intersect(myB, myA)));
+        }
+    }
+
+    @Test
+    void testBulkUpdatesMatchHashSet() {
+        Random random = new Random(9);
+        for (int[] sizes : new int[][]{{60, 30}, {30, 60}, {40_000, 25_000}, {20_000, 45_000}}) {
+            Set<Integer> a = randomInts(random, sizes[0], 100_000);
+            Set<Integer> b = randomInts(random, sizes[1], 100_000);
+            MyHashSet<Integer> other = setOf(b);
+
+            Set<Integer> expected = new HashSet<>(a);
+            MyHashSet<Integer> actual = setOf(a);
+            assertEquals(expected.addAll(b), actual.addAll(other));
+            assertEquals(expected, toSet(actual));
+            assertEquals(expected.size(), actual.size());
+            assertFalse(actual.addAll(other));
+            assertTrue(actual.containsAll(other));
+
+            expected = new HashSet<>(a);
+            actual = setOf(a);
+            assertEquals(expected.retainAll(b), actual.retainAll(other));
+            assertEquals(expected, toSet(actual));
+            assertEquals(expected.size(), actual.size());
+            assertFalse(actual.retainAll(other));
+
+            expected = new HashSet<>(a);
+            actual = setOf(a);
+            assertEquals(expected.removeAll(b), actual.removeAll(other));
+            assertEquals(expected, toSet(actual));
+            assertEquals(expected.size(), actual.size());
+            assertFalse(actual.removeAll(other));
+            for (int value : b) {
+                assertFalse(actual.contains(value));
+            }
+            actual.add(-1); // the table still works after being rebuilt
+            assertTrue(actual.contains(-1));
+
+            assertEquals(a.containsAll(b), setOf(a).containsAll(other));
+            assertEquals(b, toSet(other));
+        }
+    }
+
+    @Test
+    void testBulkOperationsWithNullsAndItself() {
+        set.add(null);
+        set.add("a");
+        set.add("b");
+        MyHashSet<String> other = new MyHashSet<>();
+        other.add(null);
+        other.add("b");
+        other.add("c");
+
+        assertEquals(Set.of("b"), MyHashSet.intersect(set, other).stream().filter(s -> s != null)
+                .collect(Collectors.toSet()));
+        assertTrue(MyHashSet.intersect(set, other).contains(null));
+        assertEquals(4, MyHashSet.union(set, other).size());
+        assertTrue(set.containsAll(set));
+        assertFalse(set.retainAll(set));
+        assertFalse(set.addAll(set));
+
+        set.enableBloomFilter(100, 0.01);
+        assertTrue(set.retainAll(other));
+        assertEquals(2, set.size());
+        assertFalse(set.contains("a"));
+        assertTrue(set.contains("b"));
+        assertTrue(set.addAll(other));
+        assertTrue(set.contains("c"));
+        assertTrue(set.removeAll(other));
+        assertTrue(set.isEmpty());
+        assertFalse(set.contains(null));
+
+        set.add("x");
+        assertTrue(set.removeAll(set));
+        assertTrue(set.isEmpty());
+    }
+
+    @Test
+    void testIllegalArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new MyHashSet<>(-1, 0.75f));
+        assertThrows(IllegalArgumentException.class, () -> new MyHashSet<>(16, 1f));
+    }
 }
@@ -0,0 +1,114 @@
+package com.javaimpl.collections.hashset;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.HashSet;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MyIntHashSetTest {
+
+    @Test
+    void testAddContainsRemove() {
+        MyIntHashSet set = new MyIntHashSet();
+        assertTrue(set.add(42));
+        assertFalse(set.add(42));
+        assertTrue(set.add(Integer.MIN_VALUE));
+        assertTrue(set.add(-1));
+        assertTrue(set.contains(42));
+        assertTrue(set.contains(Integer.MIN_VALUE));
+        assertFalse(set.contains(43));
+        assertEquals(3, set.size());
+        assertTrue(set.remove(42));
+        assertFalse(set.remove(42));
+        assertFalse(set.contains(42));
+        assertEquals(2, set.size());
+        set.clear();
+        assertTrue(set.isEmpty());
+        assertFalse(set.contains(-1));
+    }
+
+    @Test
+    void testZeroIsAnOrdinaryValue() {
+        MyIntHashSet set = new MyIntHashSet();
+        assertFalse(set.contains(0));
+        assertTrue(set.add(0));
+        assertFalse(set.add(0));
+        set.add(7);
+        assertTrue(set.contains(0));
+        int[] values = set.toArray();
+        Arrays.sort(values);
+        assertArrayEquals(new int[]{0, 7}, values);
+        assertTrue(set.remove(0));
+        assertFalse(set.contains(0));
+        assertEquals(1, set.size());
+    }
+
+    @Test
+    void testAddAllFromArray() {
+        MyIntHashSet set = new MyIntHashSet();
+        int[] ids = new int[10_000];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = i / 2; // every value twice
+        }
+        assertEquals(5_000, set.addAll(ids));
+        assertEquals(0, set.addAll(ids));
+        assertEquals(5_000, set.size());
+        for (int i = 0; i < 5_000; i++) {
+            assertTrue(set.contains(i));
+        }
+    }
+
+    @Test
+    void testCursor() {
+        MyIntHashSet set = new MyIntHashSet();
+        Set<Integer> expected = new HashSet<>();
+        for (int v = -50; v <= 50; v++) {
+            set.add(v * 1_000_003);
+            expected.add(v * 1_000_003);
+        }
+        MyIntHashSet.Cursor cursor = set.cursor();
+        assertThrows(NoSuchElementException.class, cursor::value);
+        Set<Integer> seen = new HashSet<>();
+        while (cursor.next()) {
+            assertTrue(seen.add(cursor.value()));
+        }
+        assertFalse(cursor.next());
+        assertThrows(NoSuchElementException.class, cursor::value);
+        assertEquals(expected, seen);
+
+        MyIntHashSet.Cursor stale = set.cursor();
+        set.add(1);
+        assertThrows(ConcurrentModificationException.class, stale::next);
+    }
+
+    @Test
+    void testRandomOperationsMatchHashSet() {
+        Random random = new Random(22);
+        MyIntHashSet set = new MyIntHashSet(0, 0.6f);
+        Set<Integer> expected = new HashSet<>();
+        for (int step = 0; step < 200_000; step++) {
+            // a small range, so probe runs form and removals shift them
+            int value = random.nextInt(4_000) - 2_000;
+            int op = random.nextInt(3);
+            if (op == 0) {
+                assertEquals(expected.add(value), set.add(value));
+            } else if (op == 1) {
+                assertEquals(expected.remove(value), set.remove(value));
+            } else {
+                assertEquals(expected.contains(value), set.contains(value));
+            }
+        }
+        assertEquals(expected.size(), set.size());
+        int[] values = set.toArray();
+        assertEquals(expected.size(), values.length);
+        for (int value : values) {
+            assertTrue(expected.contains(value));
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.javaimpl.collections.hashset;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.HashSet;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MyLongHashSetTest {
+
+    @Test
+    void testAddContainsRemove() {
+        MyLongHashSet set = new MyLongHashSet();
+        assertTrue(set.add(42));
+        assertFalse(set.add(42));
+        assertTrue(set.add(Long.MIN_VALUE));
+        assertTrue(set.add(-1));
+        assertTrue(set.contains(42));
+        assertTrue(set.contains(Long.MIN_VALUE));
+        assertFalse(set.contains(43));
+        assertEquals(3, set.size());
+        assertTrue(set.remove(42));
+        assertFalse(set.remove(42));
+        assertFalse(set.contains(42));
+        assertEquals(2, set.size());
+        set.clear();
+        assertTrue(set.isEmpty());
+        assertFalse(set.contains(-1));
+    }
+
+    @Test
+    void testZeroIsAnOrdinaryValue() {
+        MyLongHashSet set = new MyLongHashSet();
+        assertFalse(set.contains(0));
+        assertTrue(set.add(0));
+        assertFalse(set.add(0));
+        set.add(7);
+        assertTrue(set.contains(0));
+        long[] values = set.toArray();
+        Arrays.sort(values);
+        assertArrayEquals(new long[]{0, 7}, values);
+        assertTrue(set.remove(0));
+        assertFalse(set.contains(0));
+        assertEquals(1, set.size());
+    }
+
+    @Test
+    void testAddAllFromArray() {
+        MyLongHashSet set = new MyLongHashSet();
+        long[] ids = new long[10_000];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = i / 2; // every value twice
+        }
+        assertEquals(5_000, set.addAll(ids));
+        assertEquals(0, set.addAll(ids));
+        assertEquals(5_000, set.size());
+        for (int i = 0; i < 5_000; i++) {
+            assertTrue(set.contains(i));
+        }
+    }
+
+    @Test
+    void testCursor() {
+        MyLongHashSet set = new MyLongHashSet();
+        Set<Long> expected = new HashSet<>();
+        for (long v = -50; v <= 50; v++) {
+            set.add(v * 1_000_003L);
+            expected.add(v * 1_000_003L);
+        }
+        MyLongHashSet.Cursor cursor = set.cursor();
+        assertThrows(NoSuchElementException.class, cursor::value);
+        Set<Long> seen = new HashSet<>();
+        while (cursor.next()) {
+            assertTrue(seen.add(cursor.value()));
+        }
+        assertFalse(cursor.next());
+        assertThrows(NoSuchElementException.class, cursor::value);
+        assertEquals(expected, seen);
+
+        MyLongHashSet.Cursor stale = set.cursor();
+        set.add(1);
+        assertThrows(ConcurrentModificationException.class, stale::next);
+    }
+
+    @Test
+    void testRandomOperationsMatchHashSet() {
+        Random random = new Random(21);
+        MyLongHashSet set = new MyLongHashSet(0, 0.6f);
+        Set<Long> expected = new HashSet<>();
+        for (int step = 0; step < 200_000; step++) {
+            // a small range, so probe runs form and removals shift them
+            long value = random.nextInt(4_000) - 2_000;
+            int op = random.nextInt(3);
+            if (op == 0) {
+                assertEquals(expected.add(value), set.add(value));
+            } else if (op == 1) {
+                assertEquals(expected.remove(value), set.remove(value));
+            } else {
+                assertEquals(expected.contains(value), set.contains(value));
+            }
+        }
+        assertEquals(expected.size(), set.size());
+        long[] values = set.toArray();
+        assertEquals(expected.size(), values.length);
+        for (long value : values) {
+            assertTrue(expected.contains(value));
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.javaimpl.collections.linkedhashmap;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -138,4 +139,36 @@ public class MyLinkedHashMapTest {
         assertEquals("B", keys.get(0));
         assertEquals("A", keys.get(1), "Updating key A should move it to the tail in accessOrder mode");
     }
+
+    @Test
+    public void testKeyStreamFollowsLinkedOrder() {
+        MyLinkedHashMap<String, String> map = new MyLinkedHashMap<>(true);
+        map.put("A", "1");
+        map.put("B", "2");
+        map.put("C", "3");
+        map.get("A");
+        assertEquals(List.of("B", "C", "A"), map.keyStream().toList());
+        assertEquals(List.of("2", "3", "1"), map.valueStream().toList());
+        assertEquals(List.of("B", "C", "A"), map.keyStream().parallel().toList());
+    }
+
+    @Test
+    public void testCollidingKeysKeepInsertionOrder() {
+        MyLinkedHashMap<Integer, Integer> map = new MyLinkedHashMap<>();
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            // colliding hashes turn bins into trees, and resizes split them again
+            map.put(i << 20, i);
+            expected.add(i << 20);
+        }
+        assertEquals(expected, map.keys());
+        for (int i = 0; i < 100; i += 3) {
+            assertEquals(i, map.remove(i << 20));
+            expected.remove(Integer.valueOf(i << 20));
+        }
+        assertEquals(expected, map.keys());
+        map.put(5 << 20, -5);
+        assertEquals(expected, map.keys());
+        assertEquals(-5, map.get(5 << 20));
+    }
 }
@@ -0,0 +1,154 @@
+package com.javaimpl.collections.linkedlist;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MyHashIndexedLinkedListTest {
+
+    @Test
+    public void testContainsAndRemoveItem() {
+        MyHashIndexedLinkedList<String> list = new MyHashIndexedLinkedList<>();
+        list.add("b");
+        list.addFirst("a");
+        list.addLast("c");
+        list.add(null);
+        assertTrue(list.contains("a"));
+        assertTrue(list.contains(null));
+        assertFalse(list.contains("z"));
+        assertEquals("b", list.remove("b"));
+        assertFalse(list.contains("b"));
+        assertNull(list.remove("z"));
+        list.remove((String) null);
+        assertFalse(list.contains(null));
+        assertEquals(2, list.size());
+        list.clear();
+        assertFalse(list.contains("a"));
+        assertEquals(0, list.size());
+    }
+
+    @Test
+    public void testRemoveItemTakesFirstOccurrence() {
+        MyHashIndexedLinkedList<String> list = new MyHashIndexedLinkedList<>();
+        list.add("x");
+        list.add("y");
+        list.add("x");
+        list.add("x", 1); // x x y x
+        list.add("x", 3); // x x y x x
+        list.remove("x");
+        list.remove("x");
+        assertEquals("y", list.get(0));
+        assertEquals(3, list.size());
+        list.set(0, "x");
+        list.remove("x");
+        list.remove("x");
+        assertEquals("x", list.get(0));
+        assertEquals(1, list.size());
+    }
+
+    @Test
+    public void testSetMovesNodeBetweenChains() {
+        MyHashIndexedLinkedList<String> list = new MyHashIndexedLinkedList<>();
+        list.add("a");
+        list.add("b");
+        list.set(0, "b");
+        assertFalse(list.contains("a"));
+        list.set(1, "c");
+        assertEquals("b", list.get(0));
+        assertEquals("b", list.remove("b"));
+        assertFalse(list.contains("b"));
+        assertTrue(list.contains("c"));
+    }
+
+    @Test
+    public void testListIteratorKeepsIndex() {
+        MyHashIndexedLinkedList<Integer> list = new MyHashIndexedLinkedList<>();
+        for (int i = 0; i < 10; i++) {
+            list.add(i % 3);
+        }
+        ListIterator<Integer> it = list.listIterator();
+        while (it.hasNext()) {
+            int value = it.next();
+            if (value == 0) {
+                it.remove();
+            } else if (value == 1) {
+                it.set(5);
+            } else {
+                it.add(2);
+            }
+        }
+        assertFalse(list.contains(0));
+        assertFalse(list.contains(1));
+        assertEquals(5, list.remove(Integer.valueOf(5)));
+        int twos = 0;
+        while (list.remove(Integer.valueOf(2)) != null) {
+            twos++;
+        }
+        assertEquals(6, twos);
+    }
+
+    @Test
+    public void testCollidingHashCodes() {
+        MyHashIndexedLinkedList<Integer> list = new MyHashIndexedLinkedList<>();
+        for (int i = 0; i < 200; i++) {
+            list.add(i << 20); // hashes that collide in the index's table
+        }
+        for (int i = 0; i < 200; i++) {
+            assertTrue(list.contains(i << 20));
+        }
+        for (int i = 0; i < 200; i += 2) {
+            assertEquals(i << 20, list.remove(Integer.valueOf(i << 20)));
+        }
+        assertEquals(100, list.size());
+        for (int i = 0; i < 200; i++) {
+            assertEquals(i % 2 == 1, list.contains(i << 20));
+        }
+    }
+
+    @Test
+    public void testRandomOperationsMatchArrayList() {
+        Random random = new Random(9);
+        MyHashIndexedLinkedList<Integer> list = new MyHashIndexedLinkedList<>();
+        List<Integer> expected = new ArrayList<>();
+        for (int step = 0; step < 20_000; step++) {
+            // few distinct values, so chains of equal values are long and get split and joined often
+            Integer value = random.nextInt(20) == 0 ? null : random.nextInt(8);
+            int op = random.nextInt(10);
+            if (op < 4 || expected.isEmpty()) {
+                int index = random.nextInt(expected.size() + 1);
+                list.add(value, index);
+                expected.add(index, value);
+            } else if (op < 6) {
+                int index = random.nextInt(expected.size());
+                assertEquals(expected.remove(index), list.remove(index));
+            } else if (op < 8) {
+                expected.remove(value);
+                list.remove(value);
+            } else if (op < 9) {
+                int index = random.nextInt(expected.size());
+                list.set(index, value);
+                expected.set(index, value);
+            } else {
+                assertEquals(expected.contains(value), list.contains(value));
+            }
+            assertEquals(expected.size(), list.size());
+            if (step % 500 == 0) {
+                assertSameOrder(expected, list);
+            }
+        }
+        assertSameOrder(expected, list);
+    }
+
+    private static void assertSameOrder(List<Integer> expected, MyHashIndexedLinkedList<Integer> list) {
+        ListIterator<Integer> it = list.listIterator();
+        for (Integer value : expected) {
+            assertEquals(value, it.next());
+        }
+        assertFalse(it.hasNext());
+    }
+}
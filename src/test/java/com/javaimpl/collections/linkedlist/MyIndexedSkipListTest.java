@@ -0,0 +1,98 @@
+package com.javaimpl.collections.linkedlist;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MyIndexedSkipListTest {
+
+    @Test
+    public void testAddAndGet() {
+        MyIndexedSkipList<Integer> list = new MyIndexedSkipList<>();
+        for (int i = 0; i < 10_000; i++) {
+            list.add(i);
+        }
+        assertEquals(10_000, list.size());
+        for (int i = 0; i < 10_000; i++) {
+            assertEquals(i, list.get(i));
+        }
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(10_000));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.add(0, -1));
+    }
+
+    @Test
+    public void testPrependAndRemoveFirst() {
+        MyIndexedSkipList<Integer> list = new MyIndexedSkipList<>();
+        for (int i = 0; i < 1000; i++) {
+            list.addFirst(i);
+        }
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(999 - i, list.get(i));
+        }
+        for (int i = 0; i < 500; i++) {
+            assertEquals(999 - i, list.remove(0));
+        }
+        list.addLast(-1);
+        assertEquals(501, list.size());
+        assertEquals(499, list.get(0));
+        assertEquals(0, list.get(499));
+        assertEquals(-1, list.get(500));
+    }
+
+    @Test
+    public void testSetContainsAndRemoveItem() {
+        MyIndexedSkipList<String> list = new MyIndexedSkipList<>();
+        list.add("b");
+        list.addFirst("a");
+        list.add("c");
+        list.add(null, 1);
+        list.set(3, "C");
+        assertTrue(list.contains("C"));
+        assertTrue(list.contains(null));
+        assertFalse(list.contains("c"));
+        assertNull(list.remove((String) null));
+        assertEquals("b", list.remove("b"));
+        assertNull(list.remove("z"));
+        assertEquals(2, list.size());
+        assertEquals("C", list.get(1));
+        list.clear();
+        assertEquals(0, list.size());
+        list.add("x");
+        assertEquals("x", list.get(0));
+    }
+
+    @Test
+    public void testRandomOperationsMatchArrayList() {
+        Random random = new Random(17);
+        MyIndexedSkipList<Integer> list = new MyIndexedSkipList<>();
+        List<Integer> expected = new ArrayList<>();
+        for (int step = 0; step < 50_000; step++) {
+            int op = random.nextInt(12);
+            if (expected.isEmpty() || op < 3) {
+                int index = random.nextInt(expected.size() + 1);
+                list.add(step, index);
+                expected.add(index, step);
+            } else if (op < 5) {
+                list.addFirst(step);
+                expected.add(0, step);
+            } else if (op < 7) {
+                list.addLast(step);
+                expected.add(step);
+            } else if (op < 10) {
+                int index = op == 7 ? 0 : op == 8 ? expected.size() - 1 : random.nextInt(expected.size());
+                assertEquals(expected.remove(index), list.remove(index));
+            } else {
+                int index = random.nextInt(expected.size());
+                assertEquals(expected.get(index), list.get(index));
+            }
+        }
+        assertEquals(expected.size(), list.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i), list.get(i));
+        }
+    }
+}
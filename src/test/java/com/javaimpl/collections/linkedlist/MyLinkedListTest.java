@@ -2,7 +2,11 @@ package com.javaimpl.collections.linkedlist;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.ConcurrentModificationException;
+import java.util.List;
+import java.util.ListIterator;
 import java.util.NoSuchElementException;
+import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -204,4 +208,90 @@ public class MyLinkedListTest {
         assertEquals(1, list.size());
         assertEquals("New", list.get(0));
     }
+
+    @Test
+    public void testStream() {
+        MyLinkedList<Integer> list = new MyLinkedList<>();
+        for (int i = 0; i < 5000; i++) {
+            list.add(i);
+        }
+        assertEquals(IntStream.range(0, 5000).boxed().toList(), list.stream().toList());
+        assertEquals(IntStream.range(0, 5000).boxed().toList(), list.parallelStream().toList());
+        assertEquals(5000, list.spliterator().getExactSizeIfKnown());
+    }
+
+    @Test
+    public void testListIteratorTraversal() {
+        MyLinkedList<String> list = new MyLinkedList<>();
+        list.add("A");
+        list.add("B");
+        list.add("C");
+        ListIterator<String> iterator = list.listIterator(1);
+        assertEquals(0, iterator.previousIndex());
+        assertEquals("B", iterator.next());
+        assertEquals("C", iterator.next());
+        assertFalse(iterator.hasNext());
+        assertThrows(NoSuchElementException.class, iterator::next);
+        assertEquals("C", iterator.previous());
+        assertEquals("B", iterator.previous());
+        assertEquals("A", iterator.previous());
+        assertFalse(iterator.hasPrevious());
+        assertThrows(IndexOutOfBoundsException.class, () -> list.listIterator(4));
+    }
+
+    @Test
+    public void testListIteratorMutation_linksAtCursor() {
+        MyLinkedList<String> list = new MyLinkedList<>();
+        list.add("B");
+        list.add("D");
+        ListIterator<String> iterator = list.listIterator();
+        iterator.add("A"); // before the old first node
+        assertEquals("B", iterator.next());
+        iterator.set("b");
+        iterator.add("C");
+        assertEquals("D", iterator.next());
+        iterator.remove();
+        assertThrows(IllegalStateException.class, iterator::remove);
+        iterator.add("E");
+        assertEquals("E", iterator.previous());
+        iterator.remove();
+        assertEquals(3, list.size());
+        assertEquals(List.of("A", "b", "C"), list.stream().toList());
+        assertEquals("A", list.get(0));
+        assertEquals("C", list.get(2));
+    }
+
+    @Test
+    public void testListIteratorFailFast() {
+        MyLinkedList<String> list = new MyLinkedList<>();
+        list.add("A");
+        list.add("B");
+        ListIterator<String> iterator = list.listIterator();
+        iterator.next();
+        list.add("C");
+        assertThrows(ConcurrentModificationException.class, iterator::next);
+        assertThrows(ConcurrentModificationException.class, iterator::remove);
+    }
+
+    @Test
+    public void testListIteratorFilterAndSplice() {
+        MyLinkedList<Integer> list = new MyLinkedList<>();
+        for (int i = 0; i < 1_000_000; i++) {
+            list.add(i);
+        }
+        // drop odd numbers and put a marker after each multiple of 1000, in one pass
+        for (ListIterator<Integer> iterator = list.listIterator(); iterator.hasNext(); ) {
+            int value = iterator.next();
+            if (value % 2 != 0) {
+                iterator.remove();
+            } else if (value % 1000 == 0) {
+                iterator.add(-value);
+            }
+        }
+        assertEquals(501_000, list.size());
+        assertEquals(0, list.get(0));
+        assertEquals(0, list.get(1));
+        assertEquals(2, list.get(2));
+        assertEquals(-999_000, list.get(list.size() - 500));
+    }
 }
@@ -0,0 +1,91 @@
+package com.javaimpl.collections.linkedlist;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MyUnrolledLinkedListTest {
+
+    @Test
+    public void testAddAndGet() {
+        MyUnrolledLinkedList<Integer> list = new MyUnrolledLinkedList<>();
+        for (int i = 0; i < 1000; i++) {
+            list.add(i);
+        }
+        assertEquals(1000, list.size());
+        assertEquals(16, list.nodeCount()); // appends fill nodes completely
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i, list.get(i));
+        }
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(1000));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.add(0, 1001));
+    }
+
+    @Test
+    public void testInsertSplitsAndRemoveMerges() {
+        MyUnrolledLinkedList<Integer> list = new MyUnrolledLinkedList<>(8);
+        for (int i = 0; i < 16; i++) {
+            list.add(i);
+        }
+        assertEquals(2, list.nodeCount());
+        list.add(-1, 3);
+        assertEquals(3, list.nodeCount());
+        assertEquals(-1, list.get(3));
+        assertEquals(15, list.get(16));
+        while (list.size() > 2) {
+            list.remove(1);
+        }
+        assertEquals(1, list.nodeCount());
+        assertEquals(0, list.get(0));
+        assertEquals(15, list.get(1));
+    }
+
+    @Test
+    public void testSetContainsAndRemoveItem() {
+        MyUnrolledLinkedList<String> list = new MyUnrolledLinkedList<>(4);
+        list.add("b");
+        list.addFirst("a");
+        list.addLast("c");
+        list.add(null);
+        list.set(2, "C");
+        assertTrue(list.contains("C"));
+        assertTrue(list.contains(null));
+        assertFalse(list.contains("c"));
+        assertEquals("a", list.remove("a"));
+        assertNull(list.remove("z"));
+        assertEquals("b", list.get(0));
+        list.clear();
+        assertEquals(0, list.size());
+        assertEquals(0, list.nodeCount());
+    }
+
+    @Test
+    public void testRandomOperationsMatchArrayList() {
+        Random random = new Random(5);
+        MyUnrolledLinkedList<Integer> list = new MyUnrolledLinkedList<>(8);
+        List<Integer> expected = new ArrayList<>();
+        for (int step = 0; step < 20_000; step++) {
+            int op = random.nextInt(10);
+            if (op < 5 || expected.isEmpty()) {
+                int index = random.nextInt(expected.size() + 1);
+                list.add(step, index);
+                expected.add(index, step);
+            } else if (op < 8) {
+                int index = random.nextInt(expected.size());
+                assertEquals(expected.remove(index), list.remove(index));
+            } else {
+                int index = random.nextInt(expected.size());
+                list.set(index, -step);
+                expected.set(index, -step);
+            }
+        }
+        assertEquals(expected.size(), list.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i), list.get(i));
+        }
+    }
+}
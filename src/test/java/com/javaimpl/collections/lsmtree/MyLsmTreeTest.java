@@ -0,0 +1,202 @@
+package com.javaimpl.collections.lsmtree;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MyLsmTreeTest {
+
+    @TempDir
+    Path directory;
+
+    private MyLsmTree<String, String> open(long memtableBytes) throws IOException {
+        return new MyLsmTree<>(directory, String::compareTo, Codec.STRING, Codec.STRING, memtableBytes, 4, false);
+    }
+
+    @Test
+    public void testPutGetRemove() throws IOException {
+        try (MyLsmTree<String, String> store = open(1 << 20)) {
+            store.put("a", "1");
+            store.put("b", "2");
+            store.put("a", "3");
+            assertEquals("3", store.get("a"));
+            assertEquals("2", store.get("b"));
+            assertNull(store.get("c"));
+
+            store.remove("b");
+            assertNull(store.get("b"));
+            assertFalse(store.containsKey("b"));
+            assertThrows(NullPointerException.class, () -> store.put("c", null));
+        }
+    }
+
+    @Test
+    public void testRemoveShadowsFlushedValue() throws IOException {
+        try (MyLsmTree<String, String> store = open(1 << 20)) {
+            store.put("a", "1");
+            store.flush();
+            store.remove("a");
+            assertNull(store.get("a"));
+            store.flush();
+            assertNull(store.get("a"));
+        }
+    }
+
+    @Test
+    public void testReopenAfterClose() throws IOException {
+        try (MyLsmTree<String, String> store = open(1 << 20)) {
+            for (int i = 0; i < 100; i++) {
+                store.put("key" + i, "value" + i);
+            }
+            store.remove("key7");
+        }
+        try (MyLsmTree<String, String> store = open(1 << 20)) {
+            assertEquals("value42", store.get("key42"));
+            assertNull(store.get("key7"));
+        }
+    }
+
+    @Test
+    public void testRecoverFromLogWithoutClose() throws IOException {
+        MyLsmTree<String, String> crashed = open(1 << 20);
+        crashed.put("a", "1");
+        crashed.put("b", "2");
+        crashed.remove("a");
+        // no close(): the memtable is lost, only the write-ahead log survives
+
+        try (MyLsmTree<String, String> store = open(1 << 20)) {
+            assertNull(store.get("a"));
+            assertEquals("2", store.get("b"));
+        }
+    }
+
+    @Test
+    public void testFlushAndCompactionKeepLatestValues() throws IOException {
+        TreeMap<String, String> expected = new TreeMap<>();
+        Random random = new Random(42);
+        try (MyLsmTree<String, String> store = open(2048)) {
+            for (int i = 0; i < 5000; i++) {
+                String key = "key" + random.nextInt(800);
+                if (random.nextInt(4) == 0) {
+                    store.remove(key);
+                    expected.remove(key);
+                } else {
+                    store.put(key, "value" + i);
+                    expected.put(key, "value" + i);
+                }
+            }
+            store.compact();
+            assertTrue(store.tableCount() < 4 * 4);
+            for (int i = 0; i < 800; i++) {
+                assertEquals(expected.get("key" + i), store.get("key" + i));
+            }
+        }
+        try (MyLsmTree<String, String> store = open(2048)) {
+            for (int i = 0; i < 800; i++) {
+                assertEquals(expected.get("key" + i), store.get("key" + i));
+            }
+        }
+    }
+
+    @Test
+    public void testScanMergesMemtableAndTables() throws IOException {
+        try (MyLsmTree<String, String> store = open(1 << 20)) {
+            store.put("a", "old");
+            store.put("b", "1");
+            store.put("d", "1");
+            store.flush();
+            store.put("a", "new");
+            store.put("c", "2");
+            store.remove("d");
+            store.put("e", "3");
+
+            List<String> visited = new ArrayList<>();
+            store.scan("a", "e", (key, value) -> visited.add(key + "=" + value));
+            assertEquals(List.of("a=new", "b=1", "c=2"), visited);
+
+            visited.clear();
+            store.scan("bb", null, (key, value) -> visited.add(key));
+            assertEquals(List.of("c", "e"), visited);
+        }
+    }
+
+    @Test
+    public void testBackgroundCompactionFailureIsReportedOnNextCall() throws Exception {
+        try (MyLsmTree<String, String> store = openPoisoned(new IOException("unreadable value"))) {
+            RuntimeException failure = awaitCompactionFailure(store);
+            assertInstanceOf(UncheckedIOException.class, failure);
+            assertEquals("unreadable value", failure.getCause().getMessage());
+            // reported once, the store stays usable
+            assertEquals("value1", store.get("key1"));
+            store.put("key4", "value4");
+        }
+    }
+
+    @Test
+    public void testUncheckedCompactionFailureIsReported() throws Exception {
+        try (MyLsmTree<String, String> store = openPoisoned(new IllegalArgumentException("corrupt value"))) {
+            RuntimeException failure = awaitCompactionFailure(store);
+            assertInstanceOf(IllegalStateException.class, failure);
+            assertEquals("corrupt value", failure.getCause().getMessage());
+            assertEquals("value1", store.get("key1"));
+        }
+    }
+
+    /**
+     * Opens a store whose value codec throws the given exception when reading the value "poison", and fills
+     * tier 0 so a background compaction starts. get() never reads that value, but the merge reads them all.
+     */
+    private MyLsmTree<String, String> openPoisoned(Exception poison) throws IOException {
+        Codec<String> poisoned = new Codec<>() {
+            @Override
+            public void write(String value, DataOutput out) throws IOException {
+                out.writeUTF(value);
+            }
+
+            @Override
+            public String read(DataInput in) throws IOException {
+                String value = in.readUTF();
+                if (value.equals("poison")) {
+                    if (poison instanceof IOException e) {
+                        throw e;
+                    }
+                    throw (RuntimeException) poison;
+                }
+                return value;
+            }
+        };
+        MyLsmTree<String, String> store = new MyLsmTree<>(directory, String::compareTo, Codec.STRING, poisoned,
+                1 << 20, 4, false);
+        store.put("bad", "poison");
+        for (int i = 0; i < 4; i++) {
+            store.put("key" + i, "value" + i);
+            store.flush(); // the fourth flush starts a background compaction
+        }
+        return store;
+    }
+
+    private static RuntimeException awaitCompactionFailure(MyLsmTree<String, String> store) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (System.nanoTime() < deadline) {
+            try {
+                store.get("key0");
+            } catch (RuntimeException e) {
+                return e;
+            }
+            Thread.sleep(1);
+        }
+        return fail("background compaction did not fail");
+    }
+}
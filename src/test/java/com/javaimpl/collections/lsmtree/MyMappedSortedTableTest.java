@@ -0,0 +1,114 @@
+package com.javaimpl.collections.lsmtree;
+
+import com.javaimpl.collections.treemap.MyTreeMap;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MyMappedSortedTableTest {
+
+    @TempDir
+    Path directory;
+
+    private MyTreeMap<String, Long> urls(int count) {
+        MyTreeMap<String, Long> map = new MyTreeMap<>(String::compareTo);
+        for (int i = 0; i < count; i++) {
+            map.put(String.format("https://example.com/articles/%06d", i), (long) i);
+        }
+        return map;
+    }
+
+    private void assertLookups(MyMappedSortedTable<String, Long> table, int count) {
+        assertEquals(count, table.size());
+        for (int i = 0; i < count; i++) {
+            assertEquals(i, table.get(String.format("https://example.com/articles/%06d", i)));
+        }
+        assertNull(table.get("https://example.com/articles/x"));
+        assertNull(table.get("a"));
+        assertFalse(table.containsKey("z"));
+    }
+
+    @Test
+    public void testExportAndGet() throws IOException {
+        Path path = directory.resolve("plain.sst");
+        MyMappedSortedTable.export(urls(5000), path, Codec.STRING, Codec.LONG, false);
+        try (MyMappedSortedTable<String, Long> table = MyMappedSortedTable.open(path, String::compareTo, Codec.STRING, Codec.LONG)) {
+            assertLookups(table, 5000);
+        }
+    }
+
+    @Test
+    public void testPrefixCompression() throws IOException {
+        Path plain = directory.resolve("plain.sst");
+        Path compressed = directory.resolve("compressed.sst");
+        MyMappedSortedTable.export(urls(5000), plain, Codec.STRING, Codec.LONG, false);
+        MyMappedSortedTable.export(urls(5000), compressed, Codec.STRING, Codec.LONG, true);
+        assertTrue(Files.size(compressed) < Files.size(plain));
+        try (MyMappedSortedTable<String, Long> table = MyMappedSortedTable.open(compressed, String::compareTo, Codec.STRING, Codec.LONG)) {
+            assertLookups(table, 5000);
+        }
+    }
+
+    @Test
+    public void testSmallRegions() throws IOException {
+        Path path = directory.resolve("regions.sst");
+        MyMappedSortedTable.export(urls(5000), path, Codec.STRING, Codec.LONG, true);
+        // windows far smaller than a block force both the overlap and the per-block fallback paths
+        try (MyMappedSortedTable<String, Long> table = MyMappedSortedTable.open(path, String::compareTo, Codec.STRING, Codec.LONG, 10_000, 100)) {
+            assertLookups(table, 5000);
+        }
+    }
+
+    @Test
+    public void testFloorKeyAndScan() throws IOException {
+        MyTreeMap<Integer, String> map = new MyTreeMap<>(Integer::compare);
+        for (int i = 0; i < 2000; i += 2) {
+            map.put(i, "v" + i);
+        }
+        Path path = directory.resolve("ints.sst");
+        MyMappedSortedTable.export(map, path, Codec.INTEGER, Codec.STRING, false);
+        try (MyMappedSortedTable<Integer, String> table = MyMappedSortedTable.open(path, Integer::compare, Codec.INTEGER, Codec.STRING)) {
+            assertNull(table.floorKey(-1));
+            assertEquals(0, table.floorKey(1));
+            assertEquals(1000, table.floorKey(1001));
+            assertEquals(1998, table.floorKey(5000));
+
+            List<Integer> keys = new ArrayList<>();
+            table.scan(995, 1010, (key, value) -> {
+                assertEquals("v" + key, value);
+                keys.add(key);
+            });
+            assertEquals(List.of(996, 998, 1000, 1002, 1004, 1006, 1008), keys);
+
+            int[] count = new int[1];
+            table.scan(null, null, (key, value) -> count[0]++);
+            assertEquals(1000, count[0]);
+        }
+    }
+
+    @Test
+    public void testEmptyMap() throws IOException {
+        Path path = directory.resolve("empty.sst");
+        MyMappedSortedTable.export(new MyTreeMap<String, Long>(String::compareTo), path, Codec.STRING, Codec.LONG, true);
+        try (MyMappedSortedTable<String, Long> table = MyMappedSortedTable.open(path, String::compareTo, Codec.STRING, Codec.LONG)) {
+            assertEquals(0, table.size());
+            assertNull(table.get("a"));
+            assertNull(table.floorKey("a"));
+        }
+    }
+
+    @Test
+    public void testNullValueRejected() {
+        MyTreeMap<String, Long> map = new MyTreeMap<>(String::compareTo);
+        map.put("a", null);
+        assertThrows(NullPointerException.class,
+                () -> MyMappedSortedTable.export(map, directory.resolve("null.sst"), Codec.STRING, Codec.LONG, false));
+    }
+}
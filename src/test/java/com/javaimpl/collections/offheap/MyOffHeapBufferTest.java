@@ -0,0 +1,102 @@
+package com.javaimpl.collections.offheap;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MyOffHeapBufferTest {
+
+    // timestamp, id, value -> 8 + 4 (+4 padding) + 8 = 24 bytes
+    private static final RecordLayout SAMPLE = RecordLayout.of(RecordLayout.Lane.LONG, RecordLayout.Lane.INT, RecordLayout.Lane.DOUBLE);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void testLayout() {
+        assertEquals(24, SAMPLE.recordSize());
+        assertEquals(4, RecordLayout.INTS.recordSize());
+        assertEquals(16, RecordLayout.of(RecordLayout.Lane.INT, RecordLayout.Lane.LONG).recordSize());
+        assertEquals(8, RecordLayout.of(RecordLayout.Lane.INT, RecordLayout.Lane.INT).recordSize());
+    }
+
+    @Test
+    public void testStructRecords() {
+        try (MyOffHeapBuffer buffer = new MyOffHeapBuffer(SAMPLE)) {
+            for (int i = 0; i < 1000; i++) {
+                long index = buffer.add();
+                buffer.setLong(index, 0, 1_700_000_000_000L + i);
+                buffer.setInt(index, 1, i);
+                buffer.setDouble(index, 2, i * 0.25);
+            }
+            assertEquals(1000, buffer.size());
+            for (int i = 0; i < 1000; i++) {
+                assertEquals(1_700_000_000_000L + i, buffer.getLong(i, 0));
+                assertEquals(i, buffer.getInt(i, 1));
+                assertEquals(i * 0.25, buffer.getDouble(i, 2));
+            }
+            assertThrows(IllegalArgumentException.class, () -> buffer.getInt(0, 0));
+            assertThrows(IndexOutOfBoundsException.class, () -> buffer.getLong(1000, 0));
+            assertThrows(IndexOutOfBoundsException.class, () -> buffer.getLong(0, 3));
+        }
+    }
+
+    @Test
+    public void testGrowsAcrossSegments() {
+        // 64-byte segments hold 8 longs each
+        try (MyOffHeapBuffer buffer = new MyOffHeapBuffer(RecordLayout.LONGS, 1, 64)) {
+            for (long i = 0; i < 100; i++) {
+                buffer.addLong(i * i);
+            }
+            for (long i = 0; i < 100; i++) {
+                assertEquals(i * i, buffer.getLong(i, 0));
+            }
+        }
+    }
+
+    @Test
+    public void testAddZeroesReusedRecords() {
+        try (MyOffHeapBuffer buffer = new MyOffHeapBuffer(SAMPLE, 4)) {
+            long index = buffer.add();
+            buffer.setLong(index, 0, 42);
+            buffer.setDouble(index, 2, 1.5);
+            buffer.clear();
+            index = buffer.add();
+            assertEquals(0, buffer.getLong(index, 0));
+            assertEquals(0.0, buffer.getDouble(index, 2));
+        }
+    }
+
+    @Test
+    public void testFileRoundTrip() throws IOException {
+        Path path = directory.resolve("samples.bin");
+        try (MyOffHeapBuffer buffer = new MyOffHeapBuffer(RecordLayout.DOUBLES, 1, 64)) {
+            for (int i = 0; i < 50; i++) {
+                buffer.addDouble(Math.sqrt(i));
+            }
+            buffer.writeTo(path);
+        }
+        assertEquals(50 * 8, Files.size(path));
+        try (MyOffHeapBuffer copy = MyOffHeapBuffer.readFrom(path, RecordLayout.DOUBLES)) {
+            assertEquals(50, copy.size());
+            for (int i = 0; i < 50; i++) {
+                assertEquals(Math.sqrt(i), copy.getDouble(i, 0));
+            }
+        }
+        assertThrows(IOException.class, () -> MyOffHeapBuffer.readFrom(path, SAMPLE)); // 400 is not a multiple of 24
+    }
+
+    @Test
+    public void testAccessAfterCloseThrows() {
+        MyOffHeapBuffer buffer = new MyOffHeapBuffer(RecordLayout.INTS);
+        buffer.addInt(1);
+        buffer.close();
+        assertEquals(0, buffer.size());
+        assertThrows(IndexOutOfBoundsException.class, () -> buffer.getInt(0, 0));
+    }
+}
@@ -0,0 +1,108 @@
+package com.javaimpl.collections.ringqueue;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MyMpscRingQueueTest {
+
+    @Test
+    public void testOfferAndPollInOrder() {
+        MyMpscRingQueue<Integer> queue = new MyMpscRingQueue<>(5);
+        assertEquals(8, queue.capacity());
+        assertTrue(queue.isEmpty());
+        assertNull(queue.poll());
+        for (int i = 0; i < 8; i++) {
+            assertTrue(queue.offer(i));
+        }
+        assertFalse(queue.offer(8));
+        assertEquals(8, queue.size());
+        for (int round = 0; round < 100; round++) {
+            // wrap around the ring many times
+            assertEquals(round, queue.poll());
+            assertTrue(queue.offer(round + 8));
+        }
+        assertEquals(8, queue.size());
+        assertThrows(NullPointerException.class, () -> queue.offer(null));
+        assertThrows(IllegalArgumentException.class, () -> new MyMpscRingQueue<>(0));
+    }
+
+    @Test
+    public void testDrainTakesAtMostMaxBatch() {
+        MyMpscRingQueue<Integer> queue = new MyMpscRingQueue<>(16);
+        for (int i = 0; i < 10; i++) {
+            queue.offer(i);
+        }
+        List<Integer> drained = new ArrayList<>();
+        assertEquals(4, queue.drain(drained::add, 4));
+        assertEquals(List.of(0, 1, 2, 3), drained);
+        assertEquals(6, queue.drain(drained::add, 100));
+        assertEquals(10, drained.size());
+        assertEquals(0, queue.drain(drained::add, 100));
+        assertTrue(queue.isEmpty());
+        // the drained slots are free again
+        for (int i = 0; i < 16; i++) {
+            assertTrue(queue.offer(i));
+        }
+    }
+
+    @Test
+    public void testDrainFreesSlotsWhenConsumerThrows() {
+        MyMpscRingQueue<Integer> queue = new MyMpscRingQueue<>(4);
+        for (int i = 0; i < 4; i++) {
+            queue.offer(i);
+        }
+        assertThrows(IllegalStateException.class, () -> queue.drain(item -> {
+            if (item == 1) {
+                throw new IllegalStateException();
+            }
+        }, 4));
+        assertEquals(2, queue.size());
+        assertEquals(2, queue.poll());
+    }
+
+    @Test
+    public void testProducersWithEveryWaitStrategy() throws InterruptedException {
+        for (MyMpscRingQueue.WaitStrategy strategy : MyMpscRingQueue.WaitStrategy.values()) {
+            int producers = 4;
+            int perProducer = 20_000;
+            // a small ring so producers keep finding it full
+            MyMpscRingQueue<Integer> queue = new MyMpscRingQueue<>(64, strategy);
+            List<Thread> threads = new ArrayList<>();
+            for (int p = 0; p < producers; p++) {
+                int producer = p;
+                Thread thread = new Thread(() -> {
+                    for (int i = 0; i < perProducer; i++) {
+                        queue.put(producer * perProducer + i);
+                    }
+                });
+                threads.add(thread);
+                thread.start();
+            }
+            int[] next = new int[producers];
+            Consumer<Integer> check = item -> {
+                int producer = item / perProducer;
+                // elements of one producer arrive in the order it put them
+                assertEquals(next[producer]++, item % perProducer);
+            };
+            int received = 0;
+            while (received < producers * perProducer) {
+                int taken = queue.drain(check, 32);
+                if (taken == 0) {
+                    // nothing published yet: wait for one element with the strategy under test
+                    check.accept(queue.take());
+                    taken = 1;
+                }
+                received += taken;
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+            assertTrue(queue.isEmpty(), strategy.name());
+        }
+    }
+}
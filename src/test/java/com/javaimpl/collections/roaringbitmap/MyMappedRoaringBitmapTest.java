@@ -0,0 +1,88 @@
+package com.javaimpl.collections.roaringbitmap;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MyMappedRoaringBitmapTest {
+
+    @TempDir
+    Path directory;
+
+    private static MyRoaringBitmap mixed() {
+        MyRoaringBitmap bitmap = new MyRoaringBitmap();
+        for (int i = 0; i < 1_000; i++) {
+            bitmap.add(i * 37); // array chunk
+        }
+        for (int i = 0; i < 20_000; i++) {
+            bitmap.add(3 << 16 | i * 3); // bitmap chunk
+        }
+        bitmap.addRange(10L << 16, 12L << 16); // two run chunks
+        bitmap.add(-5);
+        return bitmap;
+    }
+
+    @Test
+    void testContainsMatchesBitmap() throws IOException {
+        MyRoaringBitmap bitmap = mixed();
+        Path path = directory.resolve("ids.roar");
+        Files.write(path, MyRoaringBitmapTest.serialize(bitmap).array());
+
+        MyMappedRoaringBitmap mapped = MyMappedRoaringBitmap.open(path);
+        assertEquals(bitmap.cardinality(), mapped.cardinality());
+        assertEquals(5, mapped.containerCount());
+        assertFalse(mapped.isEmpty());
+        for (long value = 0; value < 13L << 16; value++) {
+            assertEquals(bitmap.contains((int) value), mapped.contains((int) value));
+        }
+        assertTrue(mapped.contains(-5));
+        assertFalse(mapped.contains(-4));
+        assertFalse(mapped.contains(100 << 16));
+    }
+
+    @Test
+    void testForEachAndCopy() throws IOException {
+        MyRoaringBitmap bitmap = mixed();
+        Path path = directory.resolve("ids.roar");
+        Files.write(path, MyRoaringBitmapTest.serialize(bitmap).array());
+        MyMappedRoaringBitmap mapped = MyMappedRoaringBitmap.open(path);
+
+        List<Integer> values = new ArrayList<>();
+        mapped.forEach(values::add);
+        int[] expected = bitmap.toArray();
+        assertEquals(expected.length, values.size());
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i], values.get(i));
+        }
+
+        MyRoaringBitmap copy = mapped.toBitmap();
+        assertArrayEquals(expected, copy.toArray());
+        copy.add(99 << 16);
+        assertFalse(mapped.contains(99 << 16));
+    }
+
+    @Test
+    void testViewAtBufferPosition() {
+        MyRoaringBitmap bitmap = MyRoaringBitmap.of(1, 2, 3, 1 << 30);
+        ByteBuffer buffer = ByteBuffer.allocateDirect(5 + bitmap.serializedSizeInBytes());
+        buffer.position(5);
+        bitmap.serialize(buffer);
+        buffer.position(5);
+        MyMappedRoaringBitmap mapped = new MyMappedRoaringBitmap(buffer);
+        assertEquals(5, buffer.position());
+        assertEquals(4, mapped.cardinality());
+        assertTrue(mapped.contains(1 << 30));
+        assertFalse(mapped.contains(4));
+
+        assertTrue(new MyMappedRoaringBitmap(MyRoaringBitmapTest.serialize(new MyRoaringBitmap())).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> new MyMappedRoaringBitmap(ByteBuffer.allocate(8)));
+    }
+}
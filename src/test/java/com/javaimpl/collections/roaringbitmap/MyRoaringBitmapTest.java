@@ -0,0 +1,239 @@
+package com.javaimpl.collections.roaringbitmap;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MyRoaringBitmapTest {
+
+    private static void assertSameValues(TreeSet<Long> expected, MyRoaringBitmap bitmap) {
+        assertEquals(expected.size(), bitmap.cardinality());
+        int[] values = bitmap.toArray();
+        int n = 0;
+        for (long value : expected) {
+            assertEquals((int) value, values[n++]);
+        }
+    }
+
+    private static TreeSet<Long> randomValues(MyRoaringBitmap bitmap, Random random, int count) {
+        TreeSet<Long> expected = new TreeSet<>();
+        for (int i = 0; i < count; i++) {
+            // a few chunks, some sparse and one dense, plus values above 2^31
+            int value = switch (random.nextInt(4)) {
+                case 0 -> random.nextInt(1 << 16);
+                case 1 -> (1 << 16) + random.nextInt(2_000);
+                case 2 -> 5 << 16 | random.nextInt(1 << 16);
+                default -> 0xFFFF0000 | random.nextInt(1 << 16);
+            };
+            bitmap.add(value);
+            expected.add(value & 0xFFFFFFFFL);
+        }
+        return expected;
+    }
+
+    @Test
+    void testAddContainsRemove() {
+        MyRoaringBitmap bitmap = new MyRoaringBitmap();
+        assertTrue(bitmap.isEmpty());
+        assertTrue(bitmap.add(42));
+        assertFalse(bitmap.add(42));
+        assertTrue(bitmap.add(-1));
+        assertTrue(bitmap.add(1 << 20));
+        assertTrue(bitmap.contains(42));
+        assertTrue(bitmap.contains(-1));
+        assertFalse(bitmap.contains(43));
+        assertEquals(3, bitmap.cardinality());
+        assertTrue(bitmap.remove(42));
+        assertFalse(bitmap.remove(42));
+        assertFalse(bitmap.contains(42));
+        assertArrayEquals(new int[]{1 << 20, -1}, bitmap.toArray()); // unsigned order
+        bitmap.clear();
+        assertTrue(bitmap.isEmpty());
+        assertFalse(bitmap.contains(-1));
+    }
+
+    @Test
+    void testMatchesReferenceSet() {
+        Random random = new Random(7);
+        MyRoaringBitmap bitmap = new MyRoaringBitmap();
+        TreeSet<Long> expected = randomValues(bitmap, random, 40_000);
+        assertSameValues(expected, bitmap);
+        for (int i = 0; i < 20_000; i++) {
+            int value = random.nextInt(6 << 16);
+            assertEquals(expected.remove(value & 0xFFFFFFFFL), bitmap.remove(value));
+        }
+        assertSameValues(expected, bitmap);
+        for (long value = 0; value < 6 << 16; value += 3) {
+            assertEquals(expected.contains(value), bitmap.contains((int) value));
+        }
+    }
+
+    @Test
+    void testArrayAndBitmapConvert() {
+        MyRoaringBitmap bitmap = new MyRoaringBitmap();
+        for (int i = 0; i < 10_000; i++) {
+            bitmap.add(i * 2); // past 4096 values the chunk becomes a bitmap
+        }
+        assertEquals(10_000, bitmap.cardinality());
+        assertEquals(24 + 8192, bitmap.serializedSizeInBytes()); // header and descriptor padded to 8 bytes
+        for (int i = 0; i < 8_000; i++) {
+            bitmap.remove(i * 2); // and back to an array
+        }
+        assertEquals(2_000, bitmap.cardinality());
+        assertEquals(8 + 12 + 2 * 2_000, bitmap.serializedSizeInBytes());
+        assertTrue(bitmap.contains(19_998));
+        assertFalse(bitmap.contains(15_998));
+    }
+
+    @Test
+    void testAddRangeUsesRuns() {
+        MyRoaringBitmap bitmap = new MyRoaringBitmap();
+        bitmap.addRange(100, 300_000);
+        assertEquals(299_900, bitmap.cardinality());
+        assertFalse(bitmap.contains(99));
+        assertTrue(bitmap.contains(100));
+        assertTrue(bitmap.contains(299_999));
+        assertFalse(bitmap.contains(300_000));
+        // five chunks, one run each
+        assertEquals(8 + 5 * 12 + 5 * 6, bitmap.serializedSizeInBytes());
+
+        assertTrue(bitmap.remove(1_000)); // splits a run
+        assertTrue(bitmap.add(1_000)); // and joins it again
+        assertTrue(bitmap.remove(100));
+        assertTrue(bitmap.add(99));
+        assertTrue(bitmap.add(100));
+        assertEquals(299_901, bitmap.cardinality());
+        assertEquals(8 + 5 * 12 + 5 * 6, bitmap.serializedSizeInBytes());
+
+        MyRoaringBitmap empty = new MyRoaringBitmap();
+        empty.addRange(5, 5); // off a chunk boundary
+        empty.addRange(1 << 16, 1 << 16);
+        assertTrue(empty.isEmpty());
+        assertEquals(0, empty.cardinality());
+        assertEquals(8, empty.serializedSizeInBytes());
+
+        MyRoaringBitmap top = new MyRoaringBitmap();
+        top.addRange((1L << 32) - 10, 1L << 32);
+        assertEquals(10, top.cardinality());
+        assertTrue(top.contains(-1));
+        assertThrows(IllegalArgumentException.class, () -> top.addRange(5, 4));
+        assertThrows(IllegalArgumentException.class, () -> top.addRange(0, (1L << 32) + 1));
+    }
+
+    @Test
+    void testRunOptimize() {
+        MyRoaringBitmap bitmap = new MyRoaringBitmap();
+        for (int i = 0; i < 3_000; i++) {
+            bitmap.add(i); // an array of one long range
+        }
+        assertEquals(8 + 12 + 6_000, bitmap.serializedSizeInBytes());
+        assertTrue(bitmap.runOptimize());
+        assertFalse(bitmap.runOptimize());
+        assertEquals(8 + 12 + 6, bitmap.serializedSizeInBytes());
+        assertEquals(3_000, bitmap.cardinality());
+    }
+
+    @Test
+    void testSetOperations() {
+        Random random = new Random(11);
+        MyRoaringBitmap a = new MyRoaringBitmap();
+        MyRoaringBitmap b = new MyRoaringBitmap();
+        TreeSet<Long> expectedA = randomValues(a, random, 30_000);
+        TreeSet<Long> expectedB = randomValues(b, random, 10_000);
+        a.addRange(7L << 16, 9L << 16);
+        b.addRange((7L << 16) + 500, (8L << 16) + 500);
+        for (long value = 7L << 16; value < 9L << 16; value++) {
+            expectedA.add(value);
+        }
+        for (long value = (7L << 16) + 500; value < (8L << 16) + 500; value++) {
+            expectedB.add(value);
+        }
+
+        TreeSet<Long> union = new TreeSet<>(expectedA);
+        union.addAll(expectedB);
+        TreeSet<Long> intersection = new TreeSet<>(expectedA);
+        intersection.retainAll(expectedB);
+        TreeSet<Long> difference = new TreeSet<>(expectedA);
+        difference.removeAll(expectedB);
+
+        assertSameValues(union, MyRoaringBitmap.or(a, b));
+        assertSameValues(intersection, MyRoaringBitmap.and(a, b));
+        assertSameValues(difference, MyRoaringBitmap.andNot(a, b));
+        assertSameValues(expectedA, a);
+        assertSameValues(expectedB, b);
+
+        MyRoaringBitmap copy = MyRoaringBitmap.or(a, new MyRoaringBitmap());
+        copy.add(3 << 16);
+        copy.remove(5 << 16 | 1);
+        assertSameValues(expectedA, a); // results do not share containers with the inputs
+        assertTrue(MyRoaringBitmap.and(a, new MyRoaringBitmap()).isEmpty());
+        assertTrue(MyRoaringBitmap.andNot(a, a).isEmpty());
+    }
+
+    @Test
+    void testManyRunsMeetBitmap() {
+        MyRoaringBitmap runs = new MyRoaringBitmap();
+        for (int start = 0; start < 1 << 16; start += 100) {
+            runs.addRange(start, start + 40); // 656 runs in one chunk
+        }
+        runs.runOptimize();
+        MyRoaringBitmap dense = new MyRoaringBitmap();
+        for (int i = 0; i < 1 << 16; i += 3) {
+            dense.add(i);
+        }
+        TreeSet<Long> expectedRuns = new TreeSet<>(), expectedDense = new TreeSet<>();
+        runs.forEach(value -> expectedRuns.add((long) value));
+        dense.forEach(value -> expectedDense.add((long) value));
+        assertEquals(656 * 40, runs.cardinality()); // the last run spills 4 values into the next chunk
+
+        TreeSet<Long> union = new TreeSet<>(expectedRuns);
+        union.addAll(expectedDense);
+        TreeSet<Long> intersection = new TreeSet<>(expectedRuns);
+        intersection.retainAll(expectedDense);
+        TreeSet<Long> difference = new TreeSet<>(expectedDense);
+        difference.removeAll(expectedRuns);
+        assertSameValues(union, MyRoaringBitmap.or(dense, runs));
+        assertSameValues(intersection, MyRoaringBitmap.and(dense, runs));
+        assertSameValues(difference, MyRoaringBitmap.andNot(dense, runs));
+    }
+
+    @Test
+    void testSerializeRoundTrip() {
+        Random random = new Random(3);
+        MyRoaringBitmap bitmap = new MyRoaringBitmap();
+        TreeSet<Long> expected = randomValues(bitmap, random, 20_000);
+        bitmap.addRange(9L << 16, 10L << 16);
+        for (long value = 9L << 16; value < 10L << 16; value++) {
+            expected.add(value);
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(bitmap.serializedSizeInBytes() + 10);
+        buffer.put((byte) 1).put((byte) 2).put((byte) 3); // not at offset 0, unaligned
+        bitmap.serialize(buffer);
+        assertEquals(3 + bitmap.serializedSizeInBytes(), buffer.position());
+
+        buffer.position(3);
+        MyRoaringBitmap read = MyRoaringBitmap.deserialize(buffer);
+        assertEquals(3 + bitmap.serializedSizeInBytes(), buffer.position());
+        assertSameValues(expected, read);
+        assertEquals(bitmap.serializedSizeInBytes(), read.serializedSizeInBytes());
+        read.add(8 << 16);
+        assertTrue(read.contains(8 << 16));
+
+        MyRoaringBitmap empty = MyRoaringBitmap.deserialize(serialize(new MyRoaringBitmap()));
+        assertTrue(empty.isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> MyRoaringBitmap.deserialize(ByteBuffer.allocate(16)));
+        assertThrows(BufferOverflowException.class, () -> bitmap.serialize(ByteBuffer.allocate(16)));
+    }
+
+    static ByteBuffer serialize(MyRoaringBitmap bitmap) {
+        ByteBuffer buffer = ByteBuffer.allocate(bitmap.serializedSizeInBytes());
+        bitmap.serialize(buffer);
+        return buffer.flip();
+    }
+}
@@ -0,0 +1,103 @@
+package com.javaimpl.collections.treemap;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MyFrozenTreeMapTest {
+
+    private MyTreeMap<Integer, String> source;
+
+    @BeforeEach
+    public void setUp() {
+        source = new MyTreeMap<>(Integer::compare);
+        for (int i = 0; i < 10; i++) {
+            source.put(i * 10, "v" + i * 10);
+        }
+    }
+
+    @Test
+    public void testFreezeKeepsEntries() {
+        MyFrozenTreeMap<Integer, String> frozen = source.freeze();
+        assertEquals(10, frozen.size());
+        assertEquals("v30", frozen.get(30));
+        assertNull(frozen.get(35));
+        assertTrue(frozen.containsKey(90));
+        assertFalse(frozen.containsKey(100));
+        assertEquals(0, frozen.keyAt(0));
+        assertEquals("v90", frozen.valueAt(9));
+    }
+
+    @Test
+    public void testFreezeIsDetachedFromSource() {
+        MyFrozenTreeMap<Integer, String> frozen = source.freeze();
+        source.put(35, "v35");
+        source.remove(30);
+        assertNull(frozen.get(35));
+        assertEquals("v30", frozen.get(30));
+    }
+
+    @Test
+    public void testNavigationMethods() {
+        MyFrozenTreeMap<Integer, String> frozen = source.freeze();
+        assertEquals(0, frozen.firstKey());
+        assertEquals(90, frozen.lastKey());
+        assertEquals(20, frozen.lowerKey(30));
+        assertEquals(30, frozen.floorKey(30));
+        assertEquals(30, frozen.floorKey(35));
+        assertEquals(30, frozen.ceilingKey(30));
+        assertEquals(40, frozen.ceilingKey(35));
+        assertEquals(40, frozen.higherKey(30));
+        assertNull(frozen.lowerKey(0));
+        assertNull(frozen.higherKey(90));
+    }
+
+    @Test
+    public void testRangeViews() {
+        MyFrozenTreeMap<Integer, String> frozen = source.freeze();
+
+        MyFrozenTreeMap<Integer, String> sub = frozen.subMap(20, true, 50, false);
+        assertEquals(3, sub.size());
+        assertEquals(20, sub.firstKey());
+        assertEquals(40, sub.lastKey());
+        assertNull(sub.get(50));
+        assertNull(sub.higherKey(40));
+
+        assertEquals(4, frozen.headMap(30, true).size());
+        assertEquals(6, frozen.tailMap(30, false).size());
+        assertEquals(2, sub.tailMap(30, true).size());
+        assertTrue(frozen.subMap(41, true, 49, true).isEmpty());
+
+        List<Integer> keys = new ArrayList<>();
+        sub.forEach((key, value) -> keys.add(key));
+        assertEquals(List.of(20, 30, 40), keys);
+        assertThrows(IndexOutOfBoundsException.class, () -> sub.keyAt(3));
+    }
+
+    @Test
+    public void testFreezeLongKeys() {
+        MyFrozenLongTreeMap<String> frozen = source.freezeLongKeys(Integer::longValue);
+        assertEquals(10, frozen.size());
+        assertEquals("v40", frozen.get(40L));
+        assertNull(frozen.get(41L));
+        assertEquals(4, frozen.floorIndex(45L));
+        assertEquals(5, frozen.ceilingIndex(45L));
+        assertEquals(-1, frozen.lowerIndex(0L));
+        assertEquals(-1, frozen.higherIndex(90L));
+
+        MyFrozenLongTreeMap<String> tail = frozen.tailMap(70L, true);
+        assertEquals(3, tail.size());
+        assertEquals(70L, tail.keyAt(0));
+        assertEquals(0, tail.indexOf(70L));
+        assertEquals(-1, tail.indexOf(60L));
+    }
+
+    @Test
+    public void testFreezeLongKeysRejectsUnorderedKeys() {
+        assertThrows(IllegalStateException.class, () -> source.freezeLongKeys(key -> -key));
+    }
+}
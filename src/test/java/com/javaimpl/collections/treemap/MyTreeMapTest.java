@@ -3,6 +3,13 @@ package com.javaimpl.collections.treemap;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.stream.IntStream;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 public class MyTreeMapTest {
@@ -93,4 +100,146 @@ public class MyTreeMapTest {
         assertEquals("3", map.ceilingKey("3"));
         assertEquals("5", map.higherKey("4"));
     }
+
+    @Test
+    public void testSequentialInsertKeepsOrder() {
+        MyTreeMap<Integer, Integer> intMap = new MyTreeMap<>(Integer::compare);
+        for (int i = 0; i < 1000; i++) {
+            intMap.put(i, i * 10);
+        }
+        assertEquals(1000, intMap.size());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i * 10, intMap.get(i));
+        }
+        assertEquals(0, intMap.firstKey());
+        assertEquals(999, intMap.lastKey());
+    }
+
+    @Test
+    public void testCursorIteratesInOrder() {
+        MyTreeMap<Integer, Integer> intMap = new MyTreeMap<>(Integer::compare);
+        for (int i = 99; i >= 0; i--) {
+            intMap.put(i, i);
+        }
+
+        MyTreeMap<Integer, Integer>.Cursor cursor = intMap.cursor();
+        int expected = 0;
+        for (boolean valid = cursor.first(); valid; valid = cursor.next()) {
+            assertEquals(expected++, cursor.key());
+        }
+        assertEquals(100, expected);
+
+        for (boolean valid = cursor.last(); valid; valid = cursor.prev()) {
+            assertEquals(--expected, cursor.key());
+        }
+        assertEquals(0, expected);
+    }
+
+    @Test
+    public void testCursorSeek() {
+        MyTreeMap<Integer, Integer> intMap = new MyTreeMap<>(Integer::compare);
+        for (int i = 0; i < 10; i++) {
+            intMap.put(i * 2, i);
+        }
+
+        MyTreeMap<Integer, Integer>.Cursor cursor = intMap.cursor();
+        // a new cursor is not positioned anywhere, stepping does not start it
+        assertFalse(cursor.isValid());
+        assertFalse(cursor.next());
+        assertFalse(cursor.prev());
+        assertTrue(cursor.first());
+        assertEquals(0, cursor.key());
+        assertTrue(cursor.seek(4));
+        assertEquals(4, cursor.key());
+        assertFalse(cursor.seek(5));
+        assertEquals(6, cursor.key());
+        assertTrue(cursor.prev());
+        assertEquals(4, cursor.key());
+        assertFalse(cursor.seek(100));
+        assertFalse(cursor.isValid());
+        assertThrows(NoSuchElementException.class, cursor::key);
+    }
+
+    @Test
+    public void testCursorSetValueAndRemove() {
+        MyTreeMap<Integer, Integer> intMap = new MyTreeMap<>(Integer::compare);
+        for (int i = 0; i < 50; i++) {
+            intMap.put(i, i);
+        }
+
+        MyTreeMap<Integer, Integer>.Cursor cursor = intMap.cursor();
+        cursor.first();
+        while (cursor.isValid()) {
+            if (cursor.key() % 2 == 0) {
+                cursor.remove();
+            } else {
+                cursor.setValue(-cursor.value());
+                cursor.next();
+            }
+        }
+
+        assertEquals(25, intMap.size());
+        for (int i = 0; i < 50; i++) {
+            if (i % 2 == 0) {
+                assertFalse(intMap.containsKey(i));
+            } else {
+                assertEquals(-i, intMap.get(i));
+            }
+        }
+    }
+
+    @Test
+    public void testCursorFailsFastOnConcurrentModification() {
+        map.put("A", 1);
+        map.put("B", 2);
+        MyTreeMap<String, Integer>.Cursor cursor = map.cursor();
+        cursor.first();
+        map.put("C", 3);
+        assertThrows(ConcurrentModificationException.class, cursor::next);
+    }
+
+    @Test
+    public void testStreams() {
+        MyTreeMap<Integer, String> numbers = new MyTreeMap<>(Integer::compare);
+        for (int i = 999; i >= 0; i--) {
+            numbers.put(i, "v" + i);
+        }
+        assertEquals(IntStream.range(0, 1000).boxed().toList(), numbers.keyStream().toList());
+        assertEquals("v0", numbers.valueStream().findFirst().orElseThrow());
+        assertEquals(999, numbers.entryStream().filter(e -> e.getValue().equals("v999")).findAny().orElseThrow().getKey());
+        assertEquals(499_500, numbers.keyStream().parallel().mapToInt(Integer::intValue).sum());
+        assertEquals(IntStream.range(0, 1000).boxed().toList(), numbers.keyStream().parallel().toList());
+    }
+
+    @Test
+    public void testKeySpliteratorSplitsSubtrees() {
+        MyTreeMap<Integer, Integer> numbers = new MyTreeMap<>(Integer::compare);
+        for (int i = 0; i < 1000; i++) {
+            numbers.put(i, i);
+        }
+        Spliterator<Integer> right = numbers.keySpliterator();
+        assertTrue(right.hasCharacteristics(Spliterator.SIZED | Spliterator.SORTED | Spliterator.DISTINCT));
+        assertEquals(1000, right.estimateSize());
+        Spliterator<Integer> left = right.trySplit();
+        assertNotNull(left);
+        Spliterator<Integer> leftLeft = left.trySplit();
+        assertNotNull(leftLeft);
+
+        List<Integer> keys = new ArrayList<>();
+        leftLeft.forEachRemaining(keys::add);
+        left.forEachRemaining(keys::add);
+        int leftCount = keys.size();
+        right.forEachRemaining(keys::add);
+        assertEquals(IntStream.range(0, 1000).boxed().toList(), keys);
+        assertTrue(leftCount > 250 && leftCount < 750, "left part: " + leftCount);
+    }
+
+    @Test
+    public void testSpliteratorFailsFast() {
+        map.put("a", 1);
+        map.put("b", 2);
+        Spliterator<String> spliterator = map.keySpliterator();
+        assertThrows(ConcurrentModificationException.class, () -> spliterator.tryAdvance(key -> map.put("c", 3)));
+        assertThrows(ConcurrentModificationException.class, () -> map.keySpliterator().forEachRemaining(key -> map.remove("c")));
+    }
 }